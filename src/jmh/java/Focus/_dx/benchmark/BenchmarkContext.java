@@ -0,0 +1,41 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * 보안 설정이 서블릿 컨텍스트를 요구하므로 임의 포트로 띄우고, MySQL 대신 인메모리 H2(MySQL 모드)를 쓴다.
+ * SQL/서비스 로그는 측정값을 흐리므로 끈다.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param extraProperties "key=value" 형식의 추가 설정
+     */
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "server.port=0",
+                "logging.level.root=warn",
+                "logging.level.org.hibernate.SQL=warn"));
+        args.addAll(List.of(extraProperties));
+
+        // 커맨드라인 인자로 넘겨야 application.yml 보다 우선한다 (builder.properties()는 기본값 취급)
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,50 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.exception.ErrorResponse;
+import Focus._dx.exception.GlobalExceptionHandler;
+import Focus._dx.exception.WigNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 404 경로 비용
+ * - WigNotFoundException 생성 (메시지 문자열 + 스택 트레이스 채우기)
+ * - GlobalExceptionHandler 가 ErrorResponse 를 만드는 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final WigNotFoundException prebuilt = new WigNotFoundException(999L);
+    private long id = 0;
+
+    @Benchmark
+    public WigNotFoundException createException() {
+        return new WigNotFoundException(id++);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handlePrebuiltException() {
+        return handler.handleWigNotFound(prebuilt);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> createAndHandle() {
+        return handler.handleWigNotFound(new WigNotFoundException(id++));
+    }
+}
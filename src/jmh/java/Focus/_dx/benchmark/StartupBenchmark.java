@@ -0,0 +1,158 @@
+package Focus._dx.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시간 비교 (gradle startupBenchmark, JMH 가 아닌 일반 main)
+ *
+ * 설정마다 앱을 별도 JVM 으로 startup.runs 번 띄워서, 프로세스 시작부터 GET /api/wigs 가 처음 200 을 돌려줄 때까지의 시간과
+ * 그 순간의 RSS(/proc/{pid}/status 의 VmRSS)를 잰다. 컨텍스트가 뜬 뒤가 아니라 요청을 실제로 받을 수 있게 된 시점이 기준이다.
+ * - current : 지금 설정 그대로 (bootJar, ddl-auto: update, 즉시 초기화)
+ * - prod : prod 프로필 (Flyway + validate, 지연 초기화). 풀어 놓은 jar(build/cds/app.jar)
+ * - prod-aot : + AOT 로 만들어 둔 빈 정의 (-Dspring.aot.enabled=true)
+ * - prod-aot-cds : + CDS 아카이브 (-XX:SharedArchiveFile=build/cds/app.jsa)
+ * 모든 설정이 같은 DB(application.yml 의 MySQL)를 쓰므로 먼저 docker compose up -d mysql.
+ * 결과는 표로 출력하고 startup.resultFile 에 CSV 로 남긴다 (실행별 한 줄).
+ */
+public final class StartupBenchmark {
+
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String MAIN_CLASS = "Focus._dx.Application";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java");
+        Path baselineJar = Path.of(System.getProperty("startup.baselineJar"));
+        Path cdsDir = Path.of(System.getProperty("startup.cdsDir"));
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+        Path resultFile = Path.of(System.getProperty("startup.resultFile"));
+        Path logDir = resultFile.getParent();
+        Files.createDirectories(logDir);
+
+        String appJar = cdsDir.resolve("app.jar").toAbsolutePath().toString(); // CDS 는 학습 실행과 같은 클래스패스여야 아카이브를 쓴다
+        String archive = cdsDir.resolve("app.jsa").toAbsolutePath().toString();
+        Map<String, List<String>> configs = new LinkedHashMap<>();
+        configs.put("current", List.of(java, "-jar", baselineJar.toAbsolutePath().toString()));
+        configs.put("prod", List.of(java, "-cp", appJar, MAIN_CLASS, "--spring.profiles.active=prod"));
+        configs.put("prod-aot", List.of(java, "-Dspring.aot.enabled=true",
+                "-cp", appJar, MAIN_CLASS, "--spring.profiles.active=prod"));
+        configs.put("prod-aot-cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-cp", appJar, MAIN_CLASS, "--spring.profiles.active=prod"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<String> csv = new ArrayList<>(List.of("config,run,time_to_first_request_ms,rss_mb"));
+        List<String> summary = new ArrayList<>();
+
+        for (Map.Entry<String, List<String>> config : configs.entrySet()) {
+            long[] millis = new long[runs];
+            long[] rssMb = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Sample sample = launch(client, config.getValue(), logDir.resolve(config.getKey() + "-" + run + ".log"));
+                millis[run] = sample.millis();
+                rssMb[run] = sample.rssKb() / 1024;
+                csv.add(config.getKey() + "," + run + "," + millis[run] + "," + rssMb[run]);
+                System.out.printf("%-13s run %d  %5d ms  %4d MB%n", config.getKey(), run, millis[run], rssMb[run]);
+            }
+            summary.add(String.format("%-13s  first request p50 %5d ms (min %5d, max %5d)  RSS p50 %4d MB",
+                    config.getKey(), median(millis), min(millis), max(millis), median(rssMb)));
+        }
+
+        Files.write(resultFile, csv);
+        System.out.println("=== 시작 시간 비교 (" + runs + "회씩, 프로세스 시작 → GET /api/wigs 200) ===");
+        summary.forEach(System.out::println);
+        System.out.println("실행별 결과: " + resultFile);
+    }
+
+    private static Sample launch(HttpClient client, List<String> baseCommand, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(baseCommand);
+        command.add("--server.port=" + port);
+        URI uri = URI.create("http://localhost:" + port + "/api/wigs");
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().timeout(Duration.ofSeconds(5)).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("앱이 시작 중에 종료되었습니다 (exit " + process.exitValue() + "), 로그: " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Sample(millis, rssKb(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않았거나 커넥터가 준비 중
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException(START_TIMEOUT + " 안에 첫 요청이 성공하지 않았습니다, 로그: " + log);
+        } finally {
+            process.destroy(); // SIGTERM: 정상 종료 (커넥션 풀/스레드 정리)
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * 리눅스 전용. 다른 OS 에서는 0
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long min(long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static long max(long[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+}
@@ -0,0 +1,106 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 형식별 크기와 인코딩/디코딩 비용 (JSON vs Smile, 각각 gzip 유무)
+ * - encodePage / decodePage : 목록 페이지 응답 직렬화 / 클라이언트 쪽 파싱 (트리로 읽음)
+ * - decodeRequest : 쓰기 요청 본문(WigRequestDto) 읽기
+ * - encodePageGzip : 압축까지 포함한 비용 (server.compression 과 같은 기본 압축 수준)
+ * 형식별 바이트 수는 @Setup 에서 한 번 출력한다 (raw / gzip).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigCodecBenchmark {
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"20", "1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private ObjectReader treeReader;
+    private ObjectReader requestReader;
+    private WigPageResponseDto page;
+    private byte[] encodedPage;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper objectMapper = "smile".equals(format) ? builder.factory(new SmileFactory()).build() : builder.build();
+        writer = objectMapper.writer();
+        treeReader = objectMapper.readerFor(JsonNode.class);
+        requestReader = objectMapper.readerFor(WigRequestDto.class);
+
+        List<WigResponseDto> list = new ArrayList<>(listSize);
+        for (long i = 0; i < listSize; i++) {
+            list.add(new WigResponseDto(i, "매일 아침 30분 운동하기 " + i, "주 5회 이상, 달리기 또는 근력 운동 " + i, i % 7));
+        }
+        page = new WigPageResponseDto(list, "djF8SURfQVNDfDIw", true, listSize);
+        encodedPage = writer.writeValueAsBytes(page);
+        encodedRequest = writer.writeValueAsBytes(new WigRequestDto("매일 아침 30분 운동하기", "주 5회 이상, 달리기 또는 근력 운동"));
+
+        System.out.printf("%n[payload] format=%s listSize=%d raw=%d bytes gzip=%d bytes%n",
+                format, listSize, encodedPage.length, gzip(encodedPage).length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encodePageGzip() throws IOException {
+        return gzip(writer.writeValueAsBytes(page));
+    }
+
+    @Benchmark
+    public JsonNode decodePage() throws IOException {
+        return treeReader.readValue(encodedPage);
+    }
+
+    @Benchmark
+    public WigRequestDto decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
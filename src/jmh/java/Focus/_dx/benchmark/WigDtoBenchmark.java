@@ -0,0 +1,56 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO 변환 비용
+ * - WigResponseDto.from (Lombok 빌더) vs 생성자 직접 호출
+ * - WigRequestDto.toEntity
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigDtoBenchmark {
+
+    private Wig wig;
+    private WigRequestDto request;
+
+    @Setup
+    public void setUp() {
+        wig = new Wig(42L, TeamContext.DEFAULT_TEAM, "매일 아침 30분 운동하기", "주 5회 이상, 달리기 또는 근력 운동", 3L);
+        request = new WigRequestDto("매일 아침 30분 운동하기", "주 5회 이상, 달리기 또는 근력 운동");
+    }
+
+    @Benchmark
+    public WigResponseDto responseFromBuilder() {
+        return WigResponseDto.from(wig);
+    }
+
+    @Benchmark
+    public WigResponseDto responseFromConstructor() {
+        return new WigResponseDto(wig.getId(), wig.getGoal(), wig.getDescription(), wig.getVersion());
+    }
+
+    @Benchmark
+    public Wig requestToEntity() {
+        return request.toEntity(TeamContext.DEFAULT_TEAM);
+    }
+}
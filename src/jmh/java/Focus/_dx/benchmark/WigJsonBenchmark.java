@@ -0,0 +1,71 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson 직렬화 비용 (스프링 MVC 와 같은 기본 설정의 ObjectMapper)
+ * - 단건 WigResponseDto
+ * - 목록: 페이지 응답(WigPageResponseDto) / 예전 전체 목록(List)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigJsonBenchmark {
+
+    @Param({"20", "1000"})
+    public int listSize;
+
+    private ObjectWriter writer;
+    private WigResponseDto single;
+    private List<WigResponseDto> list;
+    private WigPageResponseDto page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        single = new WigResponseDto(1L, "매일 아침 30분 운동하기", "주 5회 이상, 달리기 또는 근력 운동", 0L);
+        list = new ArrayList<>(listSize);
+        for (long i = 0; i < listSize; i++) {
+            list.add(new WigResponseDto(i, "목표 " + i, "설명 " + i, 0L));
+        }
+        page = new WigPageResponseDto(list, "djF8SURfQVNDfDIw", true, listSize);
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() throws Exception {
+        return writer.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return writer.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,89 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.service.WigBatchService;
+import Focus._dx.service.WigService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WigService 호출 로그(WigOperationLogAspect)를 켜고 끈 처리량 비교
+ * - off     : 호출 로그 끔 (logging.level.Focus._dx.logging=off)
+ * - sampled : 기본 설정. 쓰기는 모두, 성공한 조회는 1% 만
+ * - all     : 조회도 모두 (read-sample-rate=1.0)
+ * 캐시 적중은 로그를 남기지 않으므로 spring.cache.type=none 으로 매번 서비스까지 오게 한다.
+ * 요청 스레드 여러 개가 비동기 appender 큐에 같이 넣는 비용을 보려고 스레드 4개로 돌린다.
+ *
+ * 실행: gradle jmh -PjmhArgs="WigLoggingBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class WigLoggingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"off", "sampled", "all"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private WigService wigService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("logging-" + logging, "spring.cache.type=none",
+                "wig.batch.max-items=" + ROWS,
+                "logging.level.Focus._dx.logging=" + ("off".equals(logging) ? "off" : "info"),
+                "wig.logging.read-sample-rate=" + ("all".equals(logging) ? "1.0" : "0.01"));
+        wigService = context.getBean(WigService.class);
+
+        List<WigRequestDto> seed = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            seed.add(new WigRequestDto("목표 " + i, "설명 " + i));
+        }
+        firstId = context.getBean(WigBatchService.class).createWigs(seed).getResults().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public WigResponseDto getWigById() {
+        return wigService.getWigById(randomId());
+    }
+
+    @Benchmark
+    public WigResponseDto updateWig() {
+        return wigService.updateWig(randomId(), new WigRequestDto("수정된 목표", "수정된 설명"), null);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+}
@@ -0,0 +1,105 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기 경로: 엔티티로 읽어서 DTO로 옮기기 vs DTO 프로젝션으로 바로 읽기
+ * 둘 다 WigService 와 같은 읽기 전용 트랜잭션 안에서 실행한다.
+ * 메모리 차이는 GC 프로파일러로 본다: gradle jmh -PjmhArgs="WigReadPathBenchmark -prof gc" (gc.alloc.rate.norm = op당 할당 바이트)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigReadPathBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private WigRepository wigRepository;
+    private TransactionTemplate readOnly;
+    private long middleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("read-path-" + rows, "wig.batch.max-items=" + rows);
+        wigRepository = context.getBean(WigRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<WigRequestDto> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(new WigRequestDto("목표 " + i, "설명 " + i));
+        }
+        middleId = context.getBean(WigBatchService.class).createWigs(seed).getResults().get(rows / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** 예전 getAllWigs: findAll() → 엔티티 rows 개 + 영속성 컨텍스트 등록 → DTO 복사 */
+    @Benchmark
+    public List<WigResponseDto> allViaEntities() {
+        return readOnly.execute(status -> wigRepository.findAll().stream().map(WigResponseDto::from).toList());
+    }
+
+    @Benchmark
+    public List<WigResponseDto> allViaProjection() {
+        return readOnly.execute(status -> wigRepository.findAllResponses(TeamContext.DEFAULT_TEAM));
+    }
+
+    /** 목록 페이지/재색인 배치처럼 100행만 읽는 경우 */
+    @Benchmark
+    public List<WigResponseDto> pageViaEntities() {
+        return readOnly.execute(status -> wigRepository.findAll(PageRequest.of(0, 100, Sort.by("id"))).stream()
+                .map(WigResponseDto::from).toList());
+    }
+
+    @Benchmark
+    public List<WigResponseDto> pageViaProjection() {
+        return readOnly.execute(status -> wigRepository.findResponsesByIdGreaterThan(0L, Limit.of(100)));
+    }
+
+    @Benchmark
+    public Wig singleEntity() {
+        return readOnly.execute(status -> wigRepository.findById(middleId).orElse(null));
+    }
+
+    @Benchmark
+    public WigResponseDto singleProjection() {
+        return readOnly.execute(status -> wigRepository.findResponseById(middleId).orElse(null));
+    }
+}
@@ -0,0 +1,86 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigSearchResponseDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.search.WigSearchIndex;
+import Focus._dx.service.WigBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색: 인메모리 n-gram 색인(WigSearchIndex) vs LIKE '%keyword%' 기준선
+ * 기준선은 주석으로 남아 있던 findByGoalContaining 방식을 goal/description 둘 다로 넓힌 쿼리 (상위 20건)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigSearchBenchmark {
+
+    private static final String[] GOALS = {"매일 아침 운동하기", "한 달에 책 네 권 읽기", "영어 회화 공부", "체중 5kg 감량", "신규 고객 100명 확보"};
+    private static final String[] DESCRIPTIONS = {"달리기와 근력 운동 병행", "출퇴근 시간 독서", "주 3회 전화 영어", "식단 관리와 운동", "영업팀 리드 측정"};
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"운동", "고객 확보", "독"})
+    public String keyword;
+
+    private ConfigurableApplicationContext context;
+    private WigSearchIndex searchIndex;
+    private WigRepository wigRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("search", "wig.batch.max-items=" + rows);
+        searchIndex = context.getBean(WigSearchIndex.class);
+        wigRepository = context.getBean(WigRepository.class);
+
+        List<WigRequestDto> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(new WigRequestDto(GOALS[i % GOALS.length] + " " + i, DESCRIPTIONS[(i / 7) % DESCRIPTIONS.length]));
+        }
+        context.getBean(WigBatchService.class).createWigs(seed);
+        searchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public WigSearchResponseDto invertedIndex() {
+        return searchIndex.search(keyword, 0, 20);
+    }
+
+    @Benchmark
+    public List<Wig> likeBaseline() {
+        String pattern = "%" + keyword + "%";
+        Specification<Wig> contains = (root, query, cb) -> cb.or(
+                cb.like(root.get("goal"), pattern),
+                cb.like(root.get("description"), pattern));
+        return wigRepository.findBy(contains, q -> q.limit(20).all());
+    }
+}
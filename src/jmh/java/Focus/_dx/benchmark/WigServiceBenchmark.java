@@ -0,0 +1,102 @@
+package Focus._dx.benchmark;
+
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSortType;
+import Focus._dx.service.WigBatchService;
+import Focus._dx.service.WigService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WigService 메서드 비용 (인메모리 H2, 트랜잭션/JPA/캐시 프록시 포함)
+ * cache=none 이면 getWigById 가 매번 DB를 읽는다 (spring.cache.type=none)
+ * cache=caffeine 은 전체 행을 미리 캐시에 올린 뒤의 적중 비용이다
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WigServiceBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"caffeine", "none"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private WigService wigService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("service-" + cache, "spring.cache.type=" + cache,
+                "wig.batch.max-items=" + ROWS);
+        wigService = context.getBean(WigService.class);
+
+        List<WigRequestDto> seed = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            seed.add(new WigRequestDto("목표 " + i, "설명 " + i));
+        }
+        firstId = context.getBean(WigBatchService.class).createWigs(seed).getResults().get(0).getId();
+
+        // 캐시를 미리 채워둔다. 안 그러면 워밍업 내내 미스가 섞여 적중 경로가 아니라 채우는 비용을 재게 된다
+        for (int i = 0; i < ROWS; i++) {
+            wigService.getWigById(firstId + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public WigResponseDto getWigById() {
+        return wigService.getWigById(randomId());
+    }
+
+    @Benchmark
+    public WigPageResponseDto getWigsFirstPage() {
+        return wigService.getWigs(null, 20, WigSortType.ID_ASC, null);
+    }
+
+    @Benchmark
+    public WigPageResponseDto getWigsGoalPrefix() {
+        return wigService.getWigs(null, 20, WigSortType.GOAL_ASC, "목표 12");
+    }
+
+    @Benchmark
+    public WigResponseDto updateWig() {
+        return wigService.updateWig(randomId(), new WigRequestDto("수정된 목표", "수정된 설명"), null);
+    }
+
+    @Benchmark
+    public WigResponseDto createWig() {
+        return wigService.createWig(new WigRequestDto("새 목표", "새 설명"));
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(ROWS);
+    }
+}
@@ -2,8 +2,10 @@ package Focus._dx;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan // config.WigProperties 같은 @ConfigurationProperties 클래스 자동 등록
 public class Application {
 
 	public static void main(String[] args) {
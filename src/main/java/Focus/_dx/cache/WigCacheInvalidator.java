@@ -0,0 +1,37 @@
+package Focus._dx.cache;
+
+import Focus._dx.config.CacheConfig;
+import Focus._dx.event.WigChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 수정/삭제가 커밋된 뒤에 id 캐시를 비운다.
+ *
+ * @CacheEvict 를 서비스 메서드에 달면 커밋 전에 지워져서, 그 사이 다른 요청이 옛 값을 다시 채워 넣을 수 있다.
+ * 커밋 이후(AFTER_COMMIT)에 지우면 이후 조회는 반드시 새 값을 읽는다.
+ * (Caffeine은 같은 키를 로딩 중이면 로딩이 끝난 뒤에 무효화하므로, 커밋 전에 시작된 로딩 결과도 남지 않는다)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WigCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onWigChanged(WigChangedEvent event) {
+        if (event.getType() == WigChangedEvent.Type.CREATED) {
+            return; // 새 id는 캐시에 있을 수 없다 (조회 실패는 캐시하지 않음)
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.WIG_BY_ID);
+        if (cache != null) {
+            cache.evict(event.getId());
+            log.debug("WIG 캐시 무효화 - id: {}", event.getId());
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package Focus._dx.cache;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ReadYourWrites;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.repository.WigRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 존재하는 WIG id 의 블룸 필터 (GET /api/wigs/{id} 앞단)
+ *
+ * 크롤러나 오래된 클라이언트가 없는 id 를 두드리면 매번 DB 조회 + 404 였다. 필터가 "확실히 없다"고 답하는 id 는
+ * 캐시/트랜잭션/DB 를 거치지 않고 바로 404 로 끝낸다. "있을 수도 있다"면 예전처럼 조회한다 (오탐률 false-positive-rate).
+ * - 구성 : 시작 시 Repository 에서 id 만 id 순으로 나눠 읽어서 만든다. 끝나기 전에는 모든 id 를 통과시킨다
+ * - 생성 : 커밋 직전(BEFORE_COMMIT)에 넣는다. 커밋 직후 다른 요청이 새 id 를 조회해도 404 가 나지 않는다 (롤백되면 오탐 하나).
+ *          재구성 중이면 새 필터에도 넣고, 재구성 직전에 넣은 id 는 최근 id 목록에서 다시 넣는다
+ * - 삭제 : 블룸 필터는 빼낼 수 없으므로 남겨두고 센다. 삭제가 쌓이거나 용량을 넘기면 rebuild-check-interval 마다 확인해서 다시 만든다
+ * - 주기 재구성 : 위 조건과 상관없이 만든 지 max-age 가 지나면 다시 만든다
+ * - 마지막 구성 때 DB 에서 읽은 가장 큰 id(구성 기준선)보다 큰 id 는 필터가 답하지 않고 DB(PK 조회)로 보낸다.
+ *   이 인스턴스가 만든 id 로는 기준선을 올리지 않는다. 구성 뒤에 다른 인스턴스가 만든 id 는 대부분 기준선 위라 404 가 되지 않는다
+ *
+ * 필터는 인스턴스마다 따로 있고 이 인스턴스의 쓰기만 반영한다 (WigSearchIndex 와 같음).
+ * 인스턴스마다 id 생성기에서 50개씩 구간을 받아 쓰고(pooled), 샤드마다 id 구간이 다르므로, 다른 인스턴스가 구성 뒤에 만든 id 가
+ * 기준선보다 작을 수 있다 (구성 전에 받아 둔 구간의 나머지). 그런 id 는 다음 재구성(길어야 max-age + 확인 주기)까지 잘못된 404 가 된다.
+ * 그래서 기본은 꺼져 있다 (wig.id-filter.enabled). 인스턴스가 하나이거나 그 지연을 받아들일 수 있는 배포에서만 켠다.
+ */
+@Component
+@Slf4j
+public class WigIdFilter implements Closeable {
+
+    /** 재구성과 겹친 생성을 놓치지 않도록 기억해 두는 최근 id 수 (동시에 진행 중인 쓰기 트랜잭션 수보다 넉넉하게) */
+    private static final int RECENT_SIZE = 4096;
+
+    private final WigRepository wigRepository;
+    private final ShardRouter shardRouter;
+    private final WigProperties.IdFilter properties;
+    private final Counter rejected;
+    private final Counter passed;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Bits bits; // null 이면 아직 구성 전 → 모두 통과
+    private volatile Bits building; // 재구성 중이면 새 필터에도 같이 넣는다
+    private volatile long builtHighestId; // 구성 기준선. 마지막 구성 때 DB 에서 읽은 가장 큰 id
+    private volatile long builtAt; // 마지막 구성 시각 (System.nanoTime)
+    private final AtomicLong deletedSinceBuild = new AtomicLong();
+
+    // 최근에 넣은 id. 재구성 시작 전에 넣었지만 스캔이 지나간 뒤 커밋된 id 를 새 필터에 다시 넣는 데 쓴다
+    private final AtomicLongArray recentlyAdded = new AtomicLongArray(RECENT_SIZE);
+    private final AtomicLong recentCursor = new AtomicLong();
+
+    public WigIdFilter(WigRepository wigRepository, ShardRouter shardRouter, WigProperties wigProperties,
+                       MeterRegistry meterRegistry) {
+        this.wigRepository = wigRepository;
+        this.shardRouter = shardRouter;
+        this.properties = wigProperties.getIdFilter();
+        this.rejected = meterRegistry.counter("wig.idfilter.lookups", "result", "rejected");
+        this.passed = meterRegistry.counter("wig.idfilter.lookups", "result", "passed");
+        meterRegistry.gauge("wig.idfilter.entries", this, filter -> {
+            Bits current = filter.bits;
+            return current != null ? current.count.get() : 0;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wig-idfilter-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 시작 시 구성하고, 이후 주기적으로 재구성이 필요한지 확인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild();
+        long intervalMillis = Math.min(properties.getRebuildCheckInterval().toMillis(), properties.getMaxAge().toMillis());
+        scheduler.scheduleWithFixedDelay(this::rebuildIfStale, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return false 면 확실히 없는 id (DB 를 볼 필요 없음)
+     */
+    public boolean mightExist(Long id) {
+        long highest = builtHighestId; // 기준선을 먼저 읽는다. rebuild 는 필터를 바꾼 뒤 기준선을 올린다
+        Bits current = bits;
+        if (current == null || id == null || id > highest || current.mightContain(id)) {
+            passed.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 새 id 는 커밋 전에 넣는다. 삭제는 재구성 판단용으로 세기만 한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onWigChanged(WigChangedEvent event) {
+        if (event.getType() == WigChangedEvent.Type.CREATED) {
+            add(event.getId());
+        } else if (event.getType() == WigChangedEvent.Type.DELETED) {
+            deletedSinceBuild.incrementAndGet();
+        }
+    }
+
+    /**
+     * 전체 id 를 다시 읽어서 새 필터로 교체한다. 크기는 현재 행 수의 두 배와 expected-insertions 중 큰 쪽.
+     * 복제본은 지연될 수 있으므로 primary 에서 읽는다 (빠진 id 는 곧 잘못된 404).
+     * 샤딩이 켜져 있으면 행 수는 모든 샤드의 합이고, id 는 샤드마다 차례로 읽는다.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        long[] rows = {0L};
+        shardRouter.forEachShard(shard -> rows[0] += wigRepository.count());
+        Bits fresh = new Bits(Math.max(properties.getExpectedInsertions(), rows[0] * 2), properties.getFalsePositiveRate());
+        building = fresh;
+        long deletedBefore = deletedSinceBuild.get();
+        long[] lastId = {0L};
+        ReadYourWrites.pin();
+        try {
+            int batchSize = properties.getRebuildBatchSize();
+            shardRouter.forEachShard(shard -> {
+                long after = 0L;
+                List<Long> batch;
+                do {
+                    batch = wigRepository.findIdsByIdGreaterThan(after, Limit.of(batchSize));
+                    for (Long id : batch) {
+                        fresh.put(id);
+                        after = id;
+                    }
+                } while (batch.size() == batchSize);
+                lastId[0] = Math.max(lastId[0], after);
+            });
+        } finally {
+            ReadYourWrites.clear();
+            building = null;
+        }
+        for (int i = 0; i < RECENT_SIZE; i++) {
+            long id = recentlyAdded.get(i);
+            if (id != 0) {
+                fresh.put(id);
+            }
+        }
+        bits = fresh;
+        builtHighestId = lastId[0];
+        builtAt = System.nanoTime();
+        deletedSinceBuild.addAndGet(-deletedBefore);
+        log.info("WIG id 필터 구성 완료 - id 수: {}, 비트: {}, 소요: {}ms",
+                fresh.count.get(), fresh.bitSize, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void add(Long id) {
+        recentlyAdded.set((int) (recentCursor.getAndIncrement() % RECENT_SIZE), id);
+        Bits current = bits;
+        if (current != null) {
+            current.put(id);
+        }
+        Bits next = building;
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    private void rebuildIfStale() {
+        Bits current = bits;
+        if (current == null) {
+            return;
+        }
+        long entries = current.count.get();
+        boolean full = entries > current.capacity;
+        boolean stale = deletedSinceBuild.get() > entries * properties.getMaxDeletedRatio();
+        boolean old = System.nanoTime() - builtAt >= properties.getMaxAge().toNanos(); // 다른 인스턴스가 만든 id 를 들이려고
+        if (full || stale || old) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("WIG id 필터 재구성 실패 - 기존 필터 유지", e);
+            }
+        }
+    }
+
+    /**
+     * 비트 배열. 여러 스레드가 락 없이 넣고 읽는다 (비트는 켜지기만 한다)
+     * 해시 k 개는 id 의 64비트 해시 하나를 둘로 나눠 h1 + i * h2 로 만든다 (Kirsch-Mitzenmacher)
+     */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashCount;
+        private final long capacity;
+        private final AtomicLong count = new AtomicLong(); // 넣은 횟수 (같은 id 를 두 번 넣으면 두 번 센다)
+
+        Bits(long capacity, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitSize = (long) wordCount * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void put(long id) {
+            long hash = mix(id);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitSize);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old = words.get(word);
+                while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask)) {
+                    old = words.get(word);
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(long id) {
+            long hash = mix(id);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 연속된 id 가 비트 배열에 고르게 퍼지도록 섞는다 (SplitMix64 마무리 단계)
+         */
+        private static long mix(long value) {
+            long z = value * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package Focus._dx.cache;
+
+import Focus._dx.config.CacheConfig;
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ReadYourWrites;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigSortType;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.service.WigService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 목록 응답(GET /api/wigs, /api/wigs/all) 직렬화 바이트 캐시
+ *
+ * 바뀐 게 없어도 목록 요청마다 조회 + DTO 변환 + Jackson 직렬화를 반복하지 않도록, 직렬화가 끝난 JSON 바이트를 보관한다.
+ * - 키 : 전역 데이터 버전 + 요청 팀 + 요청 파라미터. 쓰기가 커밋되면(WigChangedEvent, AFTER_COMMIT) 버전을 올리므로
+ *        이후 요청은 새 키로 다시 만들고, 옛 버전 스냅샷은 더 이상 읽히지 않다가 크기 상한에 밀려 사라진다 (개별 무효화 없음)
+ * - 적중 : 바이트를 그대로 응답에 쓴다. ETag 도 만들 때 한 번 계산해 둔다
+ * - gzip : gzip-min-size 이상이면 만들 때 gzip 본도 만들어 둔다. Accept-Encoding: gzip 요청에는 압축 없이 그대로 보낸다
+ * - 미스 : AsyncCache 라 같은 키로 동시에 미스가 나면 한 번만 만들고 나머지는 그 결과를 기다린다.
+ *          만드는 작업은 getWigById 캐시와 같은 로더 실행기(가상 스레드)에서 돈다
+ *
+ * 스냅샷은 버전과 맞아야 하므로 복제본이 아니라 primary 에서 읽는다 (지연된 복제본 데이터가 새 버전 키로 굳지 않게).
+ *
+ * 데이터 버전은 이 인스턴스의 커밋으로만 오른다. 인스턴스가 여럿이면 다른 인스턴스의 쓰기는 버전을 올리지 못하므로,
+ * 스냅샷은 만든 지 max-staleness 가 지나면 버린다. 여러 인스턴스에서는 목록/ETag 가 최대 그만큼 늦을 수 있다.
+ */
+@Component
+public class WigListSnapshotCache {
+
+    public static final String CACHE_NAME = "wigListSnapshot";
+
+    private final WigService wigService;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final AsyncCache<Key, Snapshot> snapshots;
+
+    public WigListSnapshotCache(WigService wigService, ObjectMapper objectMapper, WigProperties wigProperties,
+                                MeterRegistry meterRegistry) {
+        this.wigService = wigService;
+        this.objectMapper = objectMapper;
+        WigProperties.ListCache listCache = wigProperties.getListCache();
+        this.gzipMinBytes = (int) listCache.getGzipMinSize().toBytes();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(listCache.getMaxSize().toBytes())
+                .weigher((Key key, Snapshot snapshot) -> snapshot.weight())
+                .expireAfterWrite(listCache.getMaxStaleness())
+                .executor(CacheConfig.LOADER_EXECUTOR)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * 목록 페이지 스냅샷 (GET /api/wigs)
+     *
+     * @param allTeams 모든 팀 목록 (팀 키 대신 * 로 담는다)
+     * @param eTagOf   페이지 ETag 계산 (스냅샷을 만들 때 한 번만 호출된다)
+     */
+    public Snapshot getPage(String cursor, Integer size, WigSortType sort, String goalPrefix, boolean allTeams,
+                            Function<WigPageResponseDto, String> eTagOf) {
+        String team = allTeams ? "*" : TeamContext.current();
+        Key key = new Key(dataVersion.get(), team, "page", cursor, size, sort, goalPrefix);
+        return get(key, () -> wigService.getWigs(cursor, size, sort, goalPrefix, allTeams), eTagOf);
+    }
+
+    /**
+     * 전체 목록 스냅샷 (GET /api/wigs/all)
+     */
+    public Snapshot getAll() {
+        Key key = new Key(dataVersion.get(), TeamContext.current(), "all", null, null, null, null);
+        return get(key, wigService::getAllWigs, all -> null);
+    }
+
+    /**
+     * 쓰기가 커밋되면 데이터 버전을 올린다. 이후 요청부터 새 스냅샷을 만든다.
+     */
+    @TransactionalEventListener
+    public void onWigChanged(WigChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    private <T> Snapshot get(Key key, Supplier<T> loader, Function<T, String> eTagOf) {
+        try {
+            return snapshots.get(key, k -> build(loader, eTagOf)).join();
+        } catch (CompletionException e) {
+            // 만들다 실패한 키는 캐시에 남지 않는다. 원래 예외(깨진 커서 → 400 등)를 그대로 던진다
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private <T> Snapshot build(Supplier<T> loader, Function<T, String> eTagOf) {
+        ReadYourWrites.pin();
+        T body;
+        try {
+            body = loader.get();
+        } finally {
+            ReadYourWrites.clear();
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+            return new Snapshot(json, gzip, eTagOf.apply(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("목록 스냅샷 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param team 요청 팀. 모든 팀 목록이면 *
+     * @param kind page / all
+     */
+    private record Key(long version, String team, String kind, String cursor, Integer size, WigSortType sort, String goalPrefix) {
+    }
+
+    /**
+     * 직렬화가 끝난 응답 한 벌
+     *
+     * @param json 응답 본문 (UTF-8 JSON)
+     * @param gzip json 의 gzip 본. 작아서 만들지 않았으면 null
+     * @param eTag 목록 페이지 ETag. /all 은 null
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String eTag) {
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
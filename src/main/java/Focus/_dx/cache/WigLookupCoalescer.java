@@ -0,0 +1,244 @@
+package Focus._dx.cache;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ReadYourWrites;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.WigShardLocator;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.repository.WigRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * id 조회 묶기 (wigById 캐시 미스 로더, GET /api/wigs?ids=)
+ *
+ * 스코어보드 화면처럼 여러 id 를 한꺼번에 조회하면 캐시 미스마다 트랜잭션 + PK 조회가 하나씩 나가고, 그만큼 커넥션을 돌려 쓴다.
+ * - 한가할 때 : max-concurrent-queries 까지는 호출한 스레드가 바로 읽는다. 기다림도 스레드 전환도 없다
+ * - 몰릴 때 : 자리가 없으면 줄을 세우고, 묶는 스레드 하나가 자리가 날 때까지 + max-linger 동안 쌓인 id 를
+ *            IN 쿼리 하나(최대 max-batch-size 개)로 읽어서 기다리는 호출마다 돌려준다. 없는 id 는 빈 결과
+ * - 같은 묶음 안의 같은 id 는 한 번만 읽는다
+ *
+ * 모든 조회는 읽기 전용 트랜잭션이지만 primary 에서 읽는다. 읽은 값은 wigById 캐시에 10분까지 남는데, 복제본에서 읽으면
+ * 수정 커밋 → 캐시 무효화 직후의 미스가 지연된(max-lag) 옛 행을 다시 채워 넣을 수 있다 (WigListSnapshotCache 와 같은 이유).
+ * 묶어서 읽은 SQL 은 여러 요청의 몫이라 요청별 SQL 집계(RequestSqlStats)에는 들어가지 않는다 (wig.lookup.batch.size 로 본다).
+ * 샤딩이 켜져 있으면 요청 팀과 상관없이 id 마다 행이 있는 샤드(WigShardLocator)에서 읽고, 묶음은 샤드별 IN 쿼리로 나눠 읽는다.
+ * 그래서 wigById 캐시를 id 만으로 키로 써도 미스(DB)와 적중(캐시)의 결과가 같다.
+ */
+@Component
+@Slf4j
+public class WigLookupCoalescer implements Closeable {
+
+    private final WigRepository wigRepository;
+    private final ShardRouter shardRouter;
+    private final WigShardLocator wigShardLocator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final WigProperties.Lookup properties;
+    private final Semaphore queries; // 동시에 DB 로 나가는 단건/묶음 조회 자리 (공정 모드: 줄 선 묶음이 새치기당하지 않게)
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService batchRunner = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary batchSizes;
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    public WigLookupCoalescer(WigRepository wigRepository, ShardRouter shardRouter, WigShardLocator wigShardLocator,
+                              PlatformTransactionManager transactionManager, WigProperties wigProperties, MeterRegistry meterRegistry) {
+        this.wigRepository = wigRepository;
+        this.shardRouter = shardRouter;
+        this.wigShardLocator = wigShardLocator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = wigProperties.getLookup();
+        this.queries = new Semaphore(properties.getMaxConcurrentQueries(), true);
+        this.batchSizes = DistributionSummary.builder("wig.lookup.batch.size")
+                .description("IN 쿼리 하나로 묶인 단건 조회 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("wig.lookup.queue.size", queue, BlockingQueue::size);
+
+        this.dispatcher = properties.isCoalesceEnabled()
+                ? Thread.ofPlatform().name("wig-lookup-coalescer").daemon().start(this::dispatchLoop)
+                : null;
+    }
+
+    /**
+     * id 하나 조회. 몰리는 중이면 다른 조회들과 묶여서 나간다.
+     */
+    public Optional<WigResponseDto> find(Long id) {
+        if (dispatcher == null || !running) {
+            return findDirect(id);
+        }
+        boolean acquired = false;
+        if (queue.isEmpty()) {
+            try {
+                acquired = queries.tryAcquire(0, TimeUnit.NANOSECONDS); // 시간 없는 tryAcquire() 는 공정 모드를 무시하고 새치기한다
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("WIG 조회 대기 중 중단되었습니다", e);
+            }
+        }
+        if (acquired) {
+            try {
+                return findDirect(id);
+            } finally {
+                queries.release();
+            }
+        }
+
+        Pending pending = new Pending(id, new CompletableFuture<>());
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            return findDirect(id); // close() 가 큐를 비운 뒤에 들어왔다
+        }
+        try {
+            return Optional.ofNullable(pending.result().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("WIG 조회 대기 중 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 여러 id 를 IN 쿼리 하나로 조회 (GET /api/wigs?ids=). 샤딩이 켜져 있으면 행이 있는 샤드마다 하나. 없는 id 는 결과에 없다
+     */
+    public Map<Long, WigResponseDto> findAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, WigResponseDto> byId = new HashMap<>(ids.size() * 2);
+        wigShardLocator.groupByShard(ids).forEach((shard, shardIds) -> shardRouter.callOn(shard,
+                () -> onPrimary(() -> wigRepository.findResponsesByIds(shardIds))).forEach(wig -> byId.put(wig.getId(), wig)));
+        return byId;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        batchRunner.shutdown();
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        fail(rest);
+    }
+
+    private Optional<WigResponseDto> findDirect(Long id) {
+        return wigShardLocator.callOnOwner(id, () -> onPrimary(() -> wigRepository.findResponseById(id)));
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 primary 로 고정해서 실행한다. 요청 스레드가 이미 고정돼 있으면(read-your-writes) 그대로 둔다
+     */
+    private <T> T onPrimary(Supplier<T> read) {
+        boolean alreadyPinned = ReadYourWrites.isPinned();
+        ReadYourWrites.pin();
+        try {
+            return readOnlyTransaction.execute(status -> read.get());
+        } finally {
+            if (!alreadyPinned) {
+                ReadYourWrites.clear();
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<Pending> batch = nextBatch();
+                try {
+                    batchRunner.execute(() -> run(batch));
+                } catch (RejectedExecutionException e) {
+                    queries.release();
+                    fail(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("WIG 조회 묶음 처리 중 예상하지 못한 오류", e); // 스레드가 죽으면 줄 선 조회가 영영 끝나지 않으므로 계속 돈다
+            }
+        }
+    }
+
+    /**
+     * 첫 조회를 기다린 뒤 max-linger 동안 더 모으고, 조회 자리가 날 때까지 기다리는 동안 쌓인 것까지 max-batch-size 만큼 가져간다.
+     * 돌아올 때 조회 자리 하나를 쥐고 있다 (run 에서 반납).
+     */
+    private List<Pending> nextBatch() throws InterruptedException {
+        Pending first = queue.take();
+        int maxBatchSize = properties.getMaxBatchSize();
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+
+        try {
+            long deadline = System.nanoTime() + properties.getMaxLinger().toNanos();
+            while (batch.size() < maxBatchSize) {
+                if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+            queries.acquire();
+        } catch (InterruptedException e) {
+            fail(batch); // 종료 중. 이미 꺼낸 조회는 close() 가 볼 수 없으므로 여기서 끝낸다
+            throw e;
+        }
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        return batch;
+    }
+
+    private void run(List<Pending> batch) {
+        try {
+            Set<Long> ids = new HashSet<>();
+            batch.forEach(item -> ids.add(item.id()));
+            Map<Long, WigResponseDto> found = findAll(ids);
+            batch.forEach(item -> item.result().complete(found.get(item.id())));
+            batchSizes.record(batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach(item -> item.result().completeExceptionally(e));
+        } finally {
+            queries.release();
+        }
+    }
+
+    private static void fail(List<Pending> batch) {
+        batch.forEach(item -> item.result().completeExceptionally(new IllegalStateException("종료 중이라 조회할 수 없습니다")));
+    }
+
+    private record Pending(Long id, CompletableFuture<WigResponseDto> result) {
+    }
+}
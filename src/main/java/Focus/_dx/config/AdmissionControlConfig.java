@@ -0,0 +1,34 @@
+package Focus._dx.config;
+
+import Focus._dx.filter.AdaptiveConcurrencyLimit;
+import Focus._dx.filter.AdmissionControlFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * /api 유입 제어 설정 (wig.admission.enabled, 기본 켜짐)
+ *
+ * 클라이언트별 요청률 제한과 DB 지연에 맞춰 움직이는 전체 동시 처리 한도를 필터 하나로 건다.
+ * 가상 스레드 모드의 ConcurrencyLimitFilter(고정 한도, 짧게 기다림)와는 별개로 동작한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wig.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(MeterRegistry meterRegistry, WigProperties wigProperties) {
+        return new AdaptiveConcurrencyLimit(meterRegistry, wigProperties.getAdmission());
+    }
+
+    @Bean
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            WigProperties wigProperties, AdaptiveConcurrencyLimit adaptiveConcurrencyLimit, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(wigProperties.getAdmission(), adaptiveConcurrencyLimit, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,63 @@
+package Focus._dx.config;
+
+import Focus._dx.datasource.ReadYourWrites;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.logging.RequestId;
+import Focus._dx.metrics.RequestSqlStats;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 캐시 설정
+ * 실제 캐시 구현(Caffeine)과 크기/TTL 정책은 application.yml 의 spring.cache.* 에서 정한다.
+ *
+ * order = HIGHEST_PRECEDENCE : 캐시 프록시를 트랜잭션 프록시보다 바깥에 둔다.
+ * 그래야 캐시 적중 시 트랜잭션(커넥션 획득)을 아예 열지 않는다.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /**
+     * WigService.getWigById 결과(WigResponseDto)를 id로 담아두는 캐시
+     */
+    public static final String WIG_BY_ID = "wigById";
+
+    /** 캐시 미스 로더 실행기. 가상 스레드 하나에 로드 하나, 요청의 SQL 집계와 primary 고정(read-your-writes), 팀(샤드), 요청 id(로그 MDC)를 같이 넘긴다. WigListSnapshotCache 도 같이 쓴다 */
+    private static final ExecutorService VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+    public static final Executor LOADER_EXECUTOR =
+            task -> VIRTUAL_THREADS.execute(ReadYourWrites.propagate(RequestSqlStats.propagate(TeamContext.propagate(RequestId.propagate(task)))));
+
+    /**
+     * Caffeine 을 AsyncCache 모드로 사용
+     * 동기 캐시의 get(key, loader)는 ConcurrentHashMap.compute 안(synchronized)에서 DB를 읽는다.
+     * 가상 스레드가 synchronized 안에서 블로킹되면 캐리어 스레드에 고정(pinning)되므로,
+     * 비동기 캐시로 바꿔서 "미완료 Future 등록"만 락 안에서 하고 DB 조회는 락 밖에서 하게 한다.
+     * 같은 키를 기다리는 스레드는 그 Future 를 기다리므로 스탬피드 방지(sync = true)는 그대로 유지된다.
+     *
+     * 미스 때 DB 조회는 Caffeine executor 에서 돈다. 기본값(ForkJoinPool.commonPool)은 코어 수만큼만 스레드가 있어서
+     * 블로킹 JDBC 조회가 그 뒤에 줄을 서므로, 가상 스레드로 하나씩 돌린다.
+     * 그 스레드에서 실행된 SQL도 요청의 RequestSqlStats 에 잡히도록 넘겨준다.
+     * 크기/TTL 정책은 그대로 spring.cache.caffeine.spec 을 따른다.
+     */
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCacheMode(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            cacheManager.setAsyncCacheMode(true);
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> builder = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(builder.executor(LOADER_EXECUTOR));
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package Focus._dx.config;
+
+import Focus._dx.cache.WigIdFilter;
+import Focus._dx.cache.WigListSnapshotCache;
+import Focus._dx.cache.WigLookupCoalescer;
+import Focus._dx.controller.WigController;
+import Focus._dx.service.WigService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 지연 초기화 제외 목록 (spring.main.lazy-initialization=true, prod 프로필)
+ *
+ * 지연 초기화를 켜면 빈은 처음 쓰일 때 만들어진다. 측정값(MeasureController/MeasureService), 캐시 무효화 리스너,
+ * actuator 엔드포인트처럼 처음 쓰일 때까지 기다려도 되는 빈은 그대로 두고,
+ * /api/wigs 를 처리하는 빈과 그 의존성(리포지토리, EntityManagerFactory → 스키마 검증)은 시작할 때 만들어서
+ * 배포 직후 첫 요청이 컨텍스트 초기화 비용을 떠안지 않게 한다.
+ * WigIdGeneratorAligner 는 아무도 주입받지 않으므로 여기 없으면 영영 실행되지 않는다.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    /**
+     * static : 빈 팩토리 후처리 단계(LazyInitializationBeanFactoryPostProcessor)에서 읽히므로 설정 클래스보다 먼저 만들어져야 한다
+     */
+    @Bean
+    static LazyInitializationExcludeFilter wigReadPathEagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                WigController.class,
+                WigService.class,
+                WigListSnapshotCache.class,
+                WigLookupCoalescer.class,
+                WigIdFilter.class,
+                WigIdGeneratorAligner.class);
+    }
+}
@@ -0,0 +1,25 @@
+package Focus._dx.config;
+
+import Focus._dx.filter.RequestIdFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 요청 상관 id 필터 설정
+ *
+ * 로그 출력(비동기 appender, 형식)은 logback-spring.xml, 서비스 호출 로그는 WigOperationLogAspect 에 있다.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    FilterRegistrationBean<RequestIdFilter> requestIdFilter(WigProperties wigProperties) {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(
+                new RequestIdFilter(wigProperties.getLogging().getRequestIdHeader()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // 유입 제어 등 다른 필터의 로그에도 requestId 가 붙게
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package Focus._dx.config;
+
+import Focus._dx.datasource.ReplicaPool;
+import Focus._dx.datasource.ReplicaRoutingDataSource;
+import Focus._dx.filter.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 설정 (wig.replica.enabled=true 일 때만)
+ *
+ * DataSource 빈을 직접 만들어서 스프링 부트 기본 DataSource 를 대신한다.
+ * - primary : spring.datasource.* (+ spring.datasource.hikari.*) 그대로
+ * - replica : wig.replica.*
+ * 두 풀은 빈으로 따로 등록하지 않는다. DataSource 빈마다 감싸는 SQL 집계 프록시가 라우팅 DataSource 에만 한 번 걸리게 하기 위해서다.
+ * 풀 지표(hikaricp.*)는 pool 태그(wig-primary, wig-replica)로 직접 연결한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wig.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    ReplicaPool replicaPool(WigProperties wigProperties, MeterRegistry meterRegistry) {
+        WigProperties.Replica replica = wigProperties.getReplica();
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("wig-replica");
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(replica.getUsername());
+        pool.setPassword(replica.getPassword());
+        if (replica.getDriverClassName() != null) {
+            pool.setDriverClassName(replica.getDriverClassName());
+        }
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        pool.setReadOnly(true);
+        pool.setInitializationFailTimeout(-1); // 복제본이 내려가 있어도 애플리케이션은 뜨고, 읽기는 primary 로 간다
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaPool(pool, replica);
+    }
+
+    @Bean
+    DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                          ReplicaPool replicaPool, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary)); // 기본 DataSource 와 같은 풀 설정
+        primary.setPoolName("wig-primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaRoutingDataSource(primary, replicaPool, meterRegistry);
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(WigProperties wigProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(wigProperties.getReplica().getReadYourWritesWindow()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,100 @@
+package Focus._dx.config;
+
+import Focus._dx.datasource.ShardPools;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 팀별 샤드 DataSource 설정 (wig.sharding.enabled=true 일 때만)
+ *
+ * DataSource 빈을 직접 만들어서 스프링 부트 기본 DataSource 를 대신한다 (ReplicaDataSourceConfig 와 같은 방식).
+ * - 0번 샤드 : spring.datasource.* (+ spring.datasource.hikari.*) 그대로. 팀 배치표(team_placement)도 여기 있다
+ * - 1번부터 : wig.sharding.shards 순서
+ * 풀 지표(hikaricp.*)는 pool 태그(wig-shard-0, wig-shard-1 ...)로 연결한다.
+ *
+ * 스키마는 샤드마다 Flyway(spring.flyway.locations)로 만든다. ddl-auto 는 시작하는 스레드의 샤드 하나에만 닿으므로
+ * 샤딩을 켜면 validate 또는 none 으로 둔다. 복제본 라우팅(wig.replica)과는 같이 켤 수 없다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wig.sharding.enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    ShardPools shardPools(DataSourceProperties dataSourceProperties, Environment environment,
+                          WigProperties wigProperties, MeterRegistry meterRegistry) {
+        if (wigProperties.getReplica().isEnabled()) {
+            throw new IllegalStateException("wig.sharding 과 wig.replica 는 같이 켤 수 없습니다");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        HikariDataSource first = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(first)); // 기본 DataSource 와 같은 풀 설정
+        pools.add(first);
+        for (WigProperties.Sharding.Shard shard : wigProperties.getSharding().getShards()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(shard.getUrl());
+            pool.setUsername(shard.getUsername());
+            pool.setPassword(shard.getPassword());
+            if (shard.getDriverClassName() != null) {
+                pool.setDriverClassName(shard.getDriverClassName());
+            }
+            pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+            pool.setConnectionTimeout(first.getConnectionTimeout());
+            pools.add(pool);
+        }
+        for (int i = 0; i < pools.size(); i++) {
+            pools.get(i).setPoolName("wig-shard-" + i);
+            pools.get(i).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+
+        List<String> locations = Binder.get(environment)
+                .bind("spring.flyway.locations", Bindable.listOf(String.class))
+                .orElse(List.of("classpath:db/migration/common"));
+        pools.forEach(pool -> migrate(pool, locations));
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    DataSource dataSource(ShardPools shardPools, ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        return new ShardRoutingDataSource(shardPools, shardRouter, meterRegistry);
+    }
+
+    /**
+     * 샤드 하나에 마이그레이션 적용. {vendor} 는 스프링 부트 Flyway 설정과 같이 JDBC URL 의 DB 종류(mysql, h2 ...)로 바꾼다.
+     * ddl-auto 로 이미 테이블이 있는 샤드는 V1 을 기준으로 잡고 그 뒤만 적용한다 (application-prod.yml 과 같음).
+     */
+    private static void migrate(HikariDataSource pool, List<String> locations) {
+        String vendor = DatabaseDriver.fromJdbcUrl(pool.getJdbcUrl()).getId();
+        String[] resolved = locations.stream()
+                .map(location -> location.replace("{vendor}", vendor))
+                .toArray(String[]::new);
+        int applied = Flyway.configure()
+                .dataSource(pool)
+                .locations(resolved)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+        log.info("샤드 스키마 마이그레이션 - 풀: {}, 적용: {}개", pool.getPoolName(), applied);
+    }
+}
@@ -0,0 +1,30 @@
+package Focus._dx.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 이진 응답/요청 형식 (Smile, application/x-jackson-smile)
+ *
+ * Accept 에 Smile 을 보내면 같은 DTO 를 Smile 로 내려주고, Content-Type 이 Smile 인 요청 본문(WigRequestDto 등)도 읽는다.
+ * 목록 응답은 같은 필드 이름이 행마다 반복되는데, Smile 은 한 번 나온 필드 이름을 1바이트 참조로 바꿔 쓰고 숫자도 이진으로 담는다.
+ * (CBOR 는 필드 이름을 매번 그대로 쓰므로 이 모양에서는 Smile 쪽이 작다)
+ * Accept 가 없거나 모든 형식을 받는 요청은 지금처럼 JSON 이다. ObjectMapper 설정은 스프링 부트 JSON 설정(spring.jackson.*)을 그대로 따른다.
+ */
+@Configuration
+public class SmileFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * 같은 타입의 기본 변환기 자리를 대신한다 (JSON 변환기 뒤). 부트 Jackson 설정을 적용한 빌더에 Smile 팩토리만 바꿔 끼운다
+     */
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
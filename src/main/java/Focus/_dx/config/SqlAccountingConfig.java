@@ -0,0 +1,54 @@
+package Focus._dx.config;
+
+import Focus._dx.filter.SqlAccountingFilter;
+import Focus._dx.metrics.SqlAccountingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 요청별 SQL 실행 수/행 수 집계 설정
+ *
+ * DataSource 를 datasource-proxy 로 한 겹 감싸서 JDBC 실행과 ResultSet.next() 를 센다.
+ * 쿼리 내용은 남기지 않으므로 org.hibernate.SQL debug 로그를 끈 상태에서도 쿼리 수 이상(N+1)을 잡을 수 있다.
+ * wig.metrics.sql-accounting-enabled=false 면 프록시와 필터를 모두 걷어낸다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wig.metrics.sql-accounting-enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    private static final String PROXY_NAME = "wig";
+
+    @Bean
+    static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    SqlAccountingListener listener = new SqlAccountingListener();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(PROXY_NAME)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet() // ResultSet 도 프록시해야 next() 호출이 리스너에 보인다
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(MeterRegistry meterRegistry, WigProperties wigProperties) {
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+                new SqlAccountingFilter(meterRegistry, wigProperties.getMetrics().getSqlStatementThreshold()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package Focus._dx.config;
+
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.filter.TeamContextFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 요청 팀 필터 설정
+ *
+ * 샤딩이 꺼져 있어도 건다. 팀은 WIG 의 team 컬럼과 목록 범위이기도 하므로 샤드가 하나여도 팀별 목록은 그대로다.
+ */
+@Configuration
+public class TeamContextConfig {
+
+    @Bean
+    FilterRegistrationBean<TeamContextFilter> teamContextFilter(WigProperties wigProperties, ShardRouter shardRouter) {
+        FilterRegistrationBean<TeamContextFilter> registration = new FilterRegistrationBean<>(
+                new TeamContextFilter(wigProperties.getSharding().getTeamHeader(), shardRouter));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,28 @@
+package Focus._dx.config;
+
+import Focus._dx.filter.ConcurrencyLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 가상 스레드 실행 모드 설정
+ *
+ * spring.threads.virtual.enabled=true 이면 Tomcat 이 요청마다 가상 스레드로 컨트롤러/서비스를 실행한다.
+ * 이때 스레드 수로는 더 이상 부하가 제한되지 않으므로, 실제 상한은 JDBC 커넥션 풀이 되도록
+ * - 커넥션 획득 대기는 spring.datasource.hikari.connection-timeout 으로 짧게 끊고 (초과 시 503, GlobalExceptionHandler)
+ * - 그 앞의 대기열 자체도 ConcurrencyLimitFilter 로 제한한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(WigProperties wigProperties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(wigProperties.getConcurrency()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package Focus._dx.config;
+
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.domain.Wig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * wig_id_generator 값을 기존 wig.id 최대값 뒤로 맞춘다.
+ *
+ * 예전 IDENTITY(auto_increment)로 쌓인 행이 있는 DB에서 테이블 생성기를 처음 쓰면 1부터 다시 나눠줘서 PK가 충돌한다.
+ * 시작 시 한 번, 생성기 값이 max(id) 보다 뒤에 있지 않으면 끌어올린다. 이미 앞서 있으면 아무것도 하지 않는다.
+ *
+ * 샤딩이 켜져 있으면 샤드마다 자기 id 구간([s × ID_SPACE, (s+1) × ID_SPACE)) 안의 max(id) 뒤로 맞춘다.
+ * 빈 샤드도 구간의 시작으로 끌어올려서, 샤드끼리 같은 id 를 나눠주지 않게 한다.
+ *
+ * @DependsOn("entityManagerFactory") : 스키마 생성(ddl-auto)이 끝난 뒤에 실행되도록
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class WigIdGeneratorAligner implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!shardRouter.isSharded()) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from wig", Long.class);
+            align(jdbcTemplate, maxId == null ? 0 : maxId, 0);
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            JdbcTemplate shardTemplate = new JdbcTemplate(shardRouter.dataSource(shard));
+            long floor = shard * ShardRouter.ID_SPACE;
+            Long maxId = shardTemplate.queryForObject(
+                    "select coalesce(max(id), 0) from wig where id >= ? and id < ?", Long.class,
+                    floor, floor + ShardRouter.ID_SPACE);
+            align(shardTemplate, Math.max(maxId == null ? 0 : maxId, floor), shard);
+        }
+    }
+
+    private void align(JdbcTemplate template, long maxId, int shard) {
+        if (maxId == 0) {
+            return;
+        }
+        // pooled 최적화기는 읽은 값을 구간의 끝으로 쓰므로, 한 구간만큼 더 띄워야 첫 구간도 max(id) 뒤에서 시작한다
+        long target = maxId + Wig.ID_ALLOCATION_SIZE + 1;
+        int updated = template.update(
+                "update wig_id_generator set next_val = ? where sequence_name = 'wig' and next_val < ?",
+                target, target);
+        if (updated == 0) {
+            Integer rows = template.queryForObject(
+                    "select count(*) from wig_id_generator where sequence_name = 'wig'", Integer.class);
+            if (rows == null || rows == 0) {
+                template.update(
+                        "insert into wig_id_generator (sequence_name, next_val) values ('wig', ?)", target);
+                updated = 1;
+            }
+        }
+        if (updated > 0) {
+            log.info("WIG id 생성기 값 조정 - 샤드: {}, max(id): {}, next_val: {}", shard, maxId, target);
+        }
+    }
+}
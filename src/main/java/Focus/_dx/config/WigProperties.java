@@ -0,0 +1,451 @@
+package Focus._dx.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * application.yml 의 wig.* 설정을 묶어서 받는 클래스
+ * 기능별로 중첩 클래스를 하나씩 두고, 서비스/컨트롤러는 이 객체만 주입받아 쓴다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "wig")
+public class WigProperties {
+
+    private final Pagination pagination = new Pagination();
+    private final Search search = new Search();
+    private final Batch batch = new Batch();
+    private final Concurrency concurrency = new Concurrency();
+    private final Metrics metrics = new Metrics();
+    private final Ingest ingest = new Ingest();
+    private final Replica replica = new Replica();
+    private final Stream stream = new Stream();
+    private final ListCache listCache = new ListCache();
+    private final IdFilter idFilter = new IdFilter();
+    private final Admission admission = new Admission();
+    private final Measure measure = new Measure();
+    private final Lookup lookup = new Lookup();
+    private final Transfer transfer = new Transfer();
+    private final Sharding sharding = new Sharding();
+    private final Logging logging = new Logging();
+
+    /**
+     * 목록 조회(GET /api/wigs) 페이지네이션 설정
+     */
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        /** size 파라미터가 없을 때 쓰는 기본 페이지 크기 */
+        private int defaultSize = 20;
+
+        /** 한 요청이 가져갈 수 있는 최대 페이지 크기. 요청당 메모리 상한을 여기서 결정한다 */
+        private int maxSize = 100;
+
+        /** 예전처럼 전체 목록을 한 번에 돌려주는 /api/wigs/all 허용 여부. 기본은 막아둔다 */
+        private boolean unboundedEnabled = false;
+    }
+
+    /**
+     * 인메모리 검색 색인(GET /api/wigs/search) 설정
+     */
+    @Getter
+    @Setter
+    public static class Search {
+
+        /** 시작 시 Repository에서 전체 재색인 여부 */
+        private boolean rebuildOnStartup = true;
+
+        /** 재색인 때 한 번에 읽어오는 행 수 */
+        private int rebuildBatchSize = 1000;
+
+        /** goal 에서 적중한 토큰의 가중치 (description 은 1) */
+        private float goalBoost = 2.0f;
+
+        private int defaultSize = 20;
+
+        private int maxSize = 100;
+
+        /** 건너뛸 수 있는 최대 결과 수 (page × size). 깊은 페이지는 힙이 그만큼 커지므로 막는다 */
+        private int maxOffset = 10000;
+    }
+
+    /**
+     * 일괄 생성/수정/삭제(/api/wigs/batch) 설정
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /** 한 트랜잭션으로 커밋하는 항목 수. hibernate.jdbc.batch_size 의 배수로 두면 마지막 JDBC 배치가 꽉 찬다 */
+        private int chunkSize = 500;
+
+        /** 한 요청에 담을 수 있는 최대 항목 수 */
+        private int maxItems = 10000;
+    }
+
+    /**
+     * 가상 스레드 모드에서 동시에 처리하는 /api 요청 수 제한
+     * 가상 스레드는 개수 제한이 없어서, 커넥션 풀 앞에 대기열이 무한히 쌓이지 않도록 앞단에서 끊는다.
+     */
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        /** 동시에 처리 중일 수 있는 요청 수. 커넥션 풀 크기보다 넉넉하게 (캐시 적중 요청은 커넥션을 안 쓴다) */
+        private int maxInFlight = 64;
+
+        /** 자리가 없을 때 기다리는 최대 시간. 넘으면 바로 503 */
+        private Duration acquireTimeout = Duration.ofMillis(100);
+    }
+
+    /**
+     * 요청별 SQL 집계(SqlAccountingConfig) 설정
+     */
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        /** DataSource 프록시와 요청별 집계 필터 사용 여부 */
+        private boolean sqlAccountingEnabled = true;
+
+        /** 요청 하나의 SQL 실행 수가 이 값을 넘으면 wig.request.sql.flagged 를 올리고 경고 로그를 남긴다 */
+        private int sqlStatementThreshold = 10;
+    }
+
+    /**
+     * 쓰기 지연(write-behind) 생성 모드 설정 (WigIngestQueue)
+     * 켜면 POST /api/wigs 가 요청마다 커밋하지 않고 큐에 넣고, 쓰기 스레드가 여러 건을 한 트랜잭션으로 커밋한다.
+     */
+    @Getter
+    @Setter
+    public static class Ingest {
+
+        /** 쓰기 지연 모드 사용 여부. 끄면 예전처럼 요청마다 createWig 트랜잭션 */
+        private boolean enabled = false;
+
+        /** 커밋을 기다리는 항목 수 상한. 꽉 차면 503 (메모리에만 있는 미커밋 항목 수의 상한이기도 하다) */
+        private int queueCapacity = 10000;
+
+        /** 큐에 자리가 없을 때 기다리는 최대 시간. 넘으면 바로 503 */
+        private Duration enqueueTimeout = Duration.ofMillis(50);
+
+        /** 한 트랜잭션으로 커밋하는 최대 항목 수 (hibernate.jdbc.batch_size 의 배수) */
+        private int maxBatchSize = 500;
+
+        /** 첫 항목이 들어온 뒤 같은 커밋에 태울 항목을 더 기다리는 시간. 길수록 커밋 수는 줄고 지연은 늘어난다 */
+        private Duration maxLinger = Duration.ofMillis(5);
+
+        /** Prefer: respond-async 가 없는 요청이 커밋을 기다리는 최대 시간. 넘으면 201 대신 202 + 토큰 */
+        private Duration awaitTimeout = Duration.ofSeconds(2);
+
+        /** 처리 결과(토큰)를 조회할 수 있는 기간 */
+        private Duration ticketRetention = Duration.ofMinutes(10);
+
+        /** 종료 시 큐에 남은 항목을 커밋하며 기다리는 최대 시간 */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 복제본(replica)으로 보내는 설정 (ReplicaDataSourceConfig)
+     * 쓰기와 읽기/쓰기 트랜잭션은 spring.datasource(primary)로 간다.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        /** 복제본 라우팅 사용 여부. 끄면 모든 트랜잭션이 spring.datasource 하나로 간다 */
+        private boolean enabled = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        /** 복제본 커넥션 풀 크기 */
+        private int maximumPoolSize = 10;
+
+        /** 복제본 커넥션 획득 최대 대기. 넘으면 그 요청은 primary 로 보내고 복제본을 사용 불가로 표시한다 */
+        private Duration connectionTimeout = Duration.ofMillis(500);
+
+        /** 클라이언트가 쓰기를 한 뒤 이 시간 동안은 그 클라이언트의 읽기도 primary 로 보낸다 (read-your-writes) */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /** 복제 지연이 이보다 크면 복제본을 쓰지 않는다 */
+        private Duration maxLag = Duration.ofSeconds(2);
+
+        /** 복제 지연(초)을 읽는 쿼리. 비워두면 연결만 확인한다 */
+        private String lagQuery = "SHOW REPLICA STATUS";
+
+        /** lagQuery 결과에서 지연(초)이 담긴 컬럼. 값이 null 이면(복제 중단) 사용 불가 */
+        private String lagColumn = "Seconds_Behind_Source";
+
+        /** 복제본 상태(연결, 지연) 확인 주기 */
+        private Duration healthCheckInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * 변경 피드(GET /api/wigs/stream, Server-Sent Events) 설정 (WigChangeFeed)
+     */
+    @Getter
+    @Setter
+    public static class Stream {
+
+        /** 동시에 열어둘 수 있는 구독 수. 넘으면 503 */
+        private int maxSubscribers = 5000;
+
+        /** Last-Event-ID 로 이어받을 수 있도록 보관하는 최근 이벤트 수. 이보다 오래 끊겼으면 reset 이벤트를 보낸다 */
+        private int bufferSize = 1024;
+
+        /** 구독자 하나에 쌓아둘 수 있는 미전송 이벤트 수. 넘으면 느린 구독자로 보고 연결을 끊는다 (재연결 시 이어받음) */
+        private int subscriberQueueSize = 256;
+
+        /** 이벤트가 없을 때 연결 유지/끊긴 연결 감지용 주석(:) 전송 주기 */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /** 연결 하나의 최대 유지 시간. 지나면 서버가 닫고 클라이언트(EventSource)는 Last-Event-ID 로 다시 붙는다 */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * 목록 응답 스냅샷 캐시 설정 (WigListSnapshotCache)
+     * GET /api/wigs, /api/wigs/all 의 직렬화된 JSON 바이트를 데이터 버전별로 보관한다.
+     */
+    @Getter
+    @Setter
+    public static class ListCache {
+
+        /** 끄면 요청마다 조회 + 직렬화 */
+        private boolean enabled = true;
+
+        /** 보관하는 스냅샷 바이트 총량 상한 (JSON + gzip). 넘으면 오래/덜 쓰인 것부터 버린다 */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /** 이 크기 이상인 스냅샷은 만들 때 gzip 본도 같이 만들어 둔다 (Accept-Encoding: gzip 요청에 그대로 보냄) */
+        private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+
+        /** 스냅샷을 만든 뒤 버리는 시간. 데이터 버전은 인스턴스마다 따로라, 다른 인스턴스의 쓰기는 이 시간 안에만 반영된다 */
+        private Duration maxStaleness = Duration.ofSeconds(5);
+    }
+
+    /**
+     * 없는 id 조회(GET /api/wigs/{id})를 DB 없이 404 로 끝내는 블룸 필터 설정 (WigIdFilter)
+     */
+    @Getter
+    @Setter
+    public static class IdFilter {
+
+        /** 끄면 모든 id 를 예전처럼 캐시/DB 에서 찾는다. 인스턴스가 여럿이면 잘못된 404 가 날 수 있어서 기본은 끔 */
+        private boolean enabled = false;
+
+        /** 필터 최소 용량. 실제 용량은 구성 시점 행 수의 두 배와 이 값 중 큰 쪽 (비트 수 = 용량 × 약 9.6, 1% 기준) */
+        private long expectedInsertions = 100_000;
+
+        /** 용량만큼 찼을 때 없는 id 를 "있을 수도 있다"고 잘못 답하는 비율. 오탐은 예전처럼 DB 조회로 끝난다 */
+        private double falsePositiveRate = 0.01;
+
+        /** 구성 때 한 번에 읽는 id 수 */
+        private int rebuildBatchSize = 10000;
+
+        /** 재구성 필요 여부(용량 초과, 삭제 누적) 확인 주기 */
+        private Duration rebuildCheckInterval = Duration.ofMinutes(1);
+
+        /** 구성 이후 삭제된 id 가 필터 항목 수의 이 비율을 넘으면 다시 만든다 (지운 id 는 필터에서 뺄 수 없다) */
+        private double maxDeletedRatio = 0.2;
+
+        /** 조건과 상관없이 다시 만드는 주기. 다른 인스턴스가 만든 id 는 길어야 이만큼(+ 확인 주기) 404 로 보일 수 있다 */
+        private Duration maxAge = Duration.ofMinutes(1);
+    }
+
+    /**
+     * /api 앞단 유입 제어 설정 (AdmissionControlFilter)
+     * 클라이언트별 요청률 제한(429)과, DB 지연에 따라 움직이는 전체 동시 처리 한도(503)
+     */
+    @Getter
+    @Setter
+    public static class Admission {
+
+        /** 끄면 요청률/동시 처리 제한 없이 모두 받는다 */
+        private boolean enabled = true;
+
+        /** 클라이언트 구분 헤더. trust-client-key-header 가 켜져 있을 때만 쓰고, 없으면 접속 주소로 구분한다 */
+        private String clientKeyHeader = "X-API-Key";
+
+        /** 앞단에서 키를 검증해 줄 때만 켠다. 꺼져 있으면 아무나 헤더를 바꿔 제한을 피할 수 있으므로 접속 주소로만 구분한다 */
+        private boolean trustClientKeyHeader = false;
+
+        /** 클라이언트 하나가 계속 보낼 수 있는 초당 요청 수 */
+        private double ratePerSecond = 100;
+
+        /** 쉬었다가 한 번에 몰아서 보낼 수 있는 요청 수 */
+        private int burst = 200;
+
+        /** 이 시간 동안 요청이 없는 클라이언트의 상태는 버린다 */
+        private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+        /** 기억하는 클라이언트 수 상한 (주소를 바꿔 가며 두드려도 메모리가 늘지 않게) */
+        private int maxClients = 100_000;
+
+        /** 동시 처리 한도 시작값 */
+        private int initialLimit = 32;
+
+        /** DB 가 아무리 느려져도 이만큼은 받는다 */
+        private int minLimit = 4;
+
+        private int maxLimit = 256;
+
+        /** DB 지연(커넥션 대기 + 사용)이 평소(최저) 지연의 몇 배까지는 한도를 줄이지 않을지 */
+        private double latencyTolerance = 2.0;
+
+        /** DB 지연을 재서 한도를 고치는 주기 */
+        private Duration sampleInterval = Duration.ofMillis(500);
+
+        /** 목록/검색 같은 대량 읽기가 쓸 수 있는 한도 비율. 나머지는 쓰기와 단건 조회 몫으로 남긴다 */
+        private double bulkReadShare = 0.7;
+    }
+
+    /**
+     * 선행/후행 지표 측정값 설정 (MeasureService)
+     */
+    @Getter
+    @Setter
+    public static class Measure {
+
+        /** POST /api/measures 한 번에 담을 수 있는 측정값 수 */
+        private int maxBatchItems = 10000;
+
+        /** 일/주 집계 구간을 나누는 시간대. 주는 월요일 시작 */
+        private ZoneId zone = ZoneId.of("Asia/Seoul");
+
+        /** 원본 측정값 구간 조회의 기본/최대 페이지 크기 */
+        private int defaultPageSize = 500;
+
+        private int maxPageSize = 5000;
+
+        /** 원본 조회에서 from 을 생략했을 때 to 로부터 거슬러 올라가는 기간 */
+        private Duration defaultWindow = Duration.ofDays(7);
+
+        /** 스코어보드 기본/최대 구간 수 (일 또는 주 단위) */
+        private int defaultPeriods = 12;
+
+        private int maxPeriods = 366;
+    }
+
+    /**
+     * id 조회 설정 (GET /api/wigs?ids=, WigLookupCoalescer)
+     */
+    @Getter
+    @Setter
+    public static class Lookup {
+
+        /** GET /api/wigs?ids= 한 번에 조회할 수 있는 id 수 */
+        private int maxIds = 100;
+
+        /** 끄면 단건 조회 캐시 미스마다 각자 DB 를 읽는다 */
+        private boolean coalesceEnabled = true;
+
+        /** 동시에 DB 로 나가는 단건 조회 수. 이를 넘는 조회는 모아서 IN 쿼리 하나로 읽는다 */
+        private int maxConcurrentQueries = 4;
+
+        /** IN 쿼리 하나에 묶는 최대 id 수 */
+        private int maxBatchSize = 100;
+
+        /** 묶음의 첫 조회 이후 같은 묶음에 태울 조회를 더 기다리는 시간 */
+        private Duration maxLinger = Duration.ofMillis(1);
+    }
+
+    /**
+     * 대량 내보내기/가져오기 설정 (GET /api/wigs/export, POST /api/wigs/import)
+     * 가져오기 트랜잭션 크기는 일괄 처리와 같은 wig.batch.chunk-size 를 쓴다.
+     */
+    @Getter
+    @Setter
+    public static class Transfer {
+
+        /** 내보내기 JDBC fetch size (MySQL 은 이 값과 상관없이 행 단위 스트리밍) */
+        private int exportFetchSize = 1000;
+
+        /** 가져오기 행 하나의 최대 글자 수. 넘는 행은 오류로 보고하고 건너뛴다 */
+        private int maxRecordLength = 16 * 1024;
+
+        /** 가져오기 응답에 담는 행별 오류 수. 넘는 오류는 개수만 센다 */
+        private int maxReportedErrors = 1000;
+    }
+
+    /**
+     * 팀(테넌트)별 샤드 설정 (ShardingConfig, ShardRouter)
+     * WIG 는 team 키를 갖고, 팀마다 정해진 샤드 하나에서 읽고 쓴다. 0번 샤드는 spring.datasource.
+     */
+    @Getter
+    @Setter
+    public static class Sharding {
+
+        /** 끄면 샤드는 spring.datasource 하나. 팀 키는 그대로 저장되고 목록 범위를 나눈다 */
+        private boolean enabled = false;
+
+        /** 요청의 팀 키 헤더. 없으면 default 팀 */
+        private String teamHeader = "X-Team-Id";
+
+        /** 1번부터의 샤드. 순서가 샤드 번호이므로 뒤에 붙이기만 하고 중간에 끼우거나 빼지 않는다 */
+        private List<Shard> shards = new ArrayList<>();
+
+        /** 다른 인스턴스가 바꾼 팀 배치(team_placement)를 다시 읽는 주기. 팀 이동은 원래 샤드의 행을 지우기 전에 이만큼 기다린다 */
+        private Duration placementRefreshInterval = Duration.ofSeconds(5);
+
+        /** 팀을 옮기기 전에 쓰기를 막고 기다리는 시간. 다른 인스턴스가 moving 을 보고, 진행 중인 쓰기가 끝나도록 다시 읽기 주기보다 길게 */
+        private Duration moveDrainTime = Duration.ofSeconds(10);
+
+        /** 팀을 옮길 때 한 번에 복사/삭제하는 WIG 수 */
+        private int moveBatchSize = 1000;
+
+        /** id 로 하는 요청을 행이 있는 샤드로 보내려고 기억해 두는 id → 팀 수 (WigShardLocator). 모르는 id 는 샤드마다 PK 조회로 찾는다 */
+        private long locatorCacheSize = 100_000;
+
+        @Getter
+        @Setter
+        public static class Shard {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            private String driverClassName;
+
+            private int maximumPoolSize = 10;
+        }
+    }
+
+    /**
+     * 서비스 호출 로그 설정 (WigOperationLogAspect, RequestIdFilter, logback-spring.xml)
+     * 호출마다 한 줄 key/value 이벤트(operation, wigId, durationMs, outcome)를 남긴다.
+     * 실패와 느린 호출은 모두, 성공한 조회는 read-sample-rate 만큼만 남긴다.
+     */
+    @Getter
+    @Setter
+    public static class Logging {
+
+        /** 성공한 조회(get*, search*)를 남기는 비율 (0 ~ 1). 0이면 조회는 실패/느린 것만 */
+        private double readSampleRate = 0.01;
+
+        /** 이보다 오래 걸린 호출은 표본과 상관없이 WARN 으로 남긴다 */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        /** 요청 상관 id 헤더. 받은 값(없으면 새로 만든 값)을 MDC requestId 와 응답 헤더에 넣는다 */
+        private String requestIdHeader = "X-Request-Id";
+
+        /** 비동기 콘솔 appender 의 링 버퍼 크기 (logback-spring.xml 에서 읽는다). 가득 차면 기다리지 않고 버린다 */
+        private int asyncQueueSize = 8192;
+    }
+}
@@ -0,0 +1,85 @@
+package Focus._dx.controller;
+
+import Focus._dx.domain.MeasureType;
+import Focus._dx.domain.RollupGranularity;
+import Focus._dx.dto.MeasureIngestResponseDto;
+import Focus._dx.dto.MeasurePointPageResponseDto;
+import Focus._dx.dto.MeasurePointRequestDto;
+import Focus._dx.dto.ScoreboardResponseDto;
+import Focus._dx.service.MeasureService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 선행/후행 지표 측정값 API
+ *
+ * - 수집 : POST /api/measures
+ * - 원본 조회 : GET /api/wigs/{id}/measures/{type}
+ * - 스코어보드 : GET /api/wigs/{id}/scoreboard
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class MeasureController {
+
+    private final MeasureService measureService;
+
+    /**
+     * 측정값 일괄 수집
+     * POST /api/measures
+     *
+     * 항목별로 검증해서 통과한 것만 저장한다 (WIG 일괄 생성과 같은 방식). recordedAt 을 생략하면 받은 시각.
+     *
+     * @param requestDtos 측정값 목록 (JSON 배열)
+     * @return 200 OK + 저장/거절 수와 거절된 항목의 이유
+     */
+    @PostMapping("/measures")
+    public ResponseEntity<MeasureIngestResponseDto> recordMeasures(@RequestBody List<MeasurePointRequestDto> requestDtos) {
+        return ResponseEntity.ok(measureService.record(requestDtos));
+    }
+
+    /**
+     * 원본 측정값 구간 조회 (커서 페이지)
+     * GET /api/wigs/1/measures/LEAD?from=2026-01-01T00:00:00Z&to=2026-02-01T00:00:00Z&size=500
+     * 다음 페이지: GET /api/wigs/1/measures/LEAD?from=...&to=...&cursor={nextCursor}
+     *
+     * @param from   구간 시작 (포함, ISO-8601). 생략하면 to - wig.measure.default-window
+     * @param to     구간 끝 (제외). 생략하면 지금. 다음 페이지는 첫 페이지의 끝이 커서에 담겨 이어진다
+     * @param cursor 이전 응답의 nextCursor
+     * @param size   페이지 크기 (최대 wig.measure.max-page-size)
+     * @return 200 OK + 시각 순 측정값 (WIG 가 없으면 404)
+     */
+    @GetMapping("/wigs/{id}/measures/{type}")
+    public ResponseEntity<MeasurePointPageResponseDto> getMeasures(
+            @PathVariable Long id,
+            @PathVariable MeasureType type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(measureService.getPoints(id, type, from, to, cursor, size));
+    }
+
+    /**
+     * 스코어보드
+     * GET /api/wigs/1/scoreboard?granularity=WEEK&periods=12
+     *
+     * 최근 periods 개 구간(오늘이 속한 구간 포함)의 선행/후행 집계와 지표별 최근 측정값.
+     * 미리 쌓아둔 집계만 읽으므로 측정값 이력이 길어져도 응답 비용은 같다.
+     *
+     * @param granularity DAY 또는 WEEK (월요일 시작)
+     * @param periods     구간 수 (최대 wig.measure.max-periods)
+     * @return 200 OK + 스코어보드 (WIG 가 없으면 404)
+     */
+    @GetMapping("/wigs/{id}/scoreboard")
+    public ResponseEntity<ScoreboardResponseDto> getScoreboard(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "WEEK") RollupGranularity granularity,
+            @RequestParam(required = false) Integer periods) {
+        return ResponseEntity.ok(measureService.getScoreboard(id, granularity, periods));
+    }
+}
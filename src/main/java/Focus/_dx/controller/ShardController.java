@@ -0,0 +1,66 @@
+package Focus._dx.controller;
+
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.dto.TeamMoveResponseDto;
+import Focus._dx.dto.TeamPlacementDto;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.service.ShardRebalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 팀 샤드 배치 API (wig.sharding.enabled=true 일 때만 쓸 수 있고, 꺼져 있으면 404)
+ *
+ * - 배치 조회 : GET /api/shards/teams/{team}
+ * - 팀 이동 : POST /api/shards/teams/{team}/move?to=1
+ */
+@RestController
+@RequestMapping("/api/shards")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final ShardRouter shardRouter;
+    private final ShardRebalanceService shardRebalanceService;
+
+    /**
+     * 팀의 지금 샤드와 해시 배치
+     *
+     * @return 200 OK + 배치 (팀 키 형식이 틀리면 400)
+     */
+    @GetMapping("/teams/{team}")
+    public ResponseEntity<TeamPlacementDto> getPlacement(@PathVariable String team) {
+        checkSharded(team);
+        ShardRouter.Placement placement = shardRouter.placementOf(team);
+        int hashShard = ShardRouter.hashShard(team, shardRouter.getShardCount());
+        return ResponseEntity.ok(new TeamPlacementDto(team, placement.shard(), hashShard,
+                placement.assigned(), placement.moving()));
+    }
+
+    /**
+     * 팀의 WIG 와 측정값을 다른 샤드로 옮긴다. 끝날 때까지 그 팀의 쓰기는 503 이다.
+     *
+     * @param to 옮겨갈 샤드 번호
+     * @return 200 OK + 옮긴 행 수 (없는 샤드이거나 이미 그 샤드면 400, 이미 옮기는 중이면 409)
+     */
+    @PostMapping("/teams/{team}/move")
+    public ResponseEntity<TeamMoveResponseDto> moveTeam(@PathVariable String team, @RequestParam int to) {
+        checkSharded(team);
+        if (shardRouter.isMoving(team)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 옮기는 중인 팀입니다: " + team);
+        }
+        return ResponseEntity.ok(shardRebalanceService.moveTeam(team, to));
+    }
+
+    private void checkSharded(String team) {
+        if (!shardRouter.isSharded()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "샤딩이 꺼져 있습니다 (wig.sharding.enabled)");
+        }
+        if (!TeamContext.isValid(team)) {
+            throw new WigBadRequestException("팀 키는 영문, 숫자, '.', '_', '-' 로 64자 이내여야 합니다");
+        }
+    }
+}
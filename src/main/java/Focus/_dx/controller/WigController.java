@@ -1,15 +1,51 @@
 package Focus._dx.controller;
 
+import Focus._dx.cache.WigIdFilter;
+import Focus._dx.cache.WigListSnapshotCache;
+import Focus._dx.config.SmileFormatConfig;
+import Focus._dx.config.WigProperties;
+import Focus._dx.dto.WigBatchResponseDto;
+import Focus._dx.dto.WigBatchUpdateItemDto;
+import Focus._dx.dto.WigImportResponseDto;
+import Focus._dx.dto.WigIngestTicketDto;
+import Focus._dx.dto.WigMultiGetResponseDto;
+import Focus._dx.dto.WigPageResponseDto;
 import Focus._dx.dto.WigRequestDto;
 import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSearchResponseDto;
+import Focus._dx.dto.WigSortType;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.ingest.WigIngestQueue;
+import Focus._dx.ingest.WigIngestTicket;
+import Focus._dx.service.WigBatchService;
 import Focus._dx.service.WigService;
+import Focus._dx.service.WigTransferService;
+import Focus._dx.stream.WigChangeFeed;
+import Focus._dx.transfer.WigTransferFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 
 /**
@@ -23,61 +59,301 @@ import java.util.List;
  * @RestController = @Controller + @ResponseBody
  * @RequestMapping: 모든 메서드의 기본 경로를 /api/wigs로 설정
  * @RequiredArgsConstructor: final 필드 생성자 주입 (서비스 필드)
+ *
+ * 팀: 요청 헤더 X-Team-Id(wig.sharding.team-header, 없으면 default)가 요청 팀이다 (TeamContextFilter).
+ * 생성/가져오기는 그 팀의 WIG 로 만들고, 목록/전체/내보내기는 그 팀 것만 보여준다.
+ * id 로 하는 조회/수정/삭제(일괄 포함)는 요청 팀이 아니라 WIG 가 있는 샤드로 가고 (WigShardLocator), 검색과 변경 피드는 팀과 상관없다.
  */
 @RestController
 @RequestMapping("/api/wigs")
 @RequiredArgsConstructor
 public class WigController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final WigService wigService; // 직접 Repository를 쓰지 않고, WigService에게 일을 맡김.
+    private final WigBatchService wigBatchService;
+    private final WigTransferService wigTransferService;
+    private final WigProperties wigProperties;
+    private final ObjectProvider<WigIngestQueue> wigIngestQueue; // wig.ingest.enabled=true 일 때만 빈이 있다
+    private final WigChangeFeed wigChangeFeed;
+    private final WigListSnapshotCache wigListSnapshotCache;
+    private final WigIdFilter wigIdFilter;
 
     /**
      * WIG 생성
      * POST /api/wigs
      *
+     * 쓰기 지연 모드(wig.ingest.enabled)에서는 요청을 큐에 넣고 다른 요청들과 한 트랜잭션으로 커밋한다.
+     * - 기본 : 묶음 커밋이 끝날 때까지 기다렸다가 201 (wig.ingest.await-timeout 을 넘기면 202)
+     * - Prefer: respond-async : 커밋을 기다리지 않고 바로 202 + 토큰. GET /api/wigs/ingest/{token} 으로 결과 확인
+     *
      * @param requestDto 생성할 WIG 정보
-     * @return 201 Created + 생성된 WIG 정보
+     * @param prefer     Prefer 요청 헤더 (RFC 7240)
+     * @return 201 Created + 생성된 WIG 정보, 또는 202 Accepted + 처리 상태 (큐가 꽉 차면 503)
      */
     @PostMapping
-    public ResponseEntity<WigResponseDto> createWig(
-            @RequestBody @Valid WigRequestDto requestDto) {
+    public ResponseEntity<?> createWig(
+            @RequestBody @Valid WigRequestDto requestDto,
+            @RequestHeader(value = PREFER, required = false) String prefer,
+            WebRequest webRequest) {
         // @RequestBody → HTTP 요청 바디(JSON)를 WigRequestDto로 변환. (역직렬화)
         // @Valid → DTO에 있는 @NotBlank, @Size 등을 자동 검사.
         //          검증 실패 시 Controller까지 가지 않고 MethodArgumentNotValidException 발생 → GlobalExceptionHandler에서 처리.
 
+        WigIngestQueue ingestQueue = wigIngestQueue.getIfAvailable();
+        if (ingestQueue != null) {
+            return ingest(ingestQueue, requestDto, prefer, webRequest);
+        }
+
         WigResponseDto response = wigService.createWig(requestDto); //Service에게 "이 DTO로 WIG 하나 만들어줘"라고 요청
+        return created(response, webRequest);
+    }
+
+    /**
+     * 쓰기 지연 생성 요청 처리 상태 조회
+     * GET /api/wigs/ingest/{token}
+     *
+     * @param token 202 응답으로 받은 토큰
+     * @return 200 OK + QUEUED / COMMITTED / FAILED (모르는 토큰이거나 보관 기간이 지났으면 404 Not Found)
+     */
+    @GetMapping("/ingest/{token}")
+    public ResponseEntity<WigIngestTicketDto> getIngestStatus(@PathVariable String token) {
+        WigIngestTicket ticket = Optional.ofNullable(wigIngestQueue.getIfAvailable())
+                .flatMap(queue -> queue.find(token))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "처리 상태를 찾을 수 없습니다: " + token));
+        return ResponseEntity.ok(ticket.toDto());
+    }
 
+    private ResponseEntity<?> ingest(WigIngestQueue ingestQueue, WigRequestDto requestDto, String prefer, WebRequest webRequest) {
+        WigIngestTicket ticket = ingestQueue.submit(requestDto); // 큐가 꽉 차면 WigIngestRejectedException → 503
+
+        if (prefer == null || !prefer.contains(RESPOND_ASYNC)) {
+            WigResponseDto committed = ticket.await(wigProperties.getIngest().getAwaitTimeout()); // 커밋 실패면 예외 → 500
+            if (committed != null) {
+                return created(committed, webRequest);
+            }
+        }
+        return ResponseEntity
+                .accepted() // 202 Accepted: 접수만 됨. 커밋 전이라 서버가 비정상 종료되면 유실될 수 있다
+                .location(URI.create("/api/wigs/ingest/" + ticket.getToken()))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(ticket.toDto());
+    }
+
+    /**
+     * 목록 스냅샷을 그대로 응답 본문으로 (Jackson 을 거치지 않는다)
+     * gzip 본이 있고 클라이언트가 받을 수 있으면 미리 압축해 둔 바이트를 보낸다.
+     * 압축본의 ETag 는 약한(W/) ETag 로 바꿔서, 같은 If-None-Match 로 304 는 받되 원본과는 다른 표현임을 나타낸다.
+     */
+    private ResponseEntity<byte[]> snapshotResponse(WigListSnapshotCache.Snapshot snapshot, WebRequest webRequest) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            if (snapshot.eTag() != null) {
+                response.eTag("W/" + snapshot.eTag());
+            }
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        if (snapshot.eTag() != null) {
+            response.eTag(snapshot.eTag());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * 응답이 Smile 로 나갈 요청인지. 목록 스냅샷은 JSON 바이트라서 이런 요청은 스냅샷을 건너뛰고 변환기로 직렬화한다
+     *
+     * 변환기 선택과 같은 순서로 본다. Accept 를 q 값(같으면 더 구체적인 쪽) 순으로 정렬하고, 처음 맞는 항목이
+     * JSON 도 받는 범위(모든 형식, application/* 포함)면 JSON 변환기가 앞이라 JSON, Smile 만 받는 항목이면 Smile.
+     * "application/json, application/x-jackson-smile;q=0.1" 처럼 Smile 을 덜 원하는 요청은 JSON 이다. q=0 은 받지 않는다는 뜻이라 건너뛴다.
+     */
+    private static boolean acceptsSmile(WebRequest webRequest) {
+        String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(List.of(accept)));
+            MimeTypeUtils.sortBySpecificity(accepted); // MediaType 은 q 값을 먼저 비교한다
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            return false; // 변환기 선택도 실패해서 406 이 된다
+        }
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.includes(SmileFormatConfig.APPLICATION_SMILE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<WigResponseDto> created(WigResponseDto response, WebRequest webRequest) {
         return ResponseEntity
                 .status(HttpStatus.CREATED) // 201 Created
+                .eTag(WigETags.of(response, acceptsSmile(webRequest))) // 이후 조건부 GET/PUT/DELETE 에 쓸 버전
+                .varyBy(HttpHeaders.ACCEPT) // JSON 또는 Smile
                 .body(response); //  생성된 WIG 정보(WigResponseDto)를 JSON으로 리턴.
     }
 
     /**
-     * 전체 WIG 목록 조회
-     * GET /api/wigs
+     * WIG 목록 조회 (커서 기반 페이지네이션)
+     * GET /api/wigs?size=20&sort=ID_ASC&goalPrefix=운동&cursor=...
      *
-     * @return 200 OK + WIG 목록
+     * @param cursor     이전 응답의 nextCursor. 첫 페이지는 생략
+     * @param size       페이지 크기 (상한 wig.pagination.max-size)
+     * @param sort       ID_ASC(기본), ID_DESC, GOAL_ASC, GOAL_DESC
+     * @param goalPrefix goal 접두사 필터
+     * @param allTeams   true 면 요청 팀이 아니라 모든 팀의 목록 (샤딩이 켜져 있으면 ID_ASC, ID_DESC 만 가능, 아니면 400)
+     * @return 200 OK + 한 페이지 분량의 WIG와 다음 커서 (If-None-Match 가 일치하면 304 Not Modified, 바디 없음)
      */
     @GetMapping
-    public ResponseEntity<List<WigResponseDto>> getAllWigs() {
+    public ResponseEntity<?> getWigs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "ID_ASC") WigSortType sort,
+            @RequestParam(required = false) String goalPrefix,
+            @RequestParam(defaultValue = "false") boolean allTeams,
+            WebRequest webRequest) {
+        if (wigProperties.getListCache().isEnabled() && !acceptsSmile(webRequest)) {
+            // 마지막 쓰기 이후 같은 요청이 있었으면 조회/직렬화 없이 만들어 둔 바이트를 그대로 보낸다
+            // If-None-Match 비교는 응답 ETag(압축본이면 W/)로 HttpEntityMethodProcessor 가 한다
+            return snapshotResponse(wigListSnapshotCache.getPage(cursor, size, sort, goalPrefix, allTeams, WigETags::of), webRequest);
+        }
+
+        WigPageResponseDto page = wigService.getWigs(cursor, size, sort, goalPrefix, allTeams);
+        String eTag = WigETags.of(page, acceptsSmile(webRequest));
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 + ETag 헤더만. JSON 직렬화를 건너뛴다
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(page); // JSON 또는 Smile (Accept)
+    }
+
+    /**
+     * 여러 id 한 번에 조회
+     * GET /api/wigs?ids=1,2,3
+     *
+     * id 마다 GET /api/wigs/{id} 를 보내는 대신 한 요청으로 읽는다. 캐시에 없는 id 만 IN 쿼리 한 번으로 읽는다.
+     * ids 가 있으면 목록 조회(cursor/size/sort) 대신 이쪽으로 온다.
+     *
+     * @param ids 조회할 id 목록 (쉼표 구분, 최대 wig.lookup.max-ids 개)
+     * @return 200 OK + 찾은 WIG(요청 순서) + 없는 id 목록
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<WigMultiGetResponseDto> getWigsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(wigService.getWigsByIds(ids));
+    }
+
+    /**
+     * 전체 WIG 목록 조회 (예전 방식, 명시적으로 켰을 때만 사용)
+     * GET /api/wigs/all
+     *
+     * 테이블 전체를 한 번에 메모리에 올리므로 wig.pagination.unbounded-enabled=true 일 때만 열린다.
+     *
+     * @return 200 OK + WIG 목록 (꺼져 있으면 404 Not Found)
+     */
+    @GetMapping("/all")
+    public ResponseEntity<?> getAllWigs(WebRequest webRequest) {
+        if (!wigProperties.getPagination().isUnboundedEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "전체 목록 조회가 비활성화되어 있습니다. 커서 기반 GET /api/wigs를 사용하세요");
+        }
+        if (wigProperties.getListCache().isEnabled() && !acceptsSmile(webRequest)) {
+            return snapshotResponse(wigListSnapshotCache.getAll(), webRequest);
+        }
         List<WigResponseDto> wigs = wigService.getAllWigs(); // Service가 Repository에서 전체 목록 찾아서 List<WigResponseDto>로 변환.
         return ResponseEntity.ok(wigs); // 상태코드: 200 OK,  바디: WIG 리스트(JSON 배열)
     }
 
+    /**
+     * 요청 팀의 WIG 전체 내보내기 (백업, 환경 간 이전)
+     * GET /api/wigs/export?format=NDJSON|CSV
+     *
+     * DB 커서로 읽는 대로 응답에 써서 테이블 크기와 상관없이 메모리가 일정하다. 한 트랜잭션에서 읽으므로 한 시점의 스냅샷이다.
+     * 요청 스레드에서 끝까지 쓴다 (비동기 요청 타임아웃에 걸리지 않게). Accept-Encoding: gzip 이면 압축해서 보낸다.
+     *
+     * @param format NDJSON(기본, 한 줄에 JSON 객체 하나) 또는 CSV(헤더 id,goal,description,version)
+     */
+    @GetMapping("/export")
+    public void exportWigs(@RequestParam(defaultValue = "NDJSON") WigTransferFormat format,
+                           HttpServletResponse response) throws IOException {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("wigs." + format.getExtension()).build().toString());
+        wigTransferService.exportWigs(format, response.getOutputStream());
+    }
+
+    /**
+     * WIG 가져오기
+     * POST /api/wigs/import (Content-Type: text/csv 또는 application/x-ndjson, Content-Encoding: gzip 가능)
+     *
+     * 본문을 한 행씩 읽어서 WigRequestDto 규칙으로 검증하고, 통과한 행은 요청 팀의 WIG 로 wig.batch.chunk-size 개씩 커밋한다.
+     * 본문 전체를 받아두지 않으므로 수 GB 파일도 올릴 수 있다. 내보내기 파일을 그대로 올리면 되고, id/version 은 새로 매긴다.
+     *
+     * @return 200 OK + 읽은/저장한/실패한 행 수와 줄 번호별 오류 (형식을 알 수 없거나 CSV 헤더에 goal 이 없으면 400)
+     */
+    @PostMapping("/import")
+    public ResponseEntity<WigImportResponseDto> importWigs(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        WigTransferFormat format = WigTransferFormat.fromContentType(contentType);
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return ResponseEntity.ok(wigTransferService.importWigs(format, in));
+    }
+
+    /**
+     * WIG 변경 피드 (Server-Sent Events)
+     * GET /api/wigs/stream
+     *
+     * 폴링 대신 연결을 열어두면 커밋된 변경이 CREATED / UPDATED / DELETED 이벤트로 온다. data 는 {type, id, wig} JSON.
+     * 끊겼다가 다시 붙을 때 EventSource 가 보내는 Last-Event-ID 이후 이벤트를 이어서 보낸다.
+     * 이어받을 수 없으면 reset 이벤트가 오므로 GET /api/wigs 로 목록을 다시 읽으면 된다.
+     *
+     * @param lastEventId 마지막으로 받은 이벤트 id (재연결 시, "<epoch>-<순번>")
+     * @return text/event-stream (구독자가 상한을 넘으면 503)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWigs(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return wigChangeFeed.subscribe(lastEventId);
+    }
+
     /**
      * ID로 WIG 조회
      * GET /api/wigs/{id}
      *
      * @param id WIG ID
-     * @return 200 OK + WIG 정보 (또는 404 Not Found)
+     * @return 200 OK + WIG 정보 + ETag (If-None-Match 가 일치하면 304 Not Modified, 없으면 404 Not Found)
      */
     @GetMapping("/{id}")   // 실제 URL: GET /api/wigs/1, GET /api/wigs/10 이런 형식.
-    public ResponseEntity<WigResponseDto> getWigById(@PathVariable Long id) {
+    public ResponseEntity<WigResponseDto> getWigById(@PathVariable Long id, WebRequest webRequest) {
         // @PathVariable Long id : {id} URL에 들어있는 값이 Long id 파라미터로 들어옴
+
+        // 필터가 확실히 없다고 하는 id 는 캐시/DB 를 거치지 않고 바로 404
+        if (!wigIdFilter.mightExist(id)) {
+            throw new WigNotFoundException(id);
+        }
+
+        // 폴링 클라이언트가 ETag 를 보내면 버전만 비교해서 304. 엔티티 전체를 읽거나 직렬화하지 않는다.
+        boolean smile = acceptsSmile(webRequest); // ETag 는 표현(JSON/Smile)마다 다르다
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(WigETags.of(wigService.getWigVersion(id), smile))) {
+            return null;
+        }
+
         WigResponseDto wig = wigService.getWigById(id);
         // Service에서 findById 호출.
         // 못 찾으면 WigNotFoundException 터짐 → GlobalExceptionHandler가 404로 변환.
-        return ResponseEntity.ok(wig);
+        return ResponseEntity.ok().eTag(WigETags.of(wig, smile)).varyBy(HttpHeaders.ACCEPT).body(wig);
         // 200 OK + 단건(single) WIG DTO 반환.
     }
 
@@ -87,21 +363,27 @@ public class WigController {
      *
      * @param id 수정할 WIG ID
      * @param requestDto 수정할 내용
-     * @return 200 OK + 수정된 WIG 정보
+     * @param ifMatch 마지막으로 받은 ETag. 보내면 그 사이 다른 요청이 수정했을 때 덮어쓰지 않고 412 Precondition Failed
+     * @return 200 OK + 수정된 WIG 정보 + 새 ETag
      */
     @PutMapping("/{id}")
     public ResponseEntity<WigResponseDto> updateWig(
             @PathVariable Long id,
-            @RequestBody @Valid WigRequestDto requestDto) {
+            @RequestBody @Valid WigRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            WebRequest webRequest) {
 
-        WigResponseDto updated = wigService.updateWig(id, requestDto);
+        WigResponseDto updated = wigService.updateWig(id, requestDto, WigETags.parseIfMatch(ifMatch));
         /*
         Service가
             해당 WIG 조회 (없으면 예외 → 404)
             필드 수정
             트랜잭션 + JPA 변경감지로 UPDATE 수행
          */
-        return ResponseEntity.ok(updated); // 수정된 결과를 200 OK로 응답.
+        return ResponseEntity.ok()
+                .eTag(WigETags.of(updated, acceptsSmile(webRequest)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updated); // 수정된 결과를 200 OK로 응답.
     }
 
     /**
@@ -109,11 +391,14 @@ public class WigController {
      * DELETE /api/wigs/{id}
      *
      * @param id 삭제할 WIG ID
+     * @param ifMatch 마지막으로 받은 ETag. 다르면 412 Precondition Failed
      * @return 204 No Content
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteWig(@PathVariable Long id) {
-        wigService.deleteWig(id);
+    public ResponseEntity<Void> deleteWig(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        wigService.deleteWig(id, WigETags.parseIfMatch(ifMatch));
         /*
         Service가 존재 여부 확인 후 삭제.
         존재하지 않으면 WigNotFoundException → 404 응답.
@@ -122,13 +407,60 @@ public class WigController {
     }
 
     /**
-     * 추가 기능 예시: 키워드 검색
-     * GET /api/wigs/search?keyword=운동
+     * WIG 일괄 생성
+     * POST /api/wigs/batch
+     *
+     * 항목별로 검증해서 통과한 것만 저장한다. 리스트 전체에 @Valid 를 걸면 하나만 틀려도 전부 거절되므로 서비스에서 항목 단위로 검증한다.
+     *
+     * @param requestDtos 생성할 WIG 목록 (JSON 배열)
+     * @return 200 OK + 항목별 결과 (요청 순서대로)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<WigBatchResponseDto> createWigs(@RequestBody List<WigRequestDto> requestDtos) {
+        return ResponseEntity.ok(wigBatchService.createWigs(requestDtos));
+    }
+
+    /**
+     * WIG 일괄 수정
+     * PUT /api/wigs/batch
+     *
+     * @param requestDtos 수정할 WIG 목록. 각 항목에 id 필수
+     * @return 200 OK + 항목별 결과 (없는 id는 NOT_FOUND)
      */
-    // @GetMapping("/search")
-    // public ResponseEntity<List<WigResponseDto>> searchWigs(
-    //         @RequestParam String keyword) {
-    //     List<WigResponseDto> wigs = wigService.searchWigs(keyword);
-    //     return ResponseEntity.ok(wigs);
-    // }
+    @PutMapping("/batch")
+    public ResponseEntity<WigBatchResponseDto> updateWigs(@RequestBody List<WigBatchUpdateItemDto> requestDtos) {
+        return ResponseEntity.ok(wigBatchService.updateWigs(requestDtos));
+    }
+
+    /**
+     * WIG 일괄 삭제
+     * DELETE /api/wigs/batch
+     *
+     * @param ids 삭제할 WIG id 목록 (JSON 배열)
+     * @return 200 OK + 항목별 결과 (없는 id는 NOT_FOUND)
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<WigBatchResponseDto> deleteWigs(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(wigBatchService.deleteWigs(ids));
+    }
+
+    /**
+     * 키워드 검색
+     * GET /api/wigs/search?keyword=운동&page=0&size=20
+     *
+     * goal/description 에서 관련도 순으로 찾는다. 인메모리 색인에서 처리하므로 DB를 조회하지 않는다.
+     *
+     * @param keyword 검색어 (한 글자부터 가능)
+     * @param page    0부터 시작하는 페이지 번호
+     * @param size    페이지 크기
+     * @return 200 OK + 검색 결과 페이지
+     */
+    @GetMapping("/search")
+    public ResponseEntity<WigSearchResponseDto> searchWigs(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        WigSearchResponseDto result = wigService.searchWigs(keyword, page, size);
+        return ResponseEntity.ok(result);
+    }
 }
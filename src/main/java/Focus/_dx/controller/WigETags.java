@@ -0,0 +1,89 @@
+package Focus._dx.controller;
+
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigResponseDto;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * WIG 응답의 ETag 생성/해석
+ *
+ * - 단건 : "버전" 그대로 (예: "3"). 수정될 때마다 버전이 오르므로 강한(strong) ETag로 쓸 수 있다
+ * - 목록 : 페이지에 담긴 (id, version) 목록과 nextCursor 로 만든 64비트 해시 (예: "p-1a2b3c...")
+ * - Smile 본문이면 끝에 -smile 을 붙인다 (예: "3-smile"). 강한 ETag 는 바이트가 같은 표현에만 같아야 하므로,
+ *   같은 버전이라도 JSON 과 Smile 이 같은 ETag 를 쓰면 캐시가 한쪽 본문을 다른 쪽 요청에 304/200 으로 돌려줄 수 있다
+ */
+final class WigETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final String SMILE_SUFFIX = "-smile";
+
+    private WigETags() {
+    }
+
+    static String of(Long version, boolean smile) {
+        return "\"" + version + (smile ? SMILE_SUFFIX : "") + "\"";
+    }
+
+    static String of(WigResponseDto wig, boolean smile) {
+        return of(wig.getVersion(), smile);
+    }
+
+    static String of(WigPageResponseDto page, boolean smile) {
+        String eTag = of(page);
+        return smile ? eTag.substring(0, eTag.length() - 1) + SMILE_SUFFIX + "\"" : eTag;
+    }
+
+    /**
+     * 목록 페이지 ETag. 본문을 직렬화하지 않고 (id, version) 만으로 계산한다 (FNV-1a)
+     */
+    static String of(WigPageResponseDto page) {
+        long hash = FNV_OFFSET;
+        for (WigResponseDto wig : page.getContent()) {
+            hash = mix(hash, wig.getId());
+            hash = mix(hash, wig.getVersion());
+        }
+        if (page.getNextCursor() != null) {
+            for (byte b : page.getNextCursor().getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ b) * FNV_PRIME;
+            }
+        }
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * If-Match 헤더를 기대 버전으로 해석
+     * - 없음 → null (조건 없음)
+     * - "*"  → null (존재하기만 하면 됨. 없는 id는 어차피 404)
+     * - "3"  → 3 (Smile 응답에서 받은 "3-smile" 도 같은 버전)
+     * 약한 ETag(W/"3"), 여러 개 나열, 형식이 다른 값은 현재 어떤 버전과도 일치할 수 없으므로 -1 (→ 412)
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return -1L;
+        }
+        String version = value.substring(1, value.length() - 1);
+        if (version.endsWith(SMILE_SUFFIX)) {
+            version = version.substring(0, version.length() - SMILE_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static long mix(long hash, Long value) {
+        long v = value != null ? value : 0L;
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (v & 0xff)) * FNV_PRIME;
+            v >>>= 8;
+        }
+        return hash;
+    }
+}
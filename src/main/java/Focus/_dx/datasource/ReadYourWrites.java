@@ -0,0 +1,46 @@
+package Focus._dx.datasource;
+
+/**
+ * 지금 요청을 primary 로 고정할지 여부 (read-your-writes)
+ *
+ * ReadYourWritesFilter 가 "방금 쓰기를 한 클라이언트"의 요청이면 요청 시작 때 현재 스레드에 표시하고,
+ * ReplicaRoutingDataSource 는 표시가 있으면 읽기 전용 트랜잭션이라도 복제본 대신 primary 커넥션을 준다.
+ * 캐시 미스 로더처럼 다른 스레드로 넘어가는 작업은 propagate() 로 감싸서 같은 표시를 넘긴다.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * 지금 스레드의 primary 고정을 다른 스레드에서 실행될 작업에 넘긴다.
+     * 고정되지 않은 요청이면 그대로 돌려준다.
+     */
+    public static Runnable propagate(Runnable task) {
+        if (!isPinned()) {
+            return task;
+        }
+        return () -> {
+            pin();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
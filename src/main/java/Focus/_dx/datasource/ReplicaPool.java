@@ -0,0 +1,113 @@
+package Focus._dx.datasource;
+
+import Focus._dx.config.WigProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 복제본 커넥션 풀과 그 상태
+ *
+ * health-check-interval 마다 복제 지연(lag-query)을 읽어서, 연결이 안 되거나 지연이 max-lag 를 넘으면 사용 불가로 표시한다.
+ * 사용 불가인 동안 ReplicaRoutingDataSource 는 읽기 전용 트랜잭션도 primary 로 보낸다.
+ * 요청 중에 커넥션 획득이 실패하면 다음 확인을 기다리지 않고 바로 사용 불가로 바꾼다 (markDown).
+ * 처음 확인이 끝나기 전에는 사용 불가로 시작한다.
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final WigProperties.Replica replica;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+
+    public ReplicaPool(HikariDataSource dataSource, WigProperties.Replica replica) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.replica = replica;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wig-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = replica.getHealthCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkNow, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * 복제본 연결과 지연을 지금 확인한다.
+     */
+    public void checkNow() {
+        Long lagSeconds;
+        try {
+            lagSeconds = readLagSeconds();
+        } catch (RuntimeException | SQLException e) {
+            update(false, "연결 실패: " + e.getMessage());
+            return;
+        }
+        if (lagSeconds == null) {
+            update(false, "복제 지연을 알 수 없음 (복제 중단)");
+        } else if (lagSeconds > replica.getMaxLag().toSeconds()) {
+            update(false, "복제 지연 " + lagSeconds + "초");
+        } else {
+            update(true, "복제 지연 " + lagSeconds + "초");
+        }
+    }
+
+    /**
+     * 요청 중 복제본 커넥션을 못 얻었을 때. 다음 확인에서 회복되면 다시 사용한다.
+     */
+    void markDown(SQLException cause) {
+        update(false, "커넥션 획득 실패: " + cause.getMessage());
+    }
+
+    private Long readLagSeconds() throws SQLException {
+        if (!StringUtils.hasText(replica.getLagQuery())) {
+            try (Connection connection = dataSource.getConnection()) {
+                return connection.isValid(1) ? 0L : null;
+            }
+        }
+        return jdbcTemplate.query(replica.getLagQuery(), rs -> {
+            if (!rs.next()) {
+                return null; // 복제 설정이 없는 서버
+            }
+            Object lag = rs.getObject(replica.getLagColumn());
+            return lag instanceof Number number ? number.longValue() : null;
+        });
+    }
+
+    private void update(boolean nowUsable, String reason) {
+        if (usable != nowUsable) {
+            if (nowUsable) {
+                log.info("복제본 사용 시작 - {}", reason);
+            } else {
+                log.warn("복제본 사용 중지, 읽기를 primary 로 보냄 - {}", reason);
+            }
+        }
+        usable = nowUsable;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        dataSource.close();
+    }
+}
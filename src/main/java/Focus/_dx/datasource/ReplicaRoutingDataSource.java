@@ -0,0 +1,92 @@
+package Focus._dx.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본, 나머지는 primary 로 보내는 DataSource
+ *
+ * 트랜잭션 매니저는 트랜잭션을 시작하면서 바로 커넥션을 얻는데, readOnly 여부는 그 뒤에야 현재 스레드에 표시된다.
+ * 그래서 LazyConnectionDataSourceProxy 로 감싸서 실제 커넥션은 첫 SQL 직전에 얻는다. 그때 readOnly 를 보고 고른다.
+ *
+ * 복제본으로 보내지 않는 경우 (→ primary)
+ * - 트랜잭션이 없거나 읽기/쓰기 트랜잭션
+ * - 방금 쓰기를 한 클라이언트의 요청 (ReadYourWrites)
+ * - 복제본이 지연되거나 내려가서 ReplicaPool 이 사용 불가로 표시한 동안
+ * - 복제본 커넥션 획득이 실패한 요청 (바로 사용 불가로 표시)
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReplicaPool replica, MeterRegistry meterRegistry) {
+        super(new Router(primary, replica, meterRegistry));
+        this.primary = primary;
+    }
+
+    /**
+     * primary 풀만 닫는다. 복제본 풀은 ReplicaPool 빈이 닫는다.
+     */
+    @Override
+    public void close() {
+        primary.close();
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final HikariDataSource primary;
+        private final ReplicaPool replica;
+        private final Counter primaryConnections;
+        private final Counter replicaConnections;
+
+        Router(HikariDataSource primary, ReplicaPool replica, MeterRegistry meterRegistry) {
+            this.primary = primary;
+            this.replica = replica;
+            this.primaryConnections = meterRegistry.counter("wig.datasource.connections", "target", "primary");
+            this.replicaConnections = meterRegistry.counter("wig.datasource.connections", "target", "replica");
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connect(DataSource::getConnection);
+        }
+
+        /**
+         * 계정을 지정한 요청도 같은 규칙으로 고른 대상 풀에 그대로 넘긴다. Hikari 풀은 SQLFeatureNotSupportedException 으로 거절한다
+         */
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connect(target -> target.getConnection(username, password));
+        }
+
+        private Connection connect(Connector connector) throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    && !ReadYourWrites.isPinned()
+                    && replica.isUsable()) {
+                try {
+                    Connection connection = connector.connect(replica.getDataSource());
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+            primaryConnections.increment();
+            return connector.connect(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource target) throws SQLException;
+    }
+}
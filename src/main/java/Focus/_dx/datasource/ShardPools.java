@@ -0,0 +1,33 @@
+package Focus._dx.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * 샤드별 커넥션 풀 (wig.sharding.enabled=true 일 때만 빈이 있다)
+ * 0번은 spring.datasource, 1번부터 wig.sharding.shards 순서.
+ * DataSource 빈으로 따로 등록하지 않는 이유는 ReplicaPool 과 같다 (SQL 집계 프록시가 라우팅 DataSource 에만 한 번 걸리게).
+ */
+public class ShardPools implements Closeable {
+
+    private final List<HikariDataSource> pools;
+
+    public ShardPools(List<HikariDataSource> pools) {
+        this.pools = List.copyOf(pools);
+    }
+
+    public int size() {
+        return pools.size();
+    }
+
+    public HikariDataSource get(int shard) {
+        return pools.get(shard);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,255 @@
+package Focus._dx.datasource;
+
+import Focus._dx.config.CacheConfig;
+import Focus._dx.config.WigProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 팀 → 샤드 배치 (wig.sharding)
+ *
+ * - 기본 배치 : 팀 키의 64비트 FNV-1a 해시를 jump consistent hash 로 샤드 수에 나눈다.
+ *              어느 인스턴스에서나 같은 팀은 같은 샤드이고, 샤드를 하나 늘려도 옮겨야 하는 팀은 약 1/N 이다
+ * - 지정 배치 : 0번 샤드의 team_placement 행이 있으면 해시 대신 그 샤드 (ShardRebalanceService 가 팀을 옮기면 생긴다).
+ *              인스턴스마다 메모리에 들고 placement-refresh-interval 마다 다시 읽는다
+ * - moving : 옮기는 중인 팀. TeamContextFilter 가 그 팀의 쓰기를 503 으로 돌려보낸다
+ *
+ * 커넥션을 얻는 순간(ShardRoutingDataSource) 현재 스레드의 샤드를 고른다. 보통은 TeamContext 의 팀 샤드이고,
+ * 모든 샤드를 훑는 작업(재구성, 여러 샤드 목록, 팀 이동)은 callOn/forEachShard 로 샤드를 직접 고정한다.
+ *
+ * 샤딩이 꺼져 있으면 샤드는 하나(0번)이고 모든 메서드가 그대로 실행만 한다.
+ */
+@Component
+@Slf4j
+public class ShardRouter implements Closeable {
+
+    /**
+     * 샤드마다 WIG id 생성기가 나눠주는 구간의 크기. s 번 샤드의 wig_id_generator 는 [s × ID_SPACE, (s+1) × ID_SPACE) 안에서만 준다.
+     * 생성기가 메모리에 받아둔 구간(pooled)은 샤드와 상관없이 모든 INSERT 가 나눠 쓰지만, 구간끼리 겹치지 않으므로 id 는 전체에서 유일하다.
+     * 그래서 id 로 캐시/블룸 필터/검색 색인을 그대로 쓰고, 팀을 옮길 때도 id 를 바꾸지 않는다.
+     */
+    public static final long ID_SPACE = 1L << 40;
+
+    private static final ThreadLocal<Integer> PINNED = new ThreadLocal<>();
+
+    private final ShardPools pools; // null 이면 샤딩 꺼짐
+    private final JdbcTemplate catalog; // team_placement 가 있는 0번 샤드
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Placement> placements = new ConcurrentHashMap<>();
+
+    public ShardRouter(ObjectProvider<ShardPools> shardPools, WigProperties wigProperties) {
+        this.pools = shardPools.getIfAvailable();
+        if (pools == null) {
+            this.catalog = null;
+            this.scheduler = null;
+            return;
+        }
+        this.catalog = new JdbcTemplate(pools.get(0));
+        refreshPlacements();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wig-shard-placement");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = wigProperties.getSharding().getPlacementRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refreshPlacements();
+            } catch (RuntimeException e) {
+                log.warn("팀 샤드 배치 다시 읽기 실패 - 기존 배치 유지", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("WIG 샤딩 - 샤드 수: {}, 지정 배치 팀 수: {}", pools.size(), placements.size());
+    }
+
+    /**
+     * 팀의 배치
+     *
+     * @param shard    지금 읽고 쓰는 샤드
+     * @param assigned team_placement 로 지정된 배치인지 (아니면 해시)
+     * @param moving   옮기는 중 (쓰기 불가)
+     */
+    public record Placement(int shard, boolean assigned, boolean moving) {
+    }
+
+    public boolean isSharded() {
+        return pools != null;
+    }
+
+    public int getShardCount() {
+        return pools != null ? pools.size() : 1;
+    }
+
+    public int shardOf(String team) {
+        return placementOf(team).shard();
+    }
+
+    public Placement placementOf(String team) {
+        int count = getShardCount();
+        Placement placement = placements.get(team);
+        if (placement != null && placement.shard() < count) {
+            return placement;
+        }
+        return new Placement(hashShard(team, count), false, false);
+    }
+
+    public boolean isMoving(String team) {
+        Placement placement = placements.get(team);
+        return placement != null && placement.moving();
+    }
+
+    /**
+     * 지금 스레드가 커넥션을 얻을 샤드. 고정된 샤드가 없으면 TeamContext 팀의 샤드
+     */
+    public int currentShard() {
+        Integer pinned = PINNED.get();
+        return pinned != null ? pinned : shardOf(TeamContext.current());
+    }
+
+    /**
+     * work 를 shard 에 고정해서 실행한다. 커넥션은 work 안에서 얻어야 한다 (이미 트랜잭션이 커넥션을 쥐고 있으면 그 샤드 그대로)
+     */
+    public <T> T callOn(int shard, Supplier<T> work) {
+        Integer previous = PINNED.get();
+        PINNED.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                PINNED.set(previous);
+            } else {
+                PINNED.remove();
+            }
+        }
+    }
+
+    public void runOn(int shard, Runnable work) {
+        callOn(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * 모든 샤드에서 차례로 실행 (시작 시 재구성처럼 순서대로 읽으면 되는 작업)
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            int target = shard;
+            runOn(target, () -> work.accept(target));
+        }
+    }
+
+    /**
+     * 모든 샤드에서 동시에 실행하고 샤드 순서대로 결과를 모은다 (여러 샤드 목록 조회).
+     * 샤드마다 로더 실행기(가상 스레드)에서 돌고, 요청의 SQL 집계와 primary 고정이 같이 넘어간다.
+     * 샤드가 하나면 호출한 스레드에서 바로 실행한다.
+     */
+    public <T> List<T> callOnEachShard(Supplier<T> work) {
+        if (!isSharded()) {
+            return List.of(work.get());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(pools.size());
+        for (int shard = 0; shard < pools.size(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> callOn(target, work), CacheConfig.LOADER_EXECUTOR));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return results;
+    }
+
+    /**
+     * 샤드의 커넥션 풀 (팀 이동, id 생성기 정렬처럼 샤드를 직접 다루는 작업용)
+     */
+    public DataSource dataSource(int shard) {
+        if (pools == null) {
+            throw new IllegalStateException("샤딩이 꺼져 있습니다 (wig.sharding.enabled)");
+        }
+        return pools.get(shard);
+    }
+
+    /**
+     * 팀의 배치를 team_placement 에 기록하고 이 인스턴스에는 바로 반영한다. 다른 인스턴스는 다음 다시 읽기 때 반영된다.
+     */
+    public synchronized void assign(String team, int shard, boolean moving) {
+        if (catalog == null) {
+            throw new IllegalStateException("샤딩이 꺼져 있습니다 (wig.sharding.enabled)");
+        }
+        int updated = catalog.update("update team_placement set shard_no = ?, moving = ? where team = ?",
+                shard, moving, team);
+        if (updated == 0) {
+            catalog.update("insert into team_placement (team, shard_no, moving) values (?, ?, ?)", team, shard, moving);
+        }
+        placements.put(team, new Placement(shard, true, moving));
+    }
+
+    public synchronized void refreshPlacements() {
+        Map<String, Placement> fresh = new HashMap<>();
+        catalog.query("select team, shard_no, moving from team_placement", rs -> {
+            fresh.put(rs.getString(1), new Placement(rs.getInt(2), true, rs.getBoolean(3)));
+        });
+        placements.keySet().retainAll(fresh.keySet());
+        placements.putAll(fresh);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 해시 배치. 같은 팀 키는 JVM/인스턴스와 상관없이 항상 같은 샤드
+     */
+    public static int hashShard(String team, int shards) {
+        if (shards == 1) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64
+        for (byte b : team.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return jumpHash(hash, shards);
+    }
+
+    /**
+     * Jump consistent hash (Lamping, Veach). 샤드 수가 N → N+1 이 되면 키의 1/(N+1) 만 새 샤드로 옮겨진다
+     */
+    private static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,56 @@
+package Focus._dx.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 현재 스레드의 샤드(ShardRouter.currentShard) 풀에서 커넥션을 주는 DataSource
+ *
+ * ReplicaRoutingDataSource 와 같이 LazyConnectionDataSourceProxy 로 감싸서 실제 커넥션은 첫 SQL 직전에 얻는다.
+ * 트랜잭션을 먼저 열어 두고 callOn 으로 샤드를 고른 뒤 조회해도 고른 샤드로 간다. 한 번 얻은 커넥션은 트랜잭션이 끝날 때까지 그 샤드다.
+ * Hibernate id 생성기가 따로 여는 커넥션도 같은 규칙이라 현재 팀 샤드의 wig_id_generator 를 쓴다 (ShardRouter.ID_SPACE).
+ */
+public class ShardRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ShardRoutingDataSource(ShardPools pools, ShardRouter router, MeterRegistry meterRegistry) {
+        super(new Router(pools, router, meterRegistry));
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final ShardPools pools;
+        private final ShardRouter router;
+        private final Counter[] connections;
+
+        Router(ShardPools pools, ShardRouter router, MeterRegistry meterRegistry) {
+            this.pools = pools;
+            this.router = router;
+            this.connections = new Counter[pools.size()];
+            for (int shard = 0; shard < pools.size(); shard++) {
+                connections[shard] = meterRegistry.counter("wig.datasource.connections", "target", "shard-" + shard);
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            int shard = router.currentShard();
+            connections[shard].increment();
+            return pools.get(shard).getConnection();
+        }
+
+        /**
+         * 계정을 지정한 요청도 현재 샤드 풀에 그대로 넘긴다. Hikari 풀은 SQLFeatureNotSupportedException 으로 거절한다
+         */
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            int shard = router.currentShard();
+            connections[shard].increment();
+            return pools.get(shard).getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package Focus._dx.datasource;
+
+import java.util.regex.Pattern;
+
+/**
+ * 지금 요청의 팀(테넌트) 키
+ *
+ * TeamContextFilter 가 요청 헤더(wig.sharding.team-header, 없으면 default)로 요청 시작 때 현재 스레드에 표시하고,
+ * ShardRouter 는 이 키로 샤드를 고른다. WIG 를 만들 때 team 컬럼에도 이 값이 들어가고, 목록은 이 팀 것만 보여준다.
+ * 표시가 없는 스레드(시작 시 작업, 스케줄러 등)는 default 팀이다.
+ * 캐시 미스 로더처럼 다른 스레드로 넘어가는 작업은 propagate() 로 감싸서 같은 팀을 넘긴다.
+ *
+ * 팀 키는 저장 위치와 목록 범위를 정할 뿐 접근 제어는 아니다 (id 로 직접 조회하면 같은 샤드의 다른 팀 WIG 도 보인다).
+ */
+public final class TeamContext {
+
+    public static final String DEFAULT_TEAM = "default";
+
+    /** 영문/숫자/-/_/. 로 1 ~ 64자 (team 컬럼 길이) */
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private static final ThreadLocal<String> TEAM = new ThreadLocal<>();
+
+    private TeamContext() {
+    }
+
+    public static String current() {
+        String team = TEAM.get();
+        return team != null ? team : DEFAULT_TEAM;
+    }
+
+    public static void set(String team) {
+        TEAM.set(team);
+    }
+
+    public static void clear() {
+        TEAM.remove();
+    }
+
+    public static boolean isValid(String team) {
+        return team != null && VALID.matcher(team).matches();
+    }
+
+    /**
+     * 지금 스레드의 팀을 다른 스레드에서 실행될 작업에 넘긴다.
+     * 표시가 없으면 그대로 돌려준다.
+     */
+    public static Runnable propagate(Runnable task) {
+        String team = TEAM.get();
+        if (team == null) {
+            return task;
+        }
+        return () -> {
+            set(team);
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
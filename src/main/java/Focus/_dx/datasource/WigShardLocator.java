@@ -0,0 +1,151 @@
+package Focus._dx.datasource;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.exception.TeamMovingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * id → WIG 가 있는 샤드 (wig.sharding)
+ *
+ * id 는 샤드마다 다른 구간(ShardRouter.ID_SPACE)에서 나오지만, 팀을 옮겨도 id 는 그대로라 id 만으로는 행이 지금 어느 샤드에 있는지 알 수 없다.
+ * 그래서 id 로 하는 조회/수정/삭제와 측정값은 요청 팀(X-Team-Id)의 샤드가 아니라 "행의 팀"이 지금 배치된 샤드로 보낸다.
+ * - 행의 팀은 바뀌지 않으므로(팀 이동은 샤드만 바꾼다) id → 팀을 locator-cache-size 개까지 기억한다. 샤드는 매번 지금 배치에서 구한다
+ * - 모르는 id 는 요청 팀의 샤드부터 차례로 team 컬럼을 PK(IN) 조회해서 찾는다. 팀 이동 중에는 두 샤드에 같은 행이 있을 수 있는데,
+ *   어느 쪽에서 찾든 팀의 배치가 가리키는 샤드로 간다
+ * - 조회는 샤드 풀에서 바로 한다. 열려 있는 트랜잭션의 커넥션과 상관없고, 트랜잭션의 첫 SQL 전에 callOnOwner 로 감싸면
+ *   그 트랜잭션도 찾은 샤드로 간다 (ShardRoutingDataSource 는 첫 SQL 직전에 커넥션을 얻는다)
+ * - 어디에도 없는 id 는 요청 팀의 샤드로 보낸다. 그 샤드에서 404/0건으로 끝난다
+ * - 쓰기는 행의 팀이 샤드를 옮기는 중이면 막는다 (callOnOwnerForWrite, isMoving). TeamContextFilter 는 헤더 팀만 보므로
+ *   다른 팀 헤더로 보낸 id 쓰기가 복사 중인 원래 샤드에 남지 않게 여기서 한 번 더 본다
+ *
+ * 샤딩이 꺼져 있으면 조회 없이 모두 0번 샤드다.
+ */
+@Component
+public class WigShardLocator {
+
+    private final ShardRouter shardRouter;
+    private final Cache<Long, String> teams;
+
+    public WigShardLocator(ShardRouter shardRouter, WigProperties wigProperties) {
+        this.shardRouter = shardRouter;
+        this.teams = Caffeine.newBuilder()
+                .maximumSize(wigProperties.getSharding().getLocatorCacheSize())
+                .build();
+    }
+
+    public int shardOf(Long id) {
+        if (!shardRouter.isSharded()) {
+            return 0;
+        }
+        String team = teamsOf(List.of(id)).get(id);
+        return team != null ? shardRouter.shardOf(team) : shardRouter.currentShard();
+    }
+
+    /**
+     * ids 를 행이 있는 샤드별로 나눈다 (순서 유지). 어디에도 없는 id 는 요청 팀의 샤드
+     */
+    public Map<Integer, List<Long>> groupByShard(Collection<Long> ids) {
+        if (!shardRouter.isSharded()) {
+            return ids.isEmpty() ? Map.of() : Map.of(0, List.copyOf(ids));
+        }
+        Map<Long, String> found = teamsOf(ids);
+        int current = shardRouter.currentShard();
+        Map<Integer, List<Long>> byShard = new LinkedHashMap<>();
+        for (Long id : ids) {
+            String team = found.get(id);
+            int shard = team != null ? shardRouter.shardOf(team) : current;
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(id);
+        }
+        return byShard;
+    }
+
+    /**
+     * work 를 id 의 WIG 가 있는 샤드에 고정해서 실행한다
+     */
+    public <T> T callOnOwner(Long id, Supplier<T> work) {
+        return shardRouter.isSharded() ? shardRouter.callOn(shardOf(id), work) : work.get();
+    }
+
+    public void runOnOwner(Long id, Runnable work) {
+        callOnOwner(id, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * 쓰기용 callOnOwner. 행의 팀이 샤드를 옮기는 중이면 TeamMovingException
+     */
+    public <T> T callOnOwnerForWrite(Long id, Supplier<T> work) {
+        if (isMoving(id)) {
+            throw new TeamMovingException();
+        }
+        return callOnOwner(id, work);
+    }
+
+    public void runOnOwnerForWrite(Long id, Runnable work) {
+        callOnOwnerForWrite(id, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * id 의 WIG 가 속한 팀이 샤드를 옮기는 중인지. 어디에도 없는 id 는 false
+     */
+    public boolean isMoving(Long id) {
+        if (!shardRouter.isSharded()) {
+            return false;
+        }
+        String team = teamsOf(List.of(id)).get(id);
+        return team != null && shardRouter.isMoving(team);
+    }
+
+    private Map<Long, String> teamsOf(Collection<Long> ids) {
+        Map<Long, String> found = new HashMap<>(teams.getAllPresent(ids));
+        Set<Long> unknown = new LinkedHashSet<>(ids);
+        unknown.removeAll(found.keySet());
+        for (int shard : probeOrder()) {
+            if (unknown.isEmpty()) {
+                break;
+            }
+            NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(shardRouter.dataSource(shard));
+            jdbc.query("select id, team from wig where id in (:ids)", Map.of("ids", List.copyOf(unknown)), rs -> {
+                long id = rs.getLong(1);
+                String team = rs.getString(2);
+                found.put(id, team);
+                teams.put(id, team);
+                unknown.remove(id);
+            });
+        }
+        return found;
+    }
+
+    /**
+     * 요청 팀의 샤드 → 나머지. 대부분 자기 팀 WIG 를 다루므로 첫 샤드에서 끝난다
+     */
+    private List<Integer> probeOrder() {
+        int current = shardRouter.currentShard();
+        List<Integer> order = new ArrayList<>(shardRouter.getShardCount());
+        order.add(current);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            if (shard != current) {
+                order.add(shard);
+            }
+        }
+        return order;
+    }
+}
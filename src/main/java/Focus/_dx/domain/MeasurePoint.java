@@ -0,0 +1,56 @@
+package Focus._dx.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * WIG 에 기록된 선행/후행 지표 측정값 한 개 (추가만 하고 고치지 않는다)
+ *
+ * 행 수가 WIG 마다 수백만까지 늘어나는 테이블이라
+ * - 쓰기 : 엔티티로 persist 하지 않고 MeasureService 가 JdbcTemplate 배치 INSERT 로 넣는다 (영속성 컨텍스트, id 생성기 왕복 없음)
+ * - 읽기 : 스코어보드는 이 테이블을 읽지 않고 MeasureRollup 만 읽는다. 원본은 (wig, 종류, 시각) 인덱스로 구간 조회만 한다
+ * 시각은 epoch 밀리초(bigint)로 둔다. JDBC/Hibernate 사이 시간대 변환이 끼지 않고 인덱스 비교도 숫자 비교다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "measure_point", indexes = {
+        // 구간 조회 keyset (recorded_at, id) 와 "가장 최근 값" 조회를 같은 인덱스에서
+        @Index(name = "idx_measure_point_wig_type_time", columnList = "wig_id, measure_type, recorded_at, id")
+})
+public class MeasurePoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // JDBC 배치 INSERT 에서 id 를 비워 두면 DB 가 채운다
+    private Long id;
+
+    @Column(name = "wig_id", nullable = false)
+    private Long wigId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // MySQL 네이티브 enum 대신 varchar. 상수를 추가해도 컬럼을 바꿀 필요가 없다 (db/migration)
+    @Column(name = "measure_type", nullable = false, length = 10)
+    private MeasureType measureType;
+
+    /** 측정 시각 (epoch 밀리초, UTC) */
+    @Column(name = "recorded_at", nullable = false)
+    private long recordedAt;
+
+    @Column(name = "measure_value", nullable = false)
+    private double value;
+
+    /**
+     * 아직 저장 전인 측정값 (id 는 INSERT 때 DB 가 채운다)
+     */
+    public static MeasurePoint of(Long wigId, MeasureType measureType, long recordedAt, double value) {
+        MeasurePoint point = new MeasurePoint();
+        point.wigId = wigId;
+        point.measureType = measureType;
+        point.recordedAt = recordedAt;
+        point.value = value;
+        return point;
+    }
+}
@@ -0,0 +1,72 @@
+package Focus._dx.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 측정값 일/주 집계 (WIG, 지표 종류, 구간 단위, 구간 시작) 마다 한 행
+ *
+ * 측정값이 들어올 때 같은 트랜잭션에서 INSERT ... ON DUPLICATE KEY UPDATE 로 더해 나간다 (MeasureRollupRepositoryImpl).
+ * 늦게 도착한 측정값도 그 시각의 구간에 더해지므로 다시 계산할 일이 없다.
+ * 스코어보드는 이 테이블의 PK 범위만 읽으므로, 원본 측정값이 얼마나 쌓였는지와 상관없이 구간 수만큼만 읽는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "measure_rollup", indexes = {
+        // 스코어보드 범위 조회용. 복합 PK 컬럼 순서는 Hibernate 가 속성 이름순으로 정하므로 조회 순서대로 따로 건다
+        @Index(name = "idx_measure_rollup_wig_granularity_bucket", columnList = "wig_id, granularity, bucket_start, measure_type")
+})
+public class MeasureRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "point_count", nullable = false)
+    private long count;
+
+    @Column(name = "value_sum", nullable = false)
+    private double sum;
+
+    @Column(name = "value_min", nullable = false)
+    private double min;
+
+    @Column(name = "value_max", nullable = false)
+    private double max;
+
+    /**
+     * 복합 PK. 같은 구간에 대한 upsert 가 이 키로 한 행에 모인다
+     */
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "wig_id", nullable = false)
+        private Long wigId;
+
+        @Enumerated(EnumType.STRING)
+        @JdbcTypeCode(SqlTypes.VARCHAR)
+        @Column(name = "granularity", nullable = false, length = 10)
+        private RollupGranularity granularity;
+
+        @Column(name = "bucket_start", nullable = false)
+        private LocalDate bucketStart;
+
+        @Enumerated(EnumType.STRING)
+        @JdbcTypeCode(SqlTypes.VARCHAR)
+        @Column(name = "measure_type", nullable = false, length = 10)
+        private MeasureType measureType;
+    }
+}
@@ -0,0 +1,11 @@
+package Focus._dx.domain;
+
+/**
+ * 4DX 지표 종류
+ * - LEAD : 선행 지표. 팀이 직접 움직일 수 있는 행동 (예: 주간 영업 통화 수)
+ * - LAG  : 후행 지표. WIG 달성 여부를 나타내는 결과 (예: 월 매출)
+ */
+public enum MeasureType {
+    LEAD,
+    LAG
+}
@@ -0,0 +1,47 @@
+package Focus._dx.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 측정값 집계 구간 단위. 구간은 시작 날짜(bucket_start)로 식별한다.
+ */
+public enum RollupGranularity {
+
+    DAY {
+        @Override
+        public LocalDate bucketOf(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate minus(LocalDate bucketStart, long periods) {
+            return bucketStart.minus(periods, ChronoUnit.DAYS);
+        }
+    },
+
+    /** 월요일 시작 */
+    WEEK {
+        @Override
+        public LocalDate bucketOf(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate minus(LocalDate bucketStart, long periods) {
+            return bucketStart.minus(periods, ChronoUnit.WEEKS);
+        }
+    };
+
+    /**
+     * 날짜가 속한 구간의 시작 날짜
+     */
+    public abstract LocalDate bucketOf(LocalDate date);
+
+    /**
+     * 구간 시작 날짜에서 periods 구간 전
+     */
+    public abstract LocalDate minus(LocalDate bucketStart, long periods);
+}
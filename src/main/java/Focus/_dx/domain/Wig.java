@@ -5,21 +5,62 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity // 이 클래스는 JPA가 관리하는 엔티티라는 뜻. 필드가 칼럼, 인스턴스가 로우가 된다.
 @Getter @Setter // 각 필드에 대해 getter setter 메서드 자동 생성. DTO가 아니면 Setter은 위험해서 나중에 수정
 @NoArgsConstructor // 기본성생자(매개변수 없음)를 생성. jpa는 프록시객체 사용하므로 이게 필수
 @AllArgsConstructor // 모든 파라미터 존재하는 생성자. id는 DB에서 생성하므로 사실 생성자에선 빼야됨. 그러나 프로토타입에선 그냥 빨리 쓰고 나중에 수정하자
+@Table(indexes = {
+        // 목록 조회의 goal 정렬/접두사 필터용. id를 뒤에 붙여서 keyset 커서 (goal, id) 순서와 인덱스 순서를 일치시킨다
+        @Index(name = "idx_wig_goal_id", columnList = "goal, id"),
+        // 팀별 목록 (기본 목록은 요청한 팀 것만 본다). 팀이 같은 행끼리 모여 있어서 큰 팀과 작은 팀의 목록이 서로의 인덱스 범위를 훑지 않는다
+        @Index(name = "idx_wig_team_id", columnList = "team, id"),
+        @Index(name = "idx_wig_team_goal_id", columnList = "team, goal, id")
+})
 public class Wig {
 
+    public static final String ID_GENERATOR = "wig_id";
+    public static final int ID_ALLOCATION_SIZE = 50; // hibernate.jdbc.batch_size 와 맞춘다
+
+    /**
+     * 테이블 기반 id 생성기 (wig_id_generator 테이블의 한 행)
+     * IDENTITY는 INSERT를 실행해야 id를 알 수 있어서 Hibernate가 JDBC 배치를 끈다.
+     * 여기서는 allocationSize 만큼 id 구간을 한 번에 받아와(pooled) 메모리에서 나눠주므로 INSERT를 묶어서 보낼 수 있다.
+     * MySQL은 시퀀스가 없어서 @SequenceGenerator 대신 어느 DB에서나 같은 구조인 테이블 생성기를 쓴다.
+     */
     @Id // 이 필드를 PK로 지정
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // id 자동증가
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = ID_GENERATOR)
+    @TableGenerator(
+            name = ID_GENERATOR,
+            table = "wig_id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "wig",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    /**
+     * 팀(테넌트) 키. 만들 때 요청의 팀(TeamContext)으로 정해지고 바뀌지 않는다. 이 값으로 샤드를 고른다 (ShardRouter)
+     */
+    @Column(nullable = false, length = 64)
+    @ColumnDefault("'default'")
+    private String team;
+
     @Column(nullable = false, length = 100) // DB컬럼 세부지정,null값 불허, 길이 100자이하
     private String goal;
 
     @Column(length = 500) // 길이 500자 이하
     private String description;
 
+    /**
+     * 낙관적 락 버전. 수정될 때마다 1씩 증가하고, API에서는 ETag로 노출된다.
+     * 새 엔티티는 null로 두어야 Spring Data가 신규로 판단해 persist 한다 (저장 시 Hibernate가 0으로 채움)
+     * 기존 행에 컬럼이 추가될 때를 위해 DB 기본값은 0
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
 }
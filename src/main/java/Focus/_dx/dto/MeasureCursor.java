@@ -0,0 +1,57 @@
+package Focus._dx.dto;
+
+import Focus._dx.exception.WigBadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 원본 측정값 구간 조회 커서 (WigCursor 와 같은 방식의 opaque token)
+ * 마지막으로 내려준 측정값의 (시각, id) 를 담고, 다음 페이지는 그 뒤부터 인덱스에서 바로 이어 읽는다.
+ * 첫 페이지에서 정한 구간 끝(to, 생략했으면 그때의 지금)도 담는다. 다음 페이지들이 매번 지금을 다시 재면
+ * 페이지를 넘기는 사이에 들어온 측정값이 섞이고 구간이 계속 늘어난다.
+ * 인코딩 형식: m2|recordedAt(epoch ms)|id|end(epoch ms). 끝이 없는 예전 m1 커서는 요청의 to(또는 지금)를 쓴다
+ */
+@Getter
+@AllArgsConstructor
+public class MeasureCursor {
+
+    private static final String VERSION = "m2";
+    private static final String LEGACY_VERSION = "m1";
+    private static final String SEPARATOR = "|";
+
+    private long recordedAt;
+    private long id;
+    private Long end; // 구간 끝 (epoch ms, 제외). m1 커서면 null
+
+    public static MeasureCursor of(MeasurePointDto last, Instant end) {
+        return new MeasureCursor(last.getRecordedAt().toEpochMilli(), last.getId(), end.toEpochMilli());
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + recordedAt + SEPARATOR + id + SEPARATOR + end;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 형식이 깨졌으면 WigBadRequestException → 400
+     */
+    public static MeasureCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 4 && VERSION.equals(parts[0])) {
+                return new MeasureCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.valueOf(parts[3]));
+            }
+            if (parts.length == 3 && LEGACY_VERSION.equals(parts[0])) {
+                return new MeasureCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]), null);
+            }
+            throw new WigBadRequestException("잘못된 커서입니다");
+        } catch (IllegalArgumentException e) { // Base64, 숫자 파싱 실패 모두 여기로
+            throw new WigBadRequestException("잘못된 커서입니다", e);
+        }
+    }
+}
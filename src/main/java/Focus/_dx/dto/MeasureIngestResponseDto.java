@@ -0,0 +1,33 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 측정값 수집 결과
+ * 통과한 항목은 모두 저장되고, 거절된 항목만 요청 순번(index)과 이유를 돌려준다.
+ *
+ * 사용 예:
+ * {
+ *   "accepted": 999,
+ *   "rejected": 1,
+ *   "errors": [ { "index": 17, "message": "WIG을 찾을 수 없습니다. ID: 42" } ]
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class MeasureIngestResponseDto {
+
+    private int accepted;
+    private int rejected;
+    private List<Error> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Error {
+        private int index;
+        private String message;
+    }
+}
@@ -0,0 +1,27 @@
+package Focus._dx.dto;
+
+import Focus._dx.domain.MeasureType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 원본 측정값 응답 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class MeasurePointDto {
+
+    private Long id;
+    private MeasureType type;
+    private Instant recordedAt;
+    private double value;
+
+    /**
+     * JPQL 생성자 표현식용 (recorded_at 은 epoch 밀리초로 저장돼 있다)
+     */
+    public MeasurePointDto(Long id, MeasureType type, long recordedAt, double value) {
+        this(id, type, Instant.ofEpochMilli(recordedAt), value);
+    }
+}
@@ -0,0 +1,24 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 원본 측정값 구간 조회 페이지 (시각 오름차순)
+ * 다음 페이지는 같은 from/to 에 nextCursor 를 붙여서 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class MeasurePointPageResponseDto {
+
+    private List<MeasurePointDto> content;
+
+    /** 마지막 페이지면 null */
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    private int size;
+}
@@ -0,0 +1,34 @@
+package Focus._dx.dto;
+
+import Focus._dx.domain.MeasureType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 측정값 수집 요청 항목 (POST /api/measures 의 배열 원소)
+ *
+ * 사용 예: { "wigId": 1, "type": "LEAD", "value": 3, "recordedAt": "2025-01-06T09:00:00Z" }
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeasurePointRequestDto {
+
+    @NotNull(message = "wigId는 필수입니다")
+    private Long wigId;
+
+    @NotNull(message = "지표 종류(LEAD/LAG)는 필수입니다")
+    private MeasureType type;
+
+    @NotNull(message = "측정값은 필수입니다")
+    private Double value;
+
+    /**
+     * 측정 시각. 생략하면 서버가 받은 시각
+     */
+    private Instant recordedAt;
+}
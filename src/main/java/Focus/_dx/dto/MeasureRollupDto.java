@@ -0,0 +1,29 @@
+package Focus._dx.dto;
+
+import Focus._dx.domain.MeasureType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 일/주 구간 하나의 집계
+ */
+@Getter
+@AllArgsConstructor
+public class MeasureRollupDto {
+
+    private MeasureType type;
+
+    /** 구간 시작 날짜 (주 단위면 월요일) */
+    private LocalDate bucketStart;
+
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+
+    public double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
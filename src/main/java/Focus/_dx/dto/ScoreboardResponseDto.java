@@ -0,0 +1,30 @@
+package Focus._dx.dto;
+
+import Focus._dx.domain.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * WIG 스코어보드 (GET /api/wigs/{id}/scoreboard)
+ * 최근 구간별 선행/후행 지표 집계와 가장 최근 측정값. 측정값이 없는 구간은 목록에 없다.
+ */
+@Getter
+@AllArgsConstructor
+public class ScoreboardResponseDto {
+
+    private Long wigId;
+    private RollupGranularity granularity;
+
+    /** 첫 구간 시작 날짜 (여기서부터 오늘이 속한 구간까지) */
+    private LocalDate from;
+
+    private List<MeasureRollupDto> lead;
+    private List<MeasureRollupDto> lag;
+
+    /** 가장 최근 측정값. 없으면 null */
+    private MeasurePointDto latestLead;
+    private MeasurePointDto latestLag;
+}
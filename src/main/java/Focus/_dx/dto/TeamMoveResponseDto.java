@@ -0,0 +1,31 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀 샤드 이동 결과 (POST /api/shards/teams/{team}/move)
+ *
+ * 사용 예:
+ * {
+ *   "team": "sales",
+ *   "from": 0,
+ *   "to": 1,
+ *   "wigs": 120,
+ *   "measurePoints": 48000,
+ *   "measureRollups": 3100,
+ *   "elapsedMillis": 10850
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class TeamMoveResponseDto {
+
+    private String team;
+    private int from;
+    private int to;
+    private long wigs;
+    private long measurePoints;
+    private long measureRollups;
+    private long elapsedMillis; // 쓰기를 막은 시간 (move-drain-time 포함)
+}
@@ -0,0 +1,27 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 팀의 샤드 배치 (GET /api/shards/teams/{team})
+ *
+ * 사용 예:
+ * {
+ *   "team": "sales",
+ *   "shard": 1,
+ *   "hashShard": 0,
+ *   "assigned": true,
+ *   "moving": false
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class TeamPlacementDto {
+
+    private String team;
+    private int shard; // 지금 읽고 쓰는 샤드
+    private int hashShard; // team_placement 가 없을 때의 해시 배치
+    private boolean assigned; // team_placement 로 지정된 배치인지
+    private boolean moving; // 옮기는 중 (쓰기는 503)
+}
@@ -0,0 +1,34 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 일괄 처리 결과의 한 항목
+ * index 는 요청 배열에서의 위치(0부터). 실패한 항목은 errors 에 필드별 메시지가 들어간다.
+ */
+@Getter
+@AllArgsConstructor
+public class WigBatchItemResult {
+
+    public enum Status { CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, FAILED }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private Map<String, String> errors;
+
+    public static WigBatchItemResult success(int index, Status status, Long id) {
+        return new WigBatchItemResult(index, status, id, null);
+    }
+
+    public static WigBatchItemResult failure(int index, Status status, Long id, Map<String, String> errors) {
+        return new WigBatchItemResult(index, status, id, errors);
+    }
+
+    public boolean isSucceeded() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+}
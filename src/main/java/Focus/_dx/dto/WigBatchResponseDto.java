@@ -0,0 +1,38 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 일괄 생성/수정/삭제 응답 DTO
+ * 일부 항목이 실패해도 나머지는 처리되고, 항목별 결과를 요청 순서대로 돌려준다.
+ *
+ * 사용 예:
+ * {
+ *   "succeeded": 1,
+ *   "failed": 1,
+ *   "results": [
+ *     { "index": 0, "status": "CREATED", "id": 51, "errors": null },
+ *     { "index": 1, "status": "INVALID", "id": null, "errors": { "goal": "목표는 필수입니다" } }
+ *   ]
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class WigBatchResponseDto {
+
+    private int succeeded;
+    private int failed;
+    private List<WigBatchItemResult> results;
+
+    public static WigBatchResponseDto of(List<WigBatchItemResult> results) {
+        List<WigBatchItemResult> ordered = results.stream()
+                .sorted(Comparator.comparingInt(WigBatchItemResult::getIndex))
+                .toList();
+        int succeeded = (int) ordered.stream().filter(WigBatchItemResult::isSucceeded).count();
+        return new WigBatchResponseDto(succeeded, ordered.size() - succeeded, ordered);
+    }
+}
@@ -0,0 +1,22 @@
+package Focus._dx.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 수정 요청의 한 항목
+ * WigRequestDto 검증 규칙(goal/description)을 그대로 물려받고, 대상 id만 추가한다.
+ */
+@Getter
+@NoArgsConstructor
+public class WigBatchUpdateItemDto extends WigRequestDto {
+
+    @NotNull(message = "id는 필수입니다")
+    private Long id;
+
+    public WigBatchUpdateItemDto(Long id, String goal, String description) {
+        super(goal, description);
+        this.id = id;
+    }
+}
@@ -0,0 +1,70 @@
+package Focus._dx.dto;
+
+import Focus._dx.exception.WigBadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서
+ * "마지막으로 내려준 행의 정렬 키"를 담아두고, 다음 페이지는 그 키 이후부터 읽는다. (OFFSET 없이 인덱스에서 바로 이어 읽기)
+ *
+ * 클라이언트에게는 Base64(URL-safe) 문자열로만 노출해서 내부 구조를 모르게 한다. (opaque token)
+ * 인코딩 형식: v1|정렬|id|goal
+ */
+@Getter
+@AllArgsConstructor
+public class WigCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private WigSortType sort;
+    private Long id;
+    private String goal; // GOAL_* 정렬일 때만 사용, ID_* 정렬이면 null
+
+    /**
+     * 마지막 행으로부터 다음 페이지 커서를 만든다.
+     */
+    public static WigCursor of(WigSortType sort, WigResponseDto last) {
+        return new WigCursor(sort, last.getId(), sort.isByGoal() ? last.getGoal() : null);
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sort.name() + SEPARATOR + id
+                + (goal != null ? SEPARATOR + goal : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰을 해석한다. 형식이 깨졌거나 요청한 정렬과 다른 커서면 WigBadRequestException → 400
+     */
+    public static WigCursor decode(String token, WigSortType expectedSort) {
+        String[] parts;
+        WigSortType sort;
+        Long id;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 4); // goal 안에 구분자가 있어도 마지막 조각으로 통째로 들어간다
+            if (parts.length < 3 || !VERSION.equals(parts[0])) {
+                throw new WigBadRequestException("잘못된 커서입니다");
+            }
+            sort = WigSortType.valueOf(parts[1]);
+            id = Long.valueOf(parts[2]);
+        } catch (IllegalArgumentException e) { // Base64, enum, 숫자 파싱 실패 모두 여기로
+            throw new WigBadRequestException("잘못된 커서입니다", e);
+        }
+
+        if (sort != expectedSort) {
+            throw new WigBadRequestException("커서의 정렬 방식이 요청과 다릅니다");
+        }
+        String goal = parts.length == 4 ? parts[3] : null;
+        if (sort.isByGoal() && goal == null) {
+            throw new WigBadRequestException("잘못된 커서입니다");
+        }
+        return new WigCursor(sort, id, goal);
+    }
+}
@@ -0,0 +1,45 @@
+package Focus._dx.dto;
+
+import Focus._dx.dto.WigBatchItemResult.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 가져오기 결과 (POST /api/wigs/import)
+ * 통과한 행은 청크 단위로 커밋되고, 실패한 행만 줄 번호와 이유를 돌려준다.
+ * 오류는 앞에서부터 wig.transfer.max-reported-errors 개까지만 담고, 넘치면 errorsTruncated 가 true (개수는 failed 에 모두 센다).
+ *
+ * 사용 예:
+ * {
+ *   "read": 3,
+ *   "imported": 2,
+ *   "failed": 1,
+ *   "errorsTruncated": false,
+ *   "errors": [ { "line": 3, "status": "INVALID", "errors": { "goal": "목표는 필수입니다" } } ]
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class WigImportResponseDto {
+
+    private long read;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<Error> errors;
+
+    /**
+     * line : 업로드에서 그 행이 시작한 줄 번호 (1부터, CSV 는 헤더가 1번 줄)
+     * status : INVALID(형식/검증 오류) 또는 FAILED(그 행이 든 청크의 저장 실패)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Error {
+        private long line;
+        private Status status;
+        private Map<String, String> errors;
+    }
+}
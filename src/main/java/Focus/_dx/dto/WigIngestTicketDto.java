@@ -0,0 +1,26 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 쓰기 지연 생성 요청의 처리 상태 (202 응답 바디, GET /api/wigs/ingest/{token})
+ *
+ * - QUEUED    : 큐에 들어갔고 아직 커밋 전. 서버가 이 상태에서 비정상 종료되면 유실될 수 있다
+ * - COMMITTED : DB에 커밋됨. wig 에 저장된 WIG 정보
+ * - FAILED    : 커밋 실패. 다시 요청해야 한다
+ *
+ * 사용 예:
+ * { "token": "5f0c...", "status": "COMMITTED", "wig": { "id": 51, "goal": "...", "description": "...", "version": 0 }, "error": null }
+ */
+@Getter
+@AllArgsConstructor
+public class WigIngestTicketDto {
+
+    public enum Status { QUEUED, COMMITTED, FAILED }
+
+    private String token;
+    private Status status;
+    private WigResponseDto wig;
+    private String error;
+}
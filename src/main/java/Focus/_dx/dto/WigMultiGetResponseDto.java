@@ -0,0 +1,25 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 여러 id 조회 응답 DTO (GET /api/wigs?ids=)
+ * 찾은 WIG 는 요청한 id 순서대로, 없는 id 는 missing 에 모아서 준다.
+ *
+ * 사용 예:
+ * {
+ *   "content": [ { "id": 1, "goal": "...", "description": "..." }, { "id": 3, ... } ],
+ *   "missing": [ 2 ]
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class WigMultiGetResponseDto {
+
+    private List<WigResponseDto> content;
+
+    private List<Long> missing;
+}
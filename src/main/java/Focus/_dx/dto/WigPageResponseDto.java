@@ -0,0 +1,37 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * WIG 목록 페이지 응답 DTO
+ * 한 페이지 분량의 WIG와, 다음 페이지를 읽을 때 그대로 돌려보낼 커서를 담는다.
+ *
+ * 사용 예:
+ * {
+ *   "content": [ { "id": 21, "goal": "...", "description": "..." }, ... ],
+ *   "nextCursor": "djF8SURfQVNDfDQw",
+ *   "hasNext": true,
+ *   "size": 20
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class WigPageResponseDto {
+
+    private List<WigResponseDto> content;
+
+    /**
+     * 다음 페이지 요청 시 cursor 파라미터로 그대로 넘기는 값. 마지막 페이지면 null
+     */
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    /**
+     * 실제로 적용된 페이지 크기 (요청값이 상한을 넘으면 잘려서 들어간다)
+     */
+    private int size;
+}
@@ -29,9 +29,11 @@ public class WigRequestDto {
 
     /*
     컨트롤러의 요청 DTO → JPA 엔티티 변환
+    team 은 본문이 아니라 요청 헤더(TeamContext)에서 온다
      */
-    public Wig toEntity() {
+    public Wig toEntity(String team) {
         Wig wig = new Wig();
+        wig.setTeam(team);
         wig.setGoal(this.goal);
         wig.setDescription(this.description); // this = 이 인스턴스의 필드
         return wig;
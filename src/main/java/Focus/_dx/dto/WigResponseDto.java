@@ -23,6 +23,7 @@ public class WigResponseDto {
     private Long id; // 영속화 전에 null값을 허용해야 하기 때문에 long이 아닌 Long을 사용
     private String goal;
     private String description;
+    private Long version; // 낙관적 락 버전. 응답 헤더의 ETag 와 같은 값
     // 나중에 추가할 필드들
     //private LocalDateTime createdAt;
     //private LocalDateTime updatedAt;
@@ -37,6 +38,7 @@ public class WigResponseDto {
                 .id(wig.getId())
                 .goal(wig.getGoal())
                 .description(wig.getDescription())
+                .version(wig.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,30 @@
+package Focus._dx.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * WIG 검색 결과 DTO
+ * 관련도(score) 높은 순으로 정렬된 한 페이지 분량의 결과와 전체 적중 수를 담는다.
+ *
+ * 사용 예:
+ * {
+ *   "content": [ { "id": 3, "goal": "매일 운동하기", "description": "..." } ],
+ *   "page": 0,
+ *   "size": 20,
+ *   "totalHits": 1,
+ *   "hasNext": false
+ * }
+ */
+@Getter
+@AllArgsConstructor
+public class WigSearchResponseDto {
+
+    private List<WigResponseDto> content;
+    private int page;
+    private int size;
+    private long totalHits;
+    private boolean hasNext;
+}
@@ -0,0 +1,30 @@
+package Focus._dx.dto;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * 목록 조회 정렬 방식
+ * 모든 정렬은 마지막에 id를 붙여서 순서가 항상 유일하게 정해지도록 한다. (keyset 커서의 전제조건)
+ * GOAL_* 정렬은 Wig 테이블의 (goal, id) 인덱스를 그대로 타고, ID_* 정렬은 PK를 탄다.
+ */
+public enum WigSortType {
+    ID_ASC,
+    ID_DESC,
+    GOAL_ASC,
+    GOAL_DESC;
+
+    public boolean isDescending() {
+        return this == ID_DESC || this == GOAL_DESC;
+    }
+
+    public boolean isByGoal() {
+        return this == GOAL_ASC || this == GOAL_DESC;
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = isDescending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return isByGoal()
+                ? Sort.by(direction, "goal").and(Sort.by(direction, "id"))
+                : Sort.by(direction, "id");
+    }
+}
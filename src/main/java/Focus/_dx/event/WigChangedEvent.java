@@ -0,0 +1,38 @@
+package Focus._dx.event;
+
+import Focus._dx.dto.WigResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * WIG 생성/수정/삭제 이벤트
+ * WigService가 쓰기 작업 중에 발행하고, 검색 인덱스 같은 부가 기능들은
+ * @TransactionalEventListener(AFTER_COMMIT)로 받아서 "커밋이 확정된 변경"만 반영한다.
+ * 롤백된 트랜잭션의 이벤트는 리스너에 전달되지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class WigChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private Type type;
+    private Long id;
+
+    /**
+     * 변경 후 상태. DELETED면 null
+     */
+    private WigResponseDto wig;
+
+    public static WigChangedEvent created(WigResponseDto wig) {
+        return new WigChangedEvent(Type.CREATED, wig.getId(), wig);
+    }
+
+    public static WigChangedEvent updated(WigResponseDto wig) {
+        return new WigChangedEvent(Type.UPDATED, wig.getId(), wig);
+    }
+
+    public static WigChangedEvent deleted(Long id) {
+        return new WigChangedEvent(Type.DELETED, id, null);
+    }
+}
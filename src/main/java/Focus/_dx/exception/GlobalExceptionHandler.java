@@ -1,11 +1,17 @@
 package Focus._dx.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 
 import java.util.HashMap;
@@ -36,6 +42,21 @@ public class GlobalExceptionHandler {
 
     }
 
+    /**
+     * WigVersionConflictException 처리
+     * If-Match 버전이 현재 버전과 다를 때 412 Precondition Failed 응답
+     */
+    @ExceptionHandler(WigVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(WigVersionConflictException ex) {
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(error);
+    }
+
     /**
      * Validation 실패 처리
      * @Valid 어노테이션으로 검증 실패 시 400 Bad Request 응답
@@ -64,6 +85,91 @@ public class GlobalExceptionHandler {
                 .body(errors);
     }
 
+    /**
+     * 잘못된 요청 파라미터 처리
+     * 깨진 커서(WigBadRequestException), 정의되지 않은 sort 값, 필수 파라미터 누락 등 → 400 Bad Request
+     * 코드 어디서든 나올 수 있는 IllegalArgumentException 은 여기로 받지 않는다. 버그가 400 으로 숨지 않고 500 으로 보인다.
+     */
+    @ExceptionHandler({WigBadRequestException.class, MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(Exception ex) {
+        String message = ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "잘못된 요청 파라미터입니다: " + mismatch.getName()
+                : ex instanceof MissingServletRequestParameterException missing
+                ? "필수 요청 파라미터가 없습니다: " + missing.getParameterName()
+                : ex.getMessage();
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                message
+        );
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(error);
+    }
+
+    /**
+     * ResponseStatusException 처리
+     * 컨트롤러가 상태 코드를 직접 정해서 던진 경우, 그 상태 코드를 그대로 사용
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException ex) {
+        ErrorResponse error = ErrorResponse.of(
+                ex.getStatusCode().value(),
+                ex.getReason()
+        );
+        return ResponseEntity
+                .status(ex.getStatusCode())
+                .body(error);
+    }
+
+    /**
+     * 커넥션 풀 고갈 처리
+     * connection-timeout 안에 커넥션을 못 받으면 무한정 기다리지 않고 503 Service Unavailable + Retry-After 로 돌려보낸다.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(Exception ex) {
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "요청이 많아 잠시 후 다시 시도하세요"
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * 쓰기 지연 큐 배압 처리
+     * 큐가 꽉 찼거나 종료 중이면 503 Service Unavailable + Retry-After. 요청은 저장되지 않았으므로 다시 보내면 된다.
+     */
+    @ExceptionHandler(WigIngestRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleIngestRejected(WigIngestRejectedException ex) {
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * 샤드를 옮기는 중인 팀의 행 쓰기
+     * 이동이 끝나면 새 샤드로 쓰므로 503 Service Unavailable + Retry-After. 요청은 저장되지 않았다.
+     */
+    @ExceptionHandler(TeamMovingException.class)
+    public ResponseEntity<ErrorResponse> handleTeamMoving(TeamMovingException ex) {
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage()
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     /**
      * 그 외 모든 예외 처리
      * 예상하지 못한 에러 발생 시 500 Internal Server Error 응답
@@ -0,0 +1,14 @@
+package Focus._dx.exception;
+
+/*
+샤드를 옮기는 중인 팀의 WIG 를 id 로 수정/삭제하려 할 때 던지는 예외 → 503 Service Unavailable + Retry-After
+요청 헤더의 팀이 아니라 행의 팀으로 판단한다 (헤더 팀은 TeamContextFilter 가 먼저 막는다)
+ */
+public class TeamMovingException extends RuntimeException {
+
+    public static final String MESSAGE = "팀 데이터를 옮기는 중입니다. 잠시 후 다시 시도하세요";
+
+    public TeamMovingException() {
+        super(MESSAGE);
+    }
+}
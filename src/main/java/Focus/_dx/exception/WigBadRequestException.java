@@ -0,0 +1,17 @@
+package Focus._dx.exception;
+
+/*
+요청 자체가 잘못됐을 때 던지는 예외 → 400 Bad Request
+깨진 커서, 허용 범위를 넘는 파라미터, 빈 일괄 요청처럼 클라이언트가 고쳐서 다시 보내야 하는 경우에만 쓴다.
+코드 안의 다른 IllegalArgumentException(버그)은 400 으로 숨기지 않고 500 으로 드러나게 따로 둔다.
+ */
+public class WigBadRequestException extends RuntimeException {
+
+    public WigBadRequestException(String message) {
+        super(message);
+    }
+
+    public WigBadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package Focus._dx.exception;
+
+/*
+쓰기 지연 모드에서 생성 요청을 큐에 넣지 못했을 때 던지는 예외 → 503 Service Unavailable + Retry-After
+큐가 꽉 찼거나(쓰기 스레드가 DB 커밋 속도를 못 따라감), 종료 중이라 더 받지 않는 경우
+ */
+public class WigIngestRejectedException extends RuntimeException {
+
+    public WigIngestRejectedException(String message) {
+        super(message);
+    }
+}
@@ -4,16 +4,29 @@ package Focus._dx.exception;
 “특정 상황을 명확하게 표현하기 위해 도메인 전용 예외를 만든다.”
 DB나 리스트에서 특정 WIG목표 못찾았을때 던지는 예외 (데이터베이스에서 id = X인 WIG을 못 찾으면 터뜨릴 예외.)
 RuntimeException을 상속받아 Unchecked Exception으로 만듦 (RuntimeException 기반 → Unchecked(선언/처리 강제 없음))
+
+404 로 바뀌기만 하고 로그에 스택을 남기지 않으므로 스택 트레이스를 채우지 않는다 (writableStackTrace = false).
+없는 id 를 두드리는 요청마다 스택을 훑는 비용이 없다.
+id 로 만든 경우 메시지도 getMessage() 가 불릴 때(404 응답을 만들 때) 만든다. 호출 로그는 예외 이름만 남기므로 문자열을 미리 이어 붙일 필요가 없다.
  */
 public class WigNotFoundException extends RuntimeException{ // 보통 “비즈니스 예외”는 Runtime으로 만든다
 
+    private final Long id;
+
     // 일반적으로 사용
     public WigNotFoundException(Long id) {
-        super("WIG을 찾을 수 없습니다. ID: " + id); // super()는 부모 클래스의 생성자를 호출
+        super(null, null, false, false); // super()는 부모 클래스의 생성자를 호출. cause 없음, suppression/스택 트레이스 끔
+        this.id = id;
     }
 
     // 커스터마이징용
     public WigNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.id = null;
+    }
+
+    @Override
+    public String getMessage() {
+        return id != null ? "WIG을 찾을 수 없습니다. ID: " + id : super.getMessage();
     }
 }
@@ -0,0 +1,12 @@
+package Focus._dx.exception;
+
+/*
+If-Match 로 보낸 버전(ETag)과 DB의 현재 버전이 다를 때 던지는 예외 → 412 Precondition Failed
+다른 요청이 먼저 수정해서, 이대로 덮어쓰면 그 변경이 사라지는(lost update) 상황
+ */
+public class WigVersionConflictException extends RuntimeException {
+
+    public WigVersionConflictException(Long id) {
+        super("WIG이 다른 요청에 의해 먼저 변경되었습니다. 다시 조회한 뒤 시도하세요. ID: " + id);
+    }
+}
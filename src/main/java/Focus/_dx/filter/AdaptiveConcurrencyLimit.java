@@ -0,0 +1,136 @@
+package Focus._dx.filter;
+
+import Focus._dx.config.WigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DB 지연을 보고 움직이는 동시 처리 한도 (gradient 방식)
+ *
+ * sample-interval 마다 커넥션 풀 지표(hikaricp.connections.acquire + usage)로 그 구간의 평균 DB 지연을 구하고,
+ * 평소 지연(관측한 최저값, 천천히 올라간다) 대비 얼마나 느려졌는지로 한도를 고친다.
+ * - 지연이 평소 × latency-tolerance 이하 : 한도를 조금씩(√한도) 늘린다
+ * - 그보다 느리면 : 평소/지금 비율만큼 줄인다 (한 번에 절반 아래로는 안 줄임)
+ * 풀 앞에 대기열이 생기면 acquire 시간이 먼저 늘어나므로, 줄이 길어지기 전에 한도가 내려온다.
+ * DB 를 안 쓴 구간(캐시 적중만)은 한도를 건드리지 않는다.
+ *
+ * 요청 경로에서는 tryAcquire/release 의 AtomicInteger 연산만 한다.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimit implements Closeable {
+
+    private static final String[] POOL_TIMERS = {"hikaricp.connections.acquire", "hikaricp.connections.usage"};
+
+    /** 평소 지연이 지금 지연 쪽으로 따라가는 비율 (데이터가 늘어 원래 느려진 경우를 천천히 받아들인다) */
+    private static final double BASELINE_DRIFT = 0.01;
+
+    /** 새 한도를 얼마나 반영할지 (급격한 출렁임 방지) */
+    private static final double SMOOTHING = 0.2;
+
+    private final MeterRegistry meterRegistry;
+    private final WigProperties.Admission properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double baselineNanos = Double.NaN;
+    private double lastTotalNanos;
+    private long lastCount;
+
+    public AdaptiveConcurrencyLimit(MeterRegistry meterRegistry, WigProperties.Admission properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+        this.estimatedLimit = limit;
+        meterRegistry.gauge("wig.admission.limit", this, AdaptiveConcurrencyLimit::getLimit);
+        meterRegistry.gauge("wig.admission.inflight", inFlight);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wig-admission-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getSampleInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::update, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param share 이 요청 종류가 쓸 수 있는 한도 비율 (쓰기/단건 1.0, 대량 읽기 bulk-read-share)
+     * @return false 면 한도 초과. true 면 끝날 때 release() 해야 한다
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 지난 구간의 평균 DB 지연으로 한도를 고친다. 스케줄러 스레드 하나에서만 불린다 (테스트에서는 직접 호출)
+     */
+    synchronized void update() {
+        double totalNanos = 0;
+        long count = 0;
+        for (String name : POOL_TIMERS) {
+            for (Timer timer : meterRegistry.find(name).timers()) {
+                totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+                if (name.equals(POOL_TIMERS[1])) {
+                    count += timer.count(); // 커넥션 한 번 쓰는 데 acquire 와 usage 가 하나씩
+                }
+            }
+        }
+        long samples = count - lastCount;
+        double windowNanos = totalNanos - lastTotalNanos;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        if (samples <= 0) {
+            return;
+        }
+
+        double latency = windowNanos / samples;
+        if (Double.isNaN(baselineNanos) || latency < baselineNanos) {
+            baselineNanos = latency;
+        } else {
+            baselineNanos += (latency - baselineNanos) * BASELINE_DRIFT;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, baselineNanos * properties.getLatencyTolerance() / latency));
+        double target = gradient < 1.0
+                ? estimatedLimit * gradient
+                : estimatedLimit + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(),
+                estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        int next = (int) estimatedLimit;
+        if (next != limit) {
+            log.debug("동시 처리 한도 {} → {} (DB 지연 {}µs, 평소 {}µs)",
+                    limit, next, (long) (latency / 1000), (long) (baselineNanos / 1000));
+            limit = next;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
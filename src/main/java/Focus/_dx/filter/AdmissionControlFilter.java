@@ -0,0 +1,140 @@
+package Focus._dx.filter;
+
+import Focus._dx.config.WigProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /api 유입 제어 필터
+ *
+ * 한 클라이언트가 커넥션 풀을 다 잡아서 모두의 지연이 올라가는 일을 막는다. 순서대로 두 번 거른다.
+ * 1. 클라이언트별 요청률 : 접속 주소마다 토큰 버킷. 넘으면 429 + Retry-After(토큰이 생길 때까지 초)
+ *    client-key-header 는 이 서버가 검증하지 않는 값이라 기본으로는 쓰지 않는다. 헤더를 바꿔 가며 보내면 버킷을 새로 받고,
+ *    max-clients 를 채워 진짜 클라이언트의 상태를 밀어낼 수 있기 때문. 앞단 게이트웨이가 키를 검증하고 위조된 헤더를
+ *    걸러 줄 때만 trust-client-key-header 를 켠다.
+ * 2. 전체 동시 처리 : AdaptiveConcurrencyLimit. 넘으면 기다리지 않고 바로 503 + Retry-After
+ *    쓰기와 단건 조회는 한도 전체를, 목록/검색 같은 대량 읽기는 bulk-read-share 만큼만 쓸 수 있다
+ *    → 과부하 때 대량 읽기부터 잘리고 쓰기는 끝까지 자리가 남는다
+ *
+ * 토큰 버킷은 GCRA(다음 요청이 허용되는 이론상 시각 하나)로 구현해서 클라이언트당 AtomicLong 하나를 CAS 로만 고친다.
+ * 클라이언트 상태 표는 Caffeine(내부 ConcurrentHashMap) 이라 락 없이 여러 스레드가 읽고 쓴다.
+ * 요청당 비용은 해시 조회 + CAS 두어 번 (마이크로초 단위).
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String IMPORT_PATH = "/api/wigs/import";
+
+    private final WigProperties.Admission properties;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Cache<String, Bucket> buckets;
+    private final long intervalNanos; // 토큰 하나가 생기는 간격
+    private final long burstNanos; // 버킷이 가득 찼을 때 미리 당겨 쓸 수 있는 시간
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlFilter(WigProperties.Admission properties, AdaptiveConcurrencyLimit concurrencyLimit,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.concurrencyLimit = concurrencyLimit;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .maximumSize(properties.getMaxClients())
+                .build();
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRatePerSecond());
+        this.burstNanos = intervalNanos * Math.max(0, properties.getBurst() - 1);
+        this.rateLimited = meterRegistry.counter("wig.admission.rejected", "reason", "rate_limited");
+        this.overloaded = meterRegistry.counter("wig.admission.rejected", "reason", "overloaded");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = buckets.get(clientOf(request), key -> new Bucket()).tryTake(System.nanoTime());
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            RejectResponse.write(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds, "요청이 너무 잦습니다. 잠시 후 다시 시도하세요");
+            return;
+        }
+
+        if (!concurrencyLimit.tryAcquire(shareOf(request))) {
+            overloaded.increment();
+            log.debug("동시 처리 한도({}) 초과로 요청 거절 - {} {}",
+                    concurrencyLimit.getLimit(), request.getMethod(), request.getRequestURI());
+            RejectResponse.write(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "요청이 많아 잠시 후 다시 시도하세요");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (properties.isTrustClientKeyHeader()) {
+            String key = request.getHeader(properties.getClientKeyHeader());
+            if (StringUtils.hasText(key)) {
+                return "key:" + key; // 주소와 같은 문자열이 나와도 섞이지 않게
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 요청 종류별 한도 비율. 쓰기와 단건 조회(/api/wigs/{id})는 전체, 나머지 GET(목록, 전체, 검색, 내보내기)과 가져오기는 대량
+     */
+    private double shareOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            return path.equals(IMPORT_PATH) ? properties.getBulkReadShare() : 1.0; // 오래 걸리는 가져오기가 쓰기 자리를 다 잡지 않게
+        }
+        boolean single = path.startsWith("/api/wigs/") && path.length() > "/api/wigs/".length()
+                && Character.isDigit(path.charAt("/api/wigs/".length()));
+        return single ? 1.0 : properties.getBulkReadShare();
+    }
+
+    /**
+     * 클라이언트 하나의 토큰 버킷 (GCRA)
+     * tat(theoretical arrival time) = 버킷이 다시 가득 차는 시각. 요청마다 interval 만큼 미래로 민다.
+     * tat 가 지금 + burst 보다 멀리 가야 하면 토큰이 없는 것.
+     */
+    private final class Bucket {
+
+        private final AtomicLong tat = new AtomicLong(System.nanoTime());
+
+        /**
+         * @return 0 이면 통과, 아니면 다음 토큰까지 남은 시간(ns)
+         */
+        long tryTake(long now) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long ahead = next - now - intervalNanos;
+                if (ahead > burstNanos) {
+                    return ahead - burstNanos;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package Focus._dx.filter;
+
+import Focus._dx.config.WigProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 처리 요청 수 제한 필터 (가상 스레드 모드 전용)
+ *
+ * 플랫폼 스레드 모드에서는 Tomcat 스레드 수(기본 200)가 자연스러운 상한이지만,
+ * 가상 스레드 모드에서는 요청마다 스레드가 생겨서 모두 커넥션 풀 앞에서 줄을 선다.
+ * 세마포어로 처리 중인 요청 수를 묶고, 자리가 acquireTimeout 안에 안 나면 기다리지 않고 503 + Retry-After 로 돌려보낸다.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimitFilter(WigProperties.Concurrency concurrency) {
+        this.permits = new Semaphore(concurrency.getMaxInFlight());
+        this.acquireTimeoutNanos = concurrency.getAcquireTimeout().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("동시 처리 한도 초과로 요청 거절 - {} {}", request.getMethod(), request.getRequestURI());
+            RejectResponse.write(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "요청이 많아 잠시 후 다시 시도하세요");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package Focus._dx.filter;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 필터에서 요청을 돌려보낼 때 쓰는 오류 응답
+ * GlobalExceptionHandler 의 ErrorResponse 와 같은 모양으로 직접 쓴다 (필터는 @RestControllerAdvice 밖이다).
+ * 메시지는 코드에 있는 상수만 넘기므로 JSON 이스케이프는 하지 않는다.
+ */
+final class RejectResponse {
+
+    private RejectResponse() {
+    }
+
+    static void write(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":" + status.value() + ",\"message\":\"" + message + "\",\"timestamp\":\""
+                + LocalDateTime.now() + "\"}");
+    }
+
+    /**
+     * 잠시 뒤 다시 보내면 되는 거절 (429, 503). Retry-After 를 붙인다
+     */
+    static void write(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        write(response, status, message);
+    }
+}
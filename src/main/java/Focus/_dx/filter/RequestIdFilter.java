@@ -0,0 +1,42 @@
+package Focus._dx.filter;
+
+import Focus._dx.logging.RequestId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 상관 id 필터
+ *
+ * 요청 헤더(wig.logging.request-id-header, 기본 X-Request-Id)의 id 를, 없거나 형식이 틀리면 새로 만든 id 를
+ * 요청이 끝날 때까지 MDC(requestId)에 두고 응답 헤더로 돌려준다. 게이트웨이/클라이언트 로그와 서버 로그를 이 id 로 잇는다.
+ * 다른 필터가 거절한 요청(429, 503)도 id 를 받도록 가장 먼저 건다.
+ */
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    private final String header;
+
+    public RequestIdFilter(String header) {
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(header);
+        if (!RequestId.isValid(requestId)) {
+            requestId = RequestId.generate();
+        }
+        RequestId.set(requestId);
+        response.setHeader(header, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestId.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package Focus._dx.filter;
+
+import Focus._dx.metrics.RequestSqlStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청별 SQL 실행 수/읽은 행 수 기록 필터
+ *
+ * 요청마다 RequestSqlStats 를 열고, 끝나면 엔드포인트(method + uri 템플릿)별 분포로 남긴다.
+ * - wig.request.sql.statements : 요청당 SQL 실행 수
+ * - wig.request.sql.rows : 요청당 읽은 행 수
+ * - wig.request.sql.flagged : 실행 수가 임계값을 넘은 요청 수 (N+1 의심). 넘으면 경고 로그도 남긴다
+ * uri 태그는 /api/wigs/{id} 같은 템플릿이라 id 마다 시계열이 늘어나지 않는다.
+ */
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementThreshold;
+
+    public SqlAccountingFilter(MeterRegistry meterRegistry, int statementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        // 핸들러 매핑이 끝난 뒤에만 채워진다. 매핑 전에 끊긴 요청(404, 동시 처리 초과 503)은 UNKNOWN
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : UNKNOWN_URI);
+
+        DistributionSummary.builder("wig.request.sql.statements")
+                .description("요청 하나가 실행한 SQL 수")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("wig.request.sql.rows")
+                .description("요청 하나가 읽어온 행 수")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+
+        if (stats.getStatements() > statementThreshold) {
+            meterRegistry.counter("wig.request.sql.flagged", tags).increment();
+            log.warn("SQL 실행 수 임계값 초과 - {} {} : {}건 실행, {}행 조회 (임계값 {})",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(), statementThreshold);
+        }
+    }
+}
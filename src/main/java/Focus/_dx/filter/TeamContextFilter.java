@@ -0,0 +1,58 @@
+package Focus._dx.filter;
+
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.exception.TeamMovingException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * 요청 팀 필터
+ *
+ * 팀 헤더(wig.sharding.team-header, 기본 X-Team-Id)를 읽어서 요청이 끝날 때까지 TeamContext 에 둔다. 없으면 default 팀.
+ * - 형식이 틀린 팀 키 : 400
+ * - 샤드를 옮기는 중인 팀의 쓰기(POST/PUT/PATCH/DELETE) : 503 + Retry-After. 읽기는 원래 샤드에서 계속된다
+ *   여기서는 헤더 팀만 본다. 다른 팀 헤더로 보낸 id 쓰기와 측정값은 행의 팀으로 한 번 더 막는다 (WigShardLocator)
+ */
+public class TeamContextFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final String teamHeader;
+    private final ShardRouter shardRouter;
+
+    public TeamContextFilter(String teamHeader, ShardRouter shardRouter) {
+        this.teamHeader = teamHeader;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String team = request.getHeader(teamHeader);
+        if (!StringUtils.hasText(team)) {
+            team = TeamContext.DEFAULT_TEAM;
+        } else if (!TeamContext.isValid(team)) {
+            RejectResponse.write(response, HttpStatus.BAD_REQUEST, "팀 키는 영문, 숫자, '.', '_', '-' 로 64자 이내여야 합니다");
+            return;
+        }
+        if (WRITE_METHODS.contains(request.getMethod()) && shardRouter.isMoving(team)) {
+            RejectResponse.write(response, HttpStatus.SERVICE_UNAVAILABLE, 1, TeamMovingException.MESSAGE);
+            return;
+        }
+        TeamContext.set(team);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TeamContext.clear();
+        }
+    }
+}
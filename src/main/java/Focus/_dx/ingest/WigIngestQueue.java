@@ -0,0 +1,288 @@
+package Focus._dx.ingest;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.WigIngestRejectedException;
+import Focus._dx.repository.WigRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 쓰기 지연(write-behind) 생성 큐 (wig.ingest.enabled=true 일 때만)
+ *
+ * 요청마다 트랜잭션을 커밋하면 온보딩처럼 생성이 몰릴 때 요청 수만큼 MySQL 커밋(fsync)이 생긴다.
+ * 검증을 통과한 요청을 제한된 큐에 넣고, 쓰기 스레드 하나가 꺼내서 여러 건을 한 트랜잭션으로 커밋한다(group commit).
+ * - 묶는 기준 : 최대 max-batch-size 건, 첫 항목 이후 최대 max-linger 만큼 더 기다린다
+ * - INSERT 는 hibernate.jdbc.batch_size 단위 JDBC 배치로 나간다 (WigBatchService 와 같은 방식)
+ * - 한 묶음이 DB 오류로 롤백되면 한 건씩 다시 커밋해서 문제 항목만 FAILED 가 된다
+ *
+ * 내구성: 커밋 전까지 항목은 이 프로세스 메모리에만 있다.
+ * 201 응답은 커밋이 끝난 것이고, 202(QUEUED)는 접수만 된 것이라 비정상 종료(kill -9, OOM) 시 유실될 수 있다.
+ * 정상 종료 시에는 웹 서버가 요청을 다 받은 뒤 큐에 남은 항목을 모두 커밋하고 멈춘다 (shutdown-timeout 까지).
+ *
+ * 배압: 큐가 꽉 차면 enqueue-timeout 만큼만 기다리고 WigIngestRejectedException(503 + Retry-After).
+ *
+ * 팀: 접수한 요청의 팀(TeamContext)을 같이 넣어 둔다. 샤딩이 켜져 있으면 묶음을 팀 샤드별로 나눠서 샤드마다 커밋한다.
+ */
+@Component
+@ConditionalOnProperty(name = "wig.ingest.enabled", havingValue = "true")
+@Slf4j
+public class WigIngestQueue implements SmartLifecycle {
+
+    /**
+     * 웹 서버 종료 단계(WebServerGracefulShutdownLifecycle, WebServerStartStopLifecycle)보다 낮게 둬서
+     * 요청 처리가 모두 끝난 뒤에 멈추게 한다. (phase 가 낮을수록 늦게 멈춘다)
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    /** 큐가 비어 있을 때 종료 여부를 다시 확인하는 간격 */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final WigRepository wigRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WigProperties.Ingest ingest;
+    private final ShardRouter shardRouter;
+
+    private final BlockingQueue<Pending> queue;
+    private final Cache<String, WigIngestTicket> tickets;
+    private final DistributionSummary batchSizes;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public WigIngestQueue(WigRepository wigRepository, EntityManager entityManager, TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher, WigProperties wigProperties, MeterRegistry meterRegistry,
+                          ShardRouter shardRouter) {
+        this.wigRepository = wigRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ingest = wigProperties.getIngest();
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+
+        this.queue = new ArrayBlockingQueue<>(ingest.getQueueCapacity());
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ingest.getTicketRetention())
+                .maximumSize(Math.max(ingest.getQueueCapacity() * 10L, 10_000L))
+                .build();
+        this.batchSizes = DistributionSummary.builder("wig.ingest.batch.size")
+                .description("커밋 한 번에 묶인 생성 항목 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("wig.ingest.queue.size", queue, BlockingQueue::size);
+    }
+
+    /**
+     * 검증이 끝난 생성 요청을 큐에 넣는다.
+     *
+     * @return 결과를 기다리거나 조회할 수 있는 티켓
+     * @throws WigIngestRejectedException 큐가 꽉 찼거나 종료 중
+     */
+    public WigIngestTicket submit(WigRequestDto requestDto) {
+        if (!accepting) {
+            throw reject("종료 중이라 생성 요청을 받을 수 없습니다");
+        }
+        WigIngestTicket ticket = new WigIngestTicket(UUID.randomUUID().toString());
+        boolean queued;
+        try {
+            queued = queue.offer(new Pending(requestDto, TeamContext.current(), ticket), ingest.getEnqueueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw reject("요청이 많아 잠시 후 다시 시도하세요");
+        }
+        tickets.put(ticket.getToken(), ticket);
+        return ticket;
+    }
+
+    /**
+     * 토큰으로 티켓 조회. ticket-retention 이 지났으면 없다.
+     */
+    public Optional<WigIngestTicket> find(String token) {
+        return Optional.ofNullable(tickets.getIfPresent(token));
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+        writer = new Thread(this::drainLoop, "wig-ingest-writer");
+        writer.start();
+        log.info("WIG 쓰기 지연 모드 시작 - 큐 크기: {}, 묶음 최대: {}, 대기: {}",
+                ingest.getQueueCapacity(), ingest.getMaxBatchSize(), ingest.getMaxLinger());
+    }
+
+    /**
+     * 새 요청을 막고, 쓰기 스레드가 큐를 다 비울 때까지 기다린다.
+     */
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        log.info("WIG 쓰기 지연 모드 종료 - 남은 항목: {}", queue.size());
+        try {
+            writer.join(ingest.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("WIG 쓰기 지연 큐를 제한 시간 안에 비우지 못했습니다 - 남은 항목: {}", queue.size());
+            return;
+        }
+        // accepting 확인과 offer 사이에 끼어든 항목이 쓰기 스레드 종료 뒤에 남았을 수 있다
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            commit(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("WIG 쓰기 지연 처리 중 예상하지 못한 오류", e); // 스레드가 죽으면 큐가 멈추므로 계속 돈다
+            }
+        }
+    }
+
+    /**
+     * 첫 항목을 기다린 뒤, max-batch-size 가 차거나 max-linger 가 지날 때까지 더 모은다.
+     * 종료 중에는 더 기다리지 않고 있는 만큼만 가져간다.
+     */
+    private List<Pending> nextBatch() throws InterruptedException {
+        Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        int maxBatchSize = ingest.getMaxBatchSize();
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+
+        long deadline = System.nanoTime() + ingest.getMaxLinger().toNanos();
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /**
+     * 묶음 하나를 한 트랜잭션으로 커밋하고, 커밋이 끝난 뒤에 티켓을 완료한다.
+     * DB 오류면 묶음이 통째로 롤백되므로 한 건씩 다시 시도해서 실패 범위를 줄인다.
+     * INSERT 는 EntityManager.flush() 에서 나가므로 DB 가 거절한 행은 번역되지 않은 PersistenceException 으로 온다.
+     * 샤딩이 켜져 있으면 트랜잭션은 샤드 하나에만 걸리므로 팀 샤드별로 나눠서 각각 커밋한다.
+     */
+    private void commit(List<Pending> batch) {
+        if (!shardRouter.isSharded()) {
+            commitOnShard(batch);
+            return;
+        }
+        Map<Integer, List<Pending>> byShard = batch.stream()
+                .collect(Collectors.groupingBy(item -> shardRouter.shardOf(item.team())));
+        byShard.forEach((shard, items) -> shardRouter.runOn(shard, () -> commitOnShard(items)));
+    }
+
+    private void commitOnShard(List<Pending> batch) {
+        try {
+            List<WigResponseDto> saved = transactionTemplate.execute(status -> insert(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).ticket().committed(saved.get(i));
+            }
+            batchSizes.record(batch.size());
+        } catch (DataAccessException | PersistenceException e) {
+            if (batch.size() > 1) {
+                log.warn("WIG 쓰기 지연 묶음 커밋 실패, 한 건씩 재시도 - 항목 수: {}", batch.size(), e);
+                batch.forEach(item -> commit(List.of(item)));
+                return;
+            }
+            fail(batch, e);
+        } catch (RuntimeException e) {
+            fail(batch, e); // 커넥션을 못 얻는 등 항목과 무관한 오류는 재시도하지 않는다
+        }
+    }
+
+    private List<WigResponseDto> insert(List<Pending> batch) {
+        List<Wig> entities = batch.stream().map(item -> item.request().toEntity(item.team())).toList();
+        wigRepository.saveAll(entities);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<WigResponseDto> saved = entities.stream().map(WigResponseDto::from).toList();
+        saved.forEach(wig -> eventPublisher.publishEvent(WigChangedEvent.created(wig))); // 리스너는 커밋 이후에 실행된다
+        return saved;
+    }
+
+    private void fail(List<Pending> batch, RuntimeException e) {
+        log.error("WIG 쓰기 지연 커밋 실패 - 항목 수: {}", batch.size(), e);
+        meterRegistry.counter("wig.ingest.failed").increment(batch.size());
+        batch.forEach(item -> item.ticket().failed(e));
+    }
+
+    private WigIngestRejectedException reject(String message) {
+        meterRegistry.counter("wig.ingest.rejected").increment();
+        return new WigIngestRejectedException(message);
+    }
+
+    private record Pending(WigRequestDto request, String team, WigIngestTicket ticket) {
+    }
+}
@@ -0,0 +1,66 @@
+package Focus._dx.ingest;
+
+import Focus._dx.dto.WigIngestTicketDto;
+import Focus._dx.dto.WigIngestTicketDto.Status;
+import Focus._dx.dto.WigResponseDto;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 큐에 들어간 생성 요청 하나의 결과
+ * 쓰기 스레드가 커밋 후 complete, 실패하면 completeExceptionally 한다. 요청 스레드는 await 로 기다리거나 토큰만 들고 돌아간다.
+ */
+public class WigIngestTicket {
+
+    private final String token;
+    private final CompletableFuture<WigResponseDto> result = new CompletableFuture<>();
+
+    WigIngestTicket(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * 커밋될 때까지 최대 timeout 만큼 기다린다.
+     *
+     * @return 커밋된 WIG. 시간 안에 끝나지 않았으면 null
+     * @throws RuntimeException 커밋이 실패했으면 그 원인
+     */
+    public WigResponseDto await(Duration timeout) {
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    public WigIngestTicketDto toDto() {
+        if (!result.isDone()) {
+            return new WigIngestTicketDto(token, Status.QUEUED, null, null);
+        }
+        if (result.isCompletedExceptionally()) {
+            return new WigIngestTicketDto(token, Status.FAILED, null, "저장 중 오류가 발생했습니다. 다시 요청하세요");
+        }
+        return new WigIngestTicketDto(token, Status.COMMITTED, result.join(), null);
+    }
+
+    void committed(WigResponseDto wig) {
+        result.complete(wig);
+    }
+
+    void failed(Throwable cause) {
+        result.completeExceptionally(cause);
+    }
+}
@@ -0,0 +1,67 @@
+package Focus._dx.logging;
+
+import org.slf4j.MDC;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 상관 id (MDC requestId)
+ *
+ * RequestIdFilter 가 요청 시작 때 현재 스레드의 MDC 에 넣고 끝날 때 뺀다. 로그 한 줄마다 requestId 로 찍혀서
+ * 같은 요청의 로그(필터, 서비스, 캐시 미스 로더)를 한 번에 모아 볼 수 있다.
+ * 캐시 미스 로더처럼 다른 스레드로 넘어가는 작업은 propagate() 로 감싸서 같은 id 를 넘긴다 (ReadYourWrites 와 같은 방식).
+ */
+public final class RequestId {
+
+    public static final String MDC_KEY = "requestId";
+
+    /** 받은 헤더를 그대로 로그에 쓰므로 영문/숫자/-/_/. 로 1 ~ 64자만 받는다. 아니면 새로 만든다 */
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private RequestId() {
+    }
+
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    public static void set(String requestId) {
+        MDC.put(MDC_KEY, requestId);
+    }
+
+    public static void clear() {
+        MDC.remove(MDC_KEY);
+    }
+
+    public static boolean isValid(String requestId) {
+        return requestId != null && VALID.matcher(requestId).matches();
+    }
+
+    /**
+     * 새 id (16자리 hex). UUID.randomUUID() 는 SecureRandom 이라 요청마다 만들기엔 비싸고, 로그 상관에는 이 정도면 충분하다
+     */
+    public static String generate() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 지금 스레드의 요청 id 를 다른 스레드에서 실행될 작업에 넘긴다.
+     * 요청 id 가 없으면 그대로 돌려준다.
+     */
+    public static Runnable propagate(Runnable task) {
+        String requestId = current();
+        if (requestId == null) {
+            return task;
+        }
+        return () -> {
+            set(requestId);
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package Focus._dx.logging;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.exception.WigVersionConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WigService 호출 로그
+ *
+ * 메서드마다 "시작/완료" 문장을 동기로 두 줄씩 찍던 것을, 호출 하나에 key/value 이벤트 한 줄로 바꿨다.
+ * 메시지는 고정 문자열(wig.operation)이고 값은 key/value 로 붙는다 → 포맷팅 없이 텍스트(%kvp)나 JSON 필드로 나간다.
+ * - operation : 메서드 이름 (getWigById, createWig ...)
+ * - wigId     : 첫 Long 인자, 없으면 결과 WigResponseDto 의 id (생성)
+ * - durationMs, outcome(ok / not_found / conflict / rejected / unavailable / error)
+ *
+ * 남기는 기준
+ * - 실패 : 모두. 4xx 로 끝나는 것(not_found, conflict, rejected)은 INFO, DB 연결 실패는 WARN, 나머지는 ERROR + 스택
+ * - 느린 호출 : wig.logging.slow-threshold 이상이면 모두 WARN
+ * - 성공한 쓰기 : 모두 INFO
+ * - 성공한 조회(get*, search*) : wig.logging.read-sample-rate 비율만 INFO. 나머지는 이벤트를 만들지도 않는다
+ *
+ * 캐시 적중은 캐시 프록시에서 끝나서 여기까지 오지 않는다 (@Timed 의 wig.service 와 같음).
+ * 순서 : 캐시 프록시(HIGHEST_PRECEDENCE) 바로 안쪽, 트랜잭션 프록시(LOWEST_PRECEDENCE) 바깥.
+ * 커밋이 끝난 뒤에 결과를 보므로 커밋 중 실패(제약 위반, BEFORE_COMMIT 리스너 예외)가 ok 로 남지 않고, durationMs 에 커밋 시간도 들어간다.
+ * 콘솔 쓰기는 logback-spring.xml 의 비동기 appender 가 하므로 요청 스레드는 링 버퍼에 넣기만 한다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class WigOperationLogAspect {
+
+    private static final String EVENT = "wig.operation";
+
+    private final double readSampleRate;
+    private final long slowNanos;
+
+    public WigOperationLogAspect(WigProperties wigProperties) {
+        WigProperties.Logging logging = wigProperties.getLogging();
+        this.readSampleRate = logging.getReadSampleRate();
+        this.slowNanos = logging.getSlowThreshold().toNanos();
+    }
+
+    @Around("execution(public * Focus._dx.service.WigService.*(..))")
+    public Object log(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            failed(joinPoint, System.nanoTime() - start, e);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        String operation = joinPoint.getSignature().getName();
+        if (elapsed >= slowNanos) {
+            event(Level.WARN, operation, wigId(joinPoint, result), elapsed, "ok").addKeyValue("slow", true).log();
+        } else if (!isRead(operation) || sampled()) {
+            event(Level.INFO, operation, wigId(joinPoint, result), elapsed, "ok").log();
+        }
+        return result;
+    }
+
+    private void failed(ProceedingJoinPoint joinPoint, long elapsed, Throwable e) {
+        String outcome = outcomeOf(e);
+        Level level = switch (outcome) {
+            case "not_found", "conflict", "rejected" -> Level.INFO;
+            case "unavailable" -> Level.WARN;
+            default -> Level.ERROR;
+        };
+        LoggingEventBuilder event = event(level, joinPoint.getSignature().getName(), wigId(joinPoint, null), elapsed, outcome)
+                .addKeyValue("error", e.getClass().getSimpleName());
+        if (level == Level.ERROR) {
+            event = event.setCause(e);
+        }
+        event.log();
+    }
+
+    private static LoggingEventBuilder event(Level level, String operation, Long wigId, long elapsedNanos, String outcome) {
+        LoggingEventBuilder event = log.atLevel(level)
+                .setMessage(EVENT)
+                .addKeyValue("operation", operation);
+        if (wigId != null) {
+            event = event.addKeyValue("wigId", wigId);
+        }
+        return event
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .addKeyValue("outcome", outcome);
+    }
+
+    private boolean sampled() {
+        return readSampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < readSampleRate;
+    }
+
+    private static boolean isRead(String operation) {
+        return operation.startsWith("get") || operation.startsWith("search");
+    }
+
+    private static Long wigId(ProceedingJoinPoint joinPoint, Object result) {
+        for (Object arg : joinPoint.getArgs()) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        return result instanceof WigResponseDto wig ? wig.getId() : null;
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e instanceof WigNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof WigVersionConflictException) {
+            return "conflict";
+        }
+        if (e instanceof WigBadRequestException
+                || e instanceof ResponseStatusException status && status.getStatusCode().is4xxClientError()) {
+            return "rejected";
+        }
+        if (e instanceof CannotCreateTransactionException || e instanceof DataAccessResourceFailureException) {
+            return "unavailable";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,67 @@
+package Focus._dx.metrics;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나가 실행한 SQL 문장 수와 읽어온 행 수
+ *
+ * SqlAccountingFilter 가 요청 시작 때 현재 스레드에 붙이고, SqlAccountingListener 가 JDBC 호출마다 올린다.
+ * 요청 밖(시작 시 재색인, 이벤트 리스너 스레드 등)에서 실행된 SQL은 붙어 있는 통계가 없어서 세지 않는다.
+ * 캐시 미스 로더처럼 다른 스레드로 넘어가는 작업은 propagate() 로 감싸서 같은 통계에 더한다.
+ * 넘겨받은 스레드가 일하는 동안 요청 스레드는 그 결과(Future)를 기다리고 있으므로 필드는 동기화하지 않는다.
+ */
+@Getter
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    /** JDBC 실행 횟수. 배치(executeBatch)는 묶인 행 수와 상관없이 1번 */
+    private int statements;
+
+    /** ResultSet.next() 가 true 를 돌려준 횟수 = 읽어온 행 수 */
+    private long rows;
+
+    private RequestSqlStats() {
+    }
+
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 지금 요청의 통계를 다른 스레드에서 실행될 작업에 넘긴다 (캐시 미스 로더 등).
+     * 요청 밖에서 만든 작업이면 그대로 돌려준다.
+     */
+    public static Runnable propagate(Runnable task) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    void addRow() {
+        rows++;
+    }
+}
@@ -0,0 +1,49 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.MeasurePoint;
+import Focus._dx.domain.MeasureType;
+import Focus._dx.dto.MeasurePointDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * 원본 측정값 조회. 쓰기는 MeasurePointWriter (JDBC 배치)
+ * 조회는 모두 (wig_id, measure_type, recorded_at, id) 인덱스 범위만 읽는다.
+ */
+public interface MeasurePointRepository extends JpaRepository<MeasurePoint, Long>, MeasurePointWriter {
+
+    /**
+     * [from, to) 구간 첫 페이지
+     */
+    @Query("select new Focus._dx.dto.MeasurePointDto(p.id, p.measureType, p.recordedAt, p.value) from MeasurePoint p "
+            + "where p.wigId = :wigId and p.measureType = :type and p.recordedAt >= :from and p.recordedAt < :to "
+            + "order by p.recordedAt, p.id")
+    List<MeasurePointDto> findRange(Long wigId, MeasureType type, long from, long to, Limit limit);
+
+    /**
+     * 커서 (afterTime, afterId) 다음부터 to 전까지
+     */
+    @Query("select new Focus._dx.dto.MeasurePointDto(p.id, p.measureType, p.recordedAt, p.value) from MeasurePoint p "
+            + "where p.wigId = :wigId and p.measureType = :type and p.recordedAt < :to "
+            + "and (p.recordedAt > :afterTime or (p.recordedAt = :afterTime and p.id > :afterId)) "
+            + "order by p.recordedAt, p.id")
+    List<MeasurePointDto> findRangeAfter(Long wigId, MeasureType type, long afterTime, long afterId, long to, Limit limit);
+
+    /**
+     * 가장 최근 측정값 (인덱스 끝에서 한 행)
+     */
+    @Query("select new Focus._dx.dto.MeasurePointDto(p.id, p.measureType, p.recordedAt, p.value) from MeasurePoint p "
+            + "where p.wigId = :wigId and p.measureType = :type order by p.recordedAt desc, p.id desc")
+    List<MeasurePointDto> findLatest(Long wigId, MeasureType type, Limit limit);
+
+    /**
+     * WIG 삭제 후 정리
+     */
+    @Modifying
+    @Query("delete from MeasurePoint p where p.wigId = :wigId")
+    int deleteByWigId(Long wigId);
+}
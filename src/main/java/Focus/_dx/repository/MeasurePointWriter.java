@@ -0,0 +1,16 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.MeasurePoint;
+
+import java.util.List;
+
+/**
+ * 측정값 배치 INSERT. 구현은 MeasurePointWriterImpl.
+ */
+public interface MeasurePointWriter {
+
+    /**
+     * 현재 트랜잭션 안에서 JDBC 배치 한 번으로 넣는다. id 는 돌려주지 않는다.
+     */
+    void insertAll(List<MeasurePoint> points);
+}
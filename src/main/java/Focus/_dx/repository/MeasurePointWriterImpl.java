@@ -0,0 +1,33 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.MeasurePoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * MeasurePointWriter 구현 (Spring Data 가 이름 규칙(Impl)으로 MeasurePointRepository 에 합쳐준다)
+ *
+ * saveAll 은 엔티티마다 영속성 컨텍스트에 등록하고 IDENTITY id 를 받으려고 행마다 INSERT 를 따로 보낸다 (JDBC 배치 불가).
+ * 추가만 하는 측정값은 돌려받을 것이 없으므로 JdbcTemplate 배치로 보낸다.
+ * JPA 트랜잭션 안에서 부르면 같은 커넥션을 쓰므로 같이 커밋/롤백된다. (MySQL 은 rewriteBatchedStatements 로 multi-row INSERT 한 문장)
+ */
+@RequiredArgsConstructor
+class MeasurePointWriterImpl implements MeasurePointWriter {
+
+    private static final String INSERT =
+            "insert into measure_point (wig_id, measure_type, recorded_at, measure_value) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<MeasurePoint> points) {
+        jdbcTemplate.batchUpdate(INSERT, points, points.size(), (ps, point) -> {
+            ps.setLong(1, point.getWigId());
+            ps.setString(2, point.getMeasureType().name());
+            ps.setLong(3, point.getRecordedAt());
+            ps.setDouble(4, point.getValue());
+        });
+    }
+}
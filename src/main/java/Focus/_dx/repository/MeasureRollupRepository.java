@@ -0,0 +1,32 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.MeasureRollup;
+import Focus._dx.domain.RollupGranularity;
+import Focus._dx.dto.MeasureRollupDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 측정값 일/주 집계 조회. 쓰기는 MeasureRollupWriter (누적 upsert)
+ */
+public interface MeasureRollupRepository extends JpaRepository<MeasureRollup, MeasureRollup.Key>, MeasureRollupWriter {
+
+    /**
+     * from 이후 구간 집계 (스코어보드). 읽는 행 수는 구간 수 × 지표 종류 수로 고정
+     */
+    @Query("select new Focus._dx.dto.MeasureRollupDto(r.key.measureType, r.key.bucketStart, r.count, r.sum, r.min, r.max) "
+            + "from MeasureRollup r where r.key.wigId = :wigId and r.key.granularity = :granularity "
+            + "and r.key.bucketStart >= :from order by r.key.bucketStart")
+    List<MeasureRollupDto> findSince(Long wigId, RollupGranularity granularity, LocalDate from);
+
+    /**
+     * WIG 삭제 후 정리
+     */
+    @Modifying
+    @Query("delete from MeasureRollup r where r.key.wigId = :wigId")
+    int deleteByWigId(Long wigId);
+}
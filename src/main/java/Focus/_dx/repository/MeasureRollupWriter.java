@@ -0,0 +1,18 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.MeasureRollup;
+
+import java.util.Collection;
+
+/**
+ * 집계 행 누적 upsert. 구현은 MeasureRollupWriterImpl.
+ */
+public interface MeasureRollupWriter {
+
+    /**
+     * 구간별 증분(건수, 합, 최소, 최대)을 기존 행에 더한다. 없으면 새로 만든다.
+     *
+     * @param deltas 키 순서로 정렬해서 넘긴다 (동시에 같은 구간을 고치는 트랜잭션끼리 행 잠금 순서를 맞춰 교착을 피한다)
+     */
+    void accumulate(Collection<MeasureRollup> deltas);
+}
@@ -0,0 +1,17 @@
+package Focus._dx.repository;
+
+import Focus._dx.dto.WigResponseDto;
+
+import java.util.function.Consumer;
+
+/**
+ * 팀 하나의 WIG 를 한 행씩 넘겨주는 조회 (GET /api/wigs/export). 구현은 WigExportRepositoryImpl.
+ */
+public interface WigExportRepository {
+
+    /**
+     * id 순서로 팀의 모든 WIG 를 읽어서 action 에 하나씩 넘긴다. 결과를 모아두지 않으므로 행 수와 상관없이 메모리가 일정하다.
+     * 현재 트랜잭션의 커넥션으로 쿼리 하나를 끝까지 읽으므로 트랜잭션 안에서 부른다 (한 시점의 스냅샷).
+     */
+    void forEachResponse(String team, Consumer<WigResponseDto> action);
+}
@@ -0,0 +1,48 @@
+package Focus._dx.repository;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.dto.WigResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * WigExportRepository 구현 (Spring Data 가 이름 규칙(Impl)으로 WigRepository 에 합쳐준다)
+ *
+ * JPA 를 거치지 않고 JDBC 전진 전용(forward-only, read-only) 커서로 읽는다. 엔티티도 영속성 컨텍스트도 만들지 않는다.
+ * 드라이버가 결과를 한꺼번에 받아두지 않도록 fetch size 를 준다.
+ * - MySQL(Connector/J) : Integer.MIN_VALUE 여야 행 단위 스트리밍. 양수는 useCursorFetch 없이는 무시되고 전체를 메모리로 받는다
+ * - 그 밖(H2 등) : wig.transfer.export-fetch-size 만큼씩
+ */
+@RequiredArgsConstructor
+class WigExportRepositoryImpl implements WigExportRepository {
+
+    private static final String SELECT_TEAM = "select id, goal, description, version from wig where team = ? order by id"; // (team, id) 인덱스 순서
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WigProperties wigProperties;
+
+    @Override
+    public void forEachResponse(String team, Consumer<WigResponseDto> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_TEAM, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setString(1, team);
+            statement.setFetchSize(fetchSize(connection));
+            return statement;
+        }, (ResultSet rs) -> action.accept(
+                new WigResponseDto(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4))));
+    }
+
+    private int fetchSize(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.contains("MySQL")
+                ? Integer.MIN_VALUE
+                : wigProperties.getTransfer().getExportFetchSize();
+    }
+}
@@ -0,0 +1,29 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigResponseDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * 동적 조건(Specification) 목록 조회를 엔티티 대신 DTO로 바로 받는 조회
+ * JpaSpecificationExecutor.findBy 는 항상 엔티티를 만들므로, 같은 Specification 을 받아서
+ * select new WigResponseDto(...) 로 바꿔 실행한다. 구현은 WigProjectionRepositoryImpl.
+ */
+public interface WigProjectionRepository {
+
+    /**
+     * @param spec  where 절 (WigSpecifications 조립 결과)
+     * @param sort  정렬 (엔티티 속성 이름 기준)
+     * @param limit 최대 행 수
+     */
+    List<WigResponseDto> findResponses(Specification<Wig> spec, Sort sort, int limit);
+
+    /**
+     * 모든 샤드에서 같은 조건으로 동시에 limit 개씩 조회한다 (여러 팀 목록). 결과는 샤드 순서, 샤드 안에서는 sort 순서.
+     * 샤드마다 읽기 전용 트랜잭션 하나. 샤딩이 꺼져 있으면 findResponses 한 번과 같다
+     */
+    List<List<WigResponseDto>> findResponsesOnEachShard(Specification<Wig> spec, Sort sort, int limit);
+}
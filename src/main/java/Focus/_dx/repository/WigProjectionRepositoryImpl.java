@@ -0,0 +1,60 @@
+package Focus._dx.repository;
+
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * WigProjectionRepository 구현 (Spring Data 가 이름 규칙(Impl)으로 WigRepository 에 합쳐준다)
+ * 생성자 표현식으로 컬럼을 바로 DTO에 담으므로 영속성 컨텍스트에 엔티티/스냅샷이 남지 않는다.
+ */
+class WigProjectionRepositoryImpl implements WigProjectionRepository {
+
+    private final EntityManager entityManager;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    WigProjectionRepositoryImpl(EntityManager entityManager, ShardRouter shardRouter,
+                                PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.shardRouter = shardRouter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public List<WigResponseDto> findResponses(Specification<Wig> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WigResponseDto> query = cb.createQuery(WigResponseDto.class);
+        Root<Wig> root = query.from(Wig.class);
+
+        query.select(cb.construct(WigResponseDto.class,
+                root.get("id"), root.get("goal"), root.get("description"), root.get("version")));
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<List<WigResponseDto>> findResponsesOnEachShard(Specification<Wig> spec, Sort sort, int limit) {
+        return shardRouter.callOnEachShard(() -> readOnlyTransaction.execute(status -> findResponses(spec, sort, limit)));
+    }
+}
@@ -1,7 +1,103 @@
 package Focus._dx.repository;
 
 import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigResponseDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface WigRepository extends JpaRepository<Wig,Long> { // Jpa가 자동으로 구현체 주입, CRUD기능 제공,  Wig엔티티를 Long타입 PK로 관리하는 레포지토리 인터페이스
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface WigRepository extends JpaRepository<Wig,Long>, JpaSpecificationExecutor<Wig>, WigProjectionRepository, WigExportRepository { // Jpa가 자동으로 구현체 주입, CRUD기능 제공,  Wig엔티티를 Long타입 PK로 관리하는 레포지토리 인터페이스
+    // JpaSpecificationExecutor : WigSpecifications로 조립한 동적 where 절
+    // WigProjectionRepository : 그 where 절로 목록을 DTO로 바로 조회 (findResponses, 모든 샤드는 findResponsesOnEachShard)
+    // WigExportRepository : 팀 하나를 JDBC 커서로 한 행씩 (forEachResponse, 내보내기)
+
+    /*
+     * 읽기 전용 조회는 엔티티 대신 WigResponseDto 를 생성자 표현식(select new ...)으로 바로 만든다.
+     * 엔티티로 읽으면 영속성 컨텍스트 등록 + 변경 감지용 스냅샷 복사가 생기는데, 곧바로 DTO로 옮기고 버릴 거라 낭비다.
+     */
+
+    /**
+     * id 로 응답 DTO 조회 (단건 조회, 캐시 미스 시)
+     */
+    @Query("select new Focus._dx.dto.WigResponseDto(w.id, w.goal, w.description, w.version) from Wig w where w.id = :id")
+    Optional<WigResponseDto> findResponseById(Long id);
+
+    /**
+     * 여러 id 를 응답 DTO로 한 번에 조회 (GET /api/wigs?ids=, 단건 조회 묶음). 순서는 보장하지 않는다
+     */
+    @Query("select new Focus._dx.dto.WigResponseDto(w.id, w.goal, w.description, w.version) from Wig w where w.id in :ids")
+    List<WigResponseDto> findResponsesByIds(Collection<Long> ids);
+
+    /**
+     * 팀 하나의 전체를 응답 DTO로 조회 (GET /api/wigs/all). (team, id) 인덱스 순서
+     */
+    @Query("select new Focus._dx.dto.WigResponseDto(w.id, w.goal, w.description, w.version) from Wig w " +
+            "where w.team = :team order by w.id")
+    List<WigResponseDto> findAllResponses(String team);
+
+    /**
+     * id 순으로 끊어 읽기 (검색 색인 재구성 등 전체 순회용)
+     * where id > :id order by id limit :limit → PK 범위 스캔이라 테이블이 커져도 배치마다 비용이 같다
+     */
+    @Query("select new Focus._dx.dto.WigResponseDto(w.id, w.goal, w.description, w.version) from Wig w " +
+            "where w.id > :id order by w.id")
+    List<WigResponseDto> findResponsesByIdGreaterThan(Long id, Limit limit);
+
+    /**
+     * id 만 id 순으로 끊어서 조회 (WigIdFilter 구성용, PK 인덱스만 읽는다)
+     */
+    @Query("select w.id from Wig w where w.id > :id order by w.id")
+    List<Long> findIdsByIdGreaterThan(Long id, Limit limit);
+
+    /**
+     * 주어진 id 중 실제로 존재하는 id만 조회 (엔티티를 만들지 않고 PK 인덱스만 읽는다)
+     */
+    @Query("select w.id from Wig w where w.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * 버전만 조회 (ETag 비교용, 엔티티를 만들지 않는다)
+     */
+    @Query("select w.version from Wig w where w.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * goal/description 을 UPDATE 한 문장으로 수정 (조회 후 변경 감지 없이)
+     * 벌크 JPQL은 @Version 을 자동으로 올려주지 않으므로 직접 +1 한다.
+     * @return 바뀐 행 수. 0이면 해당 id가 없다는 뜻
+     */
+    @Modifying
+    @Query("update Wig w set w.goal = :goal, w.description = :description, w.version = w.version + 1 where w.id = :id")
+    int updateGoalAndDescription(Long id, String goal, String description);
+
+    /**
+     * 버전이 일치할 때만 수정 (If-Match, lost update 방지)
+     * @return 바뀐 행 수. 0이면 id가 없거나 그 사이 다른 요청이 먼저 수정한 것
+     */
+    @Modifying
+    @Query("update Wig w set w.goal = :goal, w.description = :description, w.version = w.version + 1 " +
+            "where w.id = :id and w.version = :version")
+    int updateGoalAndDescriptionIfVersion(Long id, String goal, String description, Long version);
+
+    /**
+     * DELETE 한 문장으로 삭제 (existsById + deleteById 의 조회 2번 없이)
+     * @return 지운 행 수. 0이면 해당 id가 없다는 뜻
+     */
+    @Modifying
+    @Query("delete from Wig w where w.id = :id")
+    int deleteByIdReturningCount(Long id);
+
+    /**
+     * 버전이 일치할 때만 삭제 (If-Match)
+     * @return 지운 행 수. 0이면 id가 없거나 버전이 다르다
+     */
+    @Modifying
+    @Query("delete from Wig w where w.id = :id and w.version = :version")
+    int deleteByIdAndVersionReturningCount(Long id, Long version);
 }
@@ -0,0 +1,58 @@
+package Focus._dx.repository;
+
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 목록 조회용 동적 조건 모음
+ * "(:param is null or ...)" 식의 JPQL은 인덱스를 못 타기 때문에, 필요한 조건만 골라서 where 절을 조립한다.
+ */
+public final class WigSpecifications {
+
+    private WigSpecifications() {
+    }
+
+    /**
+     * 팀 하나의 행만. (team, id) / (team, goal, id) 인덱스의 앞부분이라 다른 팀 행은 읽지 않는다
+     */
+    public static Specification<Wig> teamEquals(String team) {
+        return (root, query, cb) -> cb.equal(root.get("team"), team);
+    }
+
+    /**
+     * goal 접두사 검색. LIKE 'prefix%' 형태라 (goal, id) 인덱스 범위 스캔이 된다.
+     * 사용자가 넣은 %, _ 는 와일드카드가 아니라 글자 그대로 비교하도록 이스케이프한다.
+     */
+    public static Specification<Wig> goalStartsWith(String prefix) {
+        String escaped = prefix.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return (root, query, cb) -> cb.like(root.get("goal"), escaped + "%", '\\');
+    }
+
+    /**
+     * 커서 이후의 행만 남기는 keyset 조건
+     * ID_*   : id > :id (또는 <)
+     * GOAL_* : goal > :goal or (goal = :goal and id > :id) (또는 <)
+     */
+    public static Specification<Wig> after(WigCursor cursor) {
+        boolean desc = cursor.getSort().isDescending();
+        return (root, query, cb) -> {
+            if (!cursor.getSort().isByGoal()) {
+                return desc
+                        ? cb.lessThan(root.get("id"), cursor.getId())
+                        : cb.greaterThan(root.get("id"), cursor.getId());
+            }
+            return cb.or(
+                    desc
+                            ? cb.lessThan(root.get("goal"), cursor.getGoal())
+                            : cb.greaterThan(root.get("goal"), cursor.getGoal()),
+                    cb.and(
+                            cb.equal(root.get("goal"), cursor.getGoal()),
+                            desc
+                                    ? cb.lessThan(root.get("id"), cursor.getId())
+                                    : cb.greaterThan(root.get("id"), cursor.getId())));
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package Focus._dx.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 n-gram 토크나이저
+ * 한국어는 띄어쓰기만으로 단어를 나누면 조사가 붙어서("운동을", "운동하기") 검색이 안 되기 때문에,
+ * 어절을 글자 단위 bigram으로 잘라서 색인한다. ("운동하기" → 운, 동, 하, 기, 운동, 동하, 하기)
+ *
+ * - 색인(document) : unigram + bigram 모두 생성 → 한 글자 검색(타이핑 중간)도 가능
+ * - 질의(query)    : 두 글자 이상 어절은 bigram만, 한 글자 어절은 unigram
+ *
+ * 정규화: NFKC(전각/반각, 호환 자모 통일) + 소문자
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    /**
+     * 문서(goal, description) 색인용 토큰
+     */
+    public static List<String> tokenizeDocument(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(text)) {
+            int[] cps = word.codePoints().toArray();
+            for (int i = 0; i < cps.length; i++) {
+                tokens.add(new String(cps, i, 1));
+                if (i + 1 < cps.length) {
+                    tokens.add(new String(cps, i, 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색어용 토큰 (중복 허용, 호출하는 쪽에서 정리)
+     */
+    public static List<String> tokenizeQuery(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(text)) {
+            int[] cps = word.codePoints().toArray();
+            if (cps.length == 1) {
+                tokens.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < cps.length; i++) {
+                tokens.add(new String(cps, i, 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 정규화 후 글자/숫자가 아닌 문자를 기준으로 어절을 나눈다.
+     */
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        normalized.codePoints().forEach(cp -> {
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else if (!current.isEmpty()) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+        });
+        if (!current.isEmpty()) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,264 @@
+package Focus._dx.search;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSearchResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.repository.WigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * WIG goal/description 인메모리 역색인(inverted index)
+ *
+ * "토큰 → (WIG id → 가중치)" 포스팅 목록과, 결과로 바로 내보낼 WigResponseDto를 같이 들고 있어서
+ * 검색 요청은 MySQL을 전혀 거치지 않는다. (LIKE '%kw%' 풀스캔 대체)
+ *
+ * - 색인 갱신 : WigService가 발행한 WigChangedEvent를 커밋 이후에만 반영
+ * - 전체 재색인 : 애플리케이션 시작 시 Repository를 id 순으로 나눠 읽어서 새로 만든 뒤 교체
+ * - 랭킹     : 질의 토큰을 모두 포함한 문서만 남기고(AND), Σ 가중치 × idf 로 점수 계산. goal 적중에 가중치를 더 준다
+ *
+ * 동시성: 읽기는 여러 스레드가 동시에, 쓰기(색인 갱신)는 하나씩 — ReadWriteLock
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WigSearchIndex {
+
+    private final WigRepository wigRepository;
+    private final WigProperties wigProperties;
+    private final ShardRouter shardRouter;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    // 재색인 도중 들어온 변경 이벤트. 새 세그먼트로 교체하기 직전에 다시 적용한다
+    private List<WigChangedEvent> pendingDuringRebuild;
+
+    /**
+     * 시작 시 전체 재색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (wigProperties.getSearch().isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Repository 전체를 다시 읽어서 색인을 새로 만든다.
+     * 한 번에 findAll() 하지 않고 batch 크기만큼 id 순으로 끊어 읽어서, 재색인 중 메모리는 색인 자체 + 한 배치로 제한된다.
+     * 색인은 모든 팀의 WIG 를 담으므로 샤딩이 켜져 있으면 샤드마다 차례로 읽는다.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            int batchSize = wigProperties.getSearch().getRebuildBatchSize();
+            shardRouter.forEachShard(shard -> {
+                long lastId = 0L;
+                List<WigResponseDto> batch;
+                do {
+                    batch = wigRepository.findResponsesByIdGreaterThan(lastId, Limit.of(batchSize));
+                    for (WigResponseDto wig : batch) {
+                        fresh.upsert(wig, goalBoost());
+                        lastId = wig.getId();
+                    }
+                } while (batch.size() == batchSize);
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // 읽는 동안 커밋된 변경을 새 세그먼트에 다시 적용 (upsert/delete는 여러 번 적용해도 결과가 같다)
+                pendingDuringRebuild.forEach(event -> fresh.apply(event, goalBoost()));
+                pendingDuringRebuild = null;
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("WIG 검색 색인 재구성 완료 - 문서 수: {}, 소요: {}ms", fresh.docs.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 커밋된 생성/수정/삭제를 색인에 반영
+     */
+    @TransactionalEventListener
+    public void onWigChanged(WigChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            segment.apply(event, goalBoost());
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 관련도 순 검색
+     *
+     * @param keyword 검색어
+     * @param page    0부터 시작하는 페이지 번호
+     * @param size    페이지 크기
+     */
+    public WigSearchResponseDto search(String keyword, int page, int size) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(NGramTokenizer.tokenizeQuery(keyword)));
+        if (terms.isEmpty()) {
+            return new WigSearchResponseDto(List.of(), page, size, 0, false);
+        }
+
+        lock.readLock().lock();
+        try {
+            // 1. 질의 토큰별 포스팅 목록. 하나라도 없으면 AND 결과는 비어 있다
+            List<Map<Long, Float>> postings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> posting = segment.postings.get(term);
+                if (posting == null) {
+                    return new WigSearchResponseDto(List.of(), page, size, 0, false);
+                }
+                postings.add(posting);
+            }
+            // 가장 짧은 목록부터 돌아야 교집합 비용이 최소
+            postings.sort(Comparator.comparingInt(Map::size));
+            int docCount = segment.docs.size();
+            double[] idfs = postings.stream().mapToDouble(p -> idf(docCount, p.size())).toArray();
+
+            // 2. 교집합 + 점수 계산. 필요한 (page + 1) * size 개만 힙에 유지 (점수 낮은 것부터 밀려남)
+            // long 으로 계산해서 넘치지 않게 하고, 후보 수보다 크게 잡을 필요는 없다
+            long offset = (long) page * size;
+            int limit = (int) Math.min(offset + size, postings.get(0).size());
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+            long totalHits = 0;
+            for (Map.Entry<Long, Float> candidate : postings.get(0).entrySet()) {
+                Long id = candidate.getKey();
+                double score = candidate.getValue() * idfs[0];
+                boolean matched = true;
+                for (int i = 1; i < postings.size(); i++) {
+                    Float weight = postings.get(i).get(id);
+                    if (weight == null) {
+                        matched = false;
+                        break;
+                    }
+                    score += weight * idfs[i];
+                }
+                if (!matched) {
+                    continue;
+                }
+                totalHits++;
+                top.offer(new Hit(id, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            // 3. 점수 높은 순으로 뒤집어서 요청 페이지만 잘라낸다
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(Hit.WORST_FIRST.reversed());
+            List<WigResponseDto> content = new ArrayList<>();
+            for (long i = offset; i < ranked.size(); i++) {
+                content.add(segment.docs.get(ranked.get((int) i).id()));
+            }
+            boolean hasNext = totalHits > offset + size;
+            return new WigSearchResponseDto(content, page, size, totalHits, hasNext);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 색인된 문서 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float goalBoost() {
+        return wigProperties.getSearch().getGoalBoost();
+    }
+
+    private static double idf(int docCount, int docFrequency) {
+        return Math.log(1.0 + (double) docCount / docFrequency);
+    }
+
+    private record Hit(Long id, double score) {
+        // 점수가 낮을수록, 같은 점수면 id가 클수록 먼저 버려진다
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Hit::id, Comparator.reverseOrder());
+    }
+
+    /**
+     * 색인 한 벌. 재색인 때는 새 Segment를 다 만든 뒤 참조만 바꿔 끼운다.
+     */
+    private static class Segment {
+
+        private final Map<Long, WigResponseDto> docs = new HashMap<>();
+        private final Map<Long, Map<String, Float>> termsByDoc = new HashMap<>(); // 삭제/수정 시 포스팅에서 빼낼 토큰 목록
+        private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+
+        void apply(WigChangedEvent event, float goalBoost) {
+            if (event.getType() == WigChangedEvent.Type.DELETED) {
+                remove(event.getId());
+            } else {
+                upsert(event.getWig(), goalBoost);
+            }
+        }
+
+        void upsert(WigResponseDto wig, float goalBoost) {
+            remove(wig.getId());
+
+            Map<String, Float> weights = new HashMap<>();
+            NGramTokenizer.tokenizeDocument(wig.getGoal()).forEach(t -> weights.merge(t, goalBoost, Float::sum));
+            NGramTokenizer.tokenizeDocument(wig.getDescription()).forEach(t -> weights.merge(t, 1f, Float::sum));
+
+            docs.put(wig.getId(), wig);
+            termsByDoc.put(wig.getId(), weights);
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, k -> new HashMap<>()).put(wig.getId(), weight));
+        }
+
+        void remove(Long id) {
+            docs.remove(id);
+            Map<String, Float> terms = termsByDoc.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Float> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package Focus._dx.service;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.WigShardLocator;
+import Focus._dx.domain.MeasurePoint;
+import Focus._dx.domain.MeasureRollup;
+import Focus._dx.domain.MeasureType;
+import Focus._dx.domain.RollupGranularity;
+import Focus._dx.dto.MeasureCursor;
+import Focus._dx.dto.MeasureIngestResponseDto;
+import Focus._dx.dto.MeasurePointDto;
+import Focus._dx.dto.MeasurePointPageResponseDto;
+import Focus._dx.dto.MeasurePointRequestDto;
+import Focus._dx.dto.MeasureRollupDto;
+import Focus._dx.dto.ScoreboardResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.TeamMovingException;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.repository.MeasurePointRepository;
+import Focus._dx.repository.MeasureRollupRepository;
+import Focus._dx.repository.WigRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 선행/후행 지표 측정값 수집과 조회
+ *
+ * - 수집 : 요청 하나를 한 트랜잭션으로. 원본은 JDBC 배치 INSERT, 같은 트랜잭션에서 일/주 집계를 누적 upsert 한다
+ *          (요청 안의 측정값을 구간별로 먼저 합쳐서, 집계 쓰기는 측정값 수가 아니라 건드린 구간 수만큼)
+ * - 스코어보드 : 집계 테이블의 구간 수만큼과, 지표별 가장 최근 측정값 한 행씩만 읽는다. 원본 이력 크기와 무관
+ * - 원본 조회 : [from, to) 구간을 (시각, id) keyset 으로 페이지 단위로 읽는다
+ * - WIG 가 삭제되면 커밋 이후 그 WIG 의 측정값/집계를 별도 트랜잭션에서 지운다
+ * - 샤딩이 켜져 있으면 측정값은 WIG 와 같은 샤드에 있다. 수집/조회 모두 요청 팀이 아니라 WIG 가 있는 샤드로 간다 (WigShardLocator)
+ */
+@Service
+@Timed("wig.service") // 메서드마다 class/method 태그가 붙은 타이머 (management.observations.annotations.enabled)
+@Transactional(readOnly = true)
+@Slf4j
+public class MeasureService {
+
+    private static final Comparator<MeasureRollup.Key> KEY_ORDER = Comparator
+            .comparing(MeasureRollup.Key::getWigId)
+            .thenComparing(MeasureRollup.Key::getGranularity)
+            .thenComparing(MeasureRollup.Key::getBucketStart)
+            .thenComparing(MeasureRollup.Key::getMeasureType);
+
+    private final MeasurePointRepository measurePointRepository;
+    private final MeasureRollupRepository measureRollupRepository;
+    private final WigRepository wigRepository;
+    private final Validator validator;
+    private final WigProperties.Measure properties;
+    private final ShardRouter shardRouter;
+    private final WigShardLocator wigShardLocator;
+    private final TransactionTemplate recordTransaction;
+    private final TransactionTemplate purgeTransaction;
+
+    public MeasureService(MeasurePointRepository measurePointRepository, MeasureRollupRepository measureRollupRepository,
+                          WigRepository wigRepository, Validator validator, WigProperties wigProperties,
+                          ShardRouter shardRouter, WigShardLocator wigShardLocator,
+                          PlatformTransactionManager transactionManager) {
+        this.measurePointRepository = measurePointRepository;
+        this.measureRollupRepository = measureRollupRepository;
+        this.wigRepository = wigRepository;
+        this.validator = validator;
+        this.properties = wigProperties.getMeasure();
+        this.shardRouter = shardRouter;
+        this.wigShardLocator = wigShardLocator;
+        this.recordTransaction = new TransactionTemplate(transactionManager);
+        this.purgeTransaction = new TransactionTemplate(transactionManager);
+        this.purgeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 측정값 일괄 수집
+     * 항목별로 검증하고, 없는 WIG 를 가리키는 항목은 거절한다. 나머지는 한 트랜잭션으로 저장된다.
+     * 샤딩이 켜져 있으면 요청 팀과 상관없이 WIG 가 있는 샤드에 저장하고, 여러 샤드에 걸친 요청은 샤드마다 한 트랜잭션이다.
+     * WIG 의 팀이 샤드를 옮기는 중이면 그 항목은 거절한다 (복사가 끝난 원래 샤드에 쓰면 이동 뒤 사라진다).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 샤드마다 recordTransaction 으로 연다
+    public MeasureIngestResponseDto record(List<MeasurePointRequestDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new WigBadRequestException("수집할 측정값이 없습니다");
+        }
+        if (items.size() > properties.getMaxBatchItems()) {
+            throw new WigBadRequestException("한 번에 수집할 수 있는 측정값은 최대 " + properties.getMaxBatchItems() + "개입니다");
+        }
+
+        // 1. 항목별 검증
+        List<MeasureIngestResponseDto.Error> errors = new ArrayList<>();
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String message = validate(items.get(i));
+            if (message != null) {
+                errors.add(new MeasureIngestResponseDto.Error(i, message));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        // 2. WIG 가 있는 샤드별로 나눠서 저장
+        Set<Long> wigIds = new LinkedHashSet<>();
+        valid.forEach(i -> wigIds.add(items.get(i).getWigId()));
+        Map<Long, Integer> shardOf = new HashMap<>();
+        wigShardLocator.groupByShard(wigIds).forEach((shard, ids) -> ids.forEach(id -> shardOf.put(id, shard)));
+        Map<Integer, List<Integer>> validByShard = new TreeMap<>();
+        for (int i : valid) {
+            Long wigId = items.get(i).getWigId();
+            if (wigShardLocator.isMoving(wigId)) {
+                errors.add(new MeasureIngestResponseDto.Error(i, TeamMovingException.MESSAGE));
+            } else {
+                validByShard.computeIfAbsent(shardOf.get(wigId), shard -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int saved = 0;
+        int buckets = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : validByShard.entrySet()) {
+            int[] counts = shardRouter.callOn(entry.getKey(),
+                    () -> recordTransaction.execute(status -> save(items, entry.getValue(), errors)));
+            saved += counts[0];
+            buckets += counts[1];
+        }
+
+        errors.sort(Comparator.comparingInt(MeasureIngestResponseDto.Error::getIndex));
+        log.info("측정값 수집 - 저장: {}, 거절: {}, 집계 구간: {}", saved, errors.size(), buckets);
+        return new MeasureIngestResponseDto(saved, errors.size(), errors);
+    }
+
+    /**
+     * 한 샤드 몫 저장. 없는 WIG 를 가리키는 항목은 errors 에 넣는다
+     *
+     * @return {저장한 측정값 수, 건드린 집계 구간 수}
+     */
+    private int[] save(List<MeasurePointRequestDto> items, List<Integer> indexes, List<MeasureIngestResponseDto.Error> errors) {
+        // 1. 가리키는 WIG 존재 여부는 IN 쿼리 한 번
+        Set<Long> wigIds = new HashSet<>();
+        indexes.forEach(i -> wigIds.add(items.get(i).getWigId()));
+        Set<Long> existing = new HashSet<>(wigRepository.findExistingIds(wigIds));
+
+        // 2. 원본 행과 구간별 증분
+        long now = System.currentTimeMillis();
+        ZoneId zone = properties.getZone();
+        List<MeasurePoint> points = new ArrayList<>(indexes.size());
+        Map<MeasureRollup.Key, Delta> deltas = new HashMap<>();
+        for (int i : indexes) {
+            MeasurePointRequestDto item = items.get(i);
+            if (!existing.contains(item.getWigId())) {
+                errors.add(new MeasureIngestResponseDto.Error(i, "WIG을 찾을 수 없습니다. ID: " + item.getWigId()));
+                continue;
+            }
+            long recordedAt = item.getRecordedAt() != null ? item.getRecordedAt().toEpochMilli() : now;
+            points.add(MeasurePoint.of(item.getWigId(), item.getType(), recordedAt, item.getValue()));
+
+            LocalDate date = Instant.ofEpochMilli(recordedAt).atZone(zone).toLocalDate();
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                MeasureRollup.Key key = new MeasureRollup.Key(
+                        item.getWigId(), granularity, granularity.bucketOf(date), item.getType());
+                deltas.computeIfAbsent(key, k -> new Delta()).add(item.getValue());
+            }
+        }
+
+        // 3. 저장. 집계는 키 순서로 (동시 수집끼리 행 잠금 순서를 맞춘다)
+        if (!points.isEmpty()) {
+            measurePointRepository.insertAll(points);
+            Map<MeasureRollup.Key, Delta> ordered = new TreeMap<>(KEY_ORDER);
+            ordered.putAll(deltas);
+            List<MeasureRollup> rollups = new ArrayList<>(ordered.size());
+            ordered.forEach((key, delta) -> rollups.add(delta.toRollup(key)));
+            measureRollupRepository.accumulate(rollups);
+        }
+        return new int[]{points.size(), deltas.size()};
+    }
+
+    /**
+     * 원본 측정값 구간 조회 [from, to)
+     *
+     * @param to     생략하면 지금. 커서가 있으면 무시하고 커서에 담긴 첫 페이지의 끝을 쓴다
+     * @param from   생략하면 to - default-window
+     * @param cursor 이전 응답의 nextCursor
+     * @param size   1 ~ max-page-size 로 잘라서 적용
+     */
+    public MeasurePointPageResponseDto getPoints(Long wigId, MeasureType type, Instant from, Instant to,
+                                                 String cursor, Integer size) {
+        return wigShardLocator.callOnOwner(wigId, () -> points(wigId, type, from, to, cursor, size));
+    }
+
+    private MeasurePointPageResponseDto points(Long wigId, MeasureType type, Instant from, Instant to,
+                                               String cursor, Integer size) {
+        requireWig(wigId);
+        MeasureCursor after = cursor != null && !cursor.isBlank() ? MeasureCursor.decode(cursor) : null;
+        // 다음 페이지는 첫 페이지에서 정한 끝을 그대로 쓴다 (커서에 담겨 온다)
+        Instant end = after != null && after.getEnd() != null ? Instant.ofEpochMilli(after.getEnd())
+                : to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(properties.getDefaultWindow());
+        if (!start.isBefore(end)) {
+            throw new WigBadRequestException("from 은 to 보다 앞이어야 합니다");
+        }
+        int pageSize = size == null
+                ? properties.getDefaultPageSize()
+                : Math.max(1, Math.min(size, properties.getMaxPageSize()));
+
+        Limit limit = Limit.of(pageSize + 1); // 한 개 더 읽어서 다음 페이지 여부 판단
+        List<MeasurePointDto> rows;
+        if (after != null) {
+            rows = measurePointRepository.findRangeAfter(
+                    wigId, type, after.getRecordedAt(), after.getId(), end.toEpochMilli(), limit);
+        } else {
+            rows = measurePointRepository.findRange(wigId, type, start.toEpochMilli(), end.toEpochMilli(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<MeasurePointDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? MeasureCursor.of(content.get(content.size() - 1), end).encode() : null;
+        return new MeasurePointPageResponseDto(content, nextCursor, hasNext, pageSize);
+    }
+
+    /**
+     * 스코어보드: 오늘이 속한 구간까지 최근 periods 개 구간의 집계 + 지표별 최근 측정값
+     */
+    public ScoreboardResponseDto getScoreboard(Long wigId, RollupGranularity granularity, Integer periods) {
+        return wigShardLocator.callOnOwner(wigId, () -> scoreboard(wigId, granularity, periods));
+    }
+
+    private ScoreboardResponseDto scoreboard(Long wigId, RollupGranularity granularity, Integer periods) {
+        requireWig(wigId);
+        int count = periods == null
+                ? properties.getDefaultPeriods()
+                : Math.max(1, Math.min(periods, properties.getMaxPeriods()));
+        LocalDate current = granularity.bucketOf(LocalDate.now(properties.getZone()));
+        LocalDate from = granularity.minus(current, count - 1);
+
+        List<MeasureRollupDto> lead = new ArrayList<>();
+        List<MeasureRollupDto> lag = new ArrayList<>();
+        for (MeasureRollupDto rollup : measureRollupRepository.findSince(wigId, granularity, from)) {
+            (rollup.getType() == MeasureType.LEAD ? lead : lag).add(rollup);
+        }
+        return new ScoreboardResponseDto(wigId, granularity, from, lead, lag,
+                latest(wigId, MeasureType.LEAD), latest(wigId, MeasureType.LAG));
+    }
+
+    /**
+     * 삭제된 WIG 의 측정값/집계 정리 (커밋 이후, 별도 트랜잭션)
+     * 정리에 실패해도 WIG 삭제는 이미 확정됐고, 남은 행은 어떤 조회에서도 보이지 않는다 (조회 전에 WIG 존재를 확인).
+     * WIG 행이 이미 없어서 어느 샤드였는지 알 수 없으므로 모든 샤드에서 지운다 (wig_id 인덱스로 지우므로 없는 샤드는 빈 DELETE).
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 클래스의 readOnly 트랜잭션을 끼우지 않는다
+    public void onWigChanged(WigChangedEvent event) {
+        if (event.getType() != WigChangedEvent.Type.DELETED) {
+            return;
+        }
+        Long wigId = event.getId();
+        try {
+            shardRouter.forEachShard(shard -> purgeTransaction.executeWithoutResult(status -> {
+                int rollups = measureRollupRepository.deleteByWigId(wigId);
+                int points = measurePointRepository.deleteByWigId(wigId);
+                if (points > 0 || rollups > 0) {
+                    log.info("삭제된 WIG 측정값 정리 - id: {}, 측정값: {}, 집계: {}", wigId, points, rollups);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.error("삭제된 WIG 측정값 정리 실패 - id: {}", wigId, e);
+        }
+    }
+
+    private MeasurePointDto latest(Long wigId, MeasureType type) {
+        List<MeasurePointDto> rows = measurePointRepository.findLatest(wigId, type, Limit.of(1));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void requireWig(Long wigId) {
+        if (!wigRepository.existsById(wigId)) {
+            throw new WigNotFoundException(wigId);
+        }
+    }
+
+    /**
+     * @return 오류 메시지. 통과하면 null
+     */
+    private String validate(MeasurePointRequestDto item) {
+        if (item == null) {
+            return "항목이 비어 있습니다";
+        }
+        Set<ConstraintViolation<MeasurePointRequestDto>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!Double.isFinite(item.getValue())) {
+            return "측정값은 유한한 수여야 합니다";
+        }
+        return null;
+    }
+
+    /**
+     * 한 요청 안에서 같은 구간에 들어가는 측정값 합치기
+     */
+    private static final class Delta {
+
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        MeasureRollup toRollup(MeasureRollup.Key key) {
+            return new MeasureRollup(key, count, sum, min, max);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package Focus._dx.service;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.dto.TeamMoveResponseDto;
+import Focus._dx.exception.WigBadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팀 하나를 다른 샤드로 옮긴다 (wig.sharding.enabled=true 일 때만)
+ *
+ * 1. team_placement 에 moving 표시 → 모든 인스턴스가 placement-refresh-interval 안에 그 팀의 쓰기를 503 으로 막는다.
+ *    move-drain-time 만큼 기다려서 다른 인스턴스의 진행 중인 쓰기(쓰기 지연 큐 포함)가 끝나게 한다
+ * 2. 원래 샤드에서 id 순으로 move-batch-size 개씩 읽어서 새 샤드에 쓴다. 청크 하나가 새 샤드의 트랜잭션 하나다
+ *    - wig : id 그대로 (id 는 전체에서 유일하므로 캐시/블룸 필터/검색 색인이 그대로 맞다)
+ *    - measure_point : 새 샤드의 auto_increment 로 새 id
+ *    - measure_rollup : 그대로
+ * 3. 배치를 새 샤드로 바꾸고 moving 을 푼다 → 이후 읽기/쓰기는 새 샤드
+ * 4. placement-refresh-interval 만큼 기다렸다가 원래 샤드의 행을 청크 단위로 지운다.
+ *    다른 인스턴스는 다음 다시 읽기 전까지 그 팀을 원래 샤드에서 읽으므로 (쓰기는 moving 으로 막혀 있다) 바로 지우면 그 사이 빈 목록/404 가 보인다
+ *
+ * 복사 중 실패하면 새 샤드에 쓴 행을 지우고 원래 샤드로 되돌린 뒤 예외를 그대로 던진다.
+ * 앞서 실패한 이동이 새 샤드에 남긴 행이 있으면 복사 전에 먼저 지운다.
+ * 복사는 엔티티를 거치지 않고 샤드 풀에 직접 JDBC 로 한다 (영속성 컨텍스트/이벤트 없이, 두 샤드를 한 스레드에서).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardRebalanceService {
+
+    private static final String SELECT_WIGS =
+            "select id, team, goal, description, version from wig where team = :team and id > :after order by id limit :limit";
+    private static final String INSERT_WIG =
+            "insert into wig (id, team, goal, description, version) values (:id, :team, :goal, :description, :version)";
+    private static final String SELECT_POINTS =
+            "select id, wig_id, measure_type, recorded_at, measure_value from measure_point"
+                    + " where wig_id in (:ids) and id > :after order by id limit :limit";
+    private static final String INSERT_POINT =
+            "insert into measure_point (wig_id, measure_type, recorded_at, measure_value)"
+                    + " values (:wig_id, :measure_type, :recorded_at, :measure_value)";
+    private static final String SELECT_ROLLUPS =
+            "select wig_id, granularity, bucket_start, measure_type, point_count, value_sum, value_min, value_max"
+                    + " from measure_rollup where wig_id in (:ids)";
+    private static final String INSERT_ROLLUP =
+            "insert into measure_rollup (wig_id, granularity, bucket_start, measure_type, point_count, value_sum, value_min, value_max)"
+                    + " values (:wig_id, :granularity, :bucket_start, :measure_type, :point_count, :value_sum, :value_min, :value_max)";
+
+    private final ShardRouter shardRouter;
+    private final WigProperties wigProperties;
+
+    /**
+     * @param team   옮길 팀
+     * @param target 옮겨갈 샤드 번호
+     * @throws WigBadRequestException 없는 샤드이거나 이미 그 샤드에 있음
+     * @throws IllegalStateException    샤딩이 꺼져 있거나 이미 옮기는 중
+     */
+    public synchronized TeamMoveResponseDto moveTeam(String team, int target) {
+        if (!shardRouter.isSharded()) {
+            throw new IllegalStateException("샤딩이 꺼져 있습니다 (wig.sharding.enabled)");
+        }
+        if (target < 0 || target >= shardRouter.getShardCount()) {
+            throw new WigBadRequestException("없는 샤드입니다: " + target);
+        }
+        ShardRouter.Placement placement = shardRouter.placementOf(team);
+        if (placement.moving()) {
+            throw new IllegalStateException("이미 옮기는 중인 팀입니다: " + team);
+        }
+        int source = placement.shard();
+        if (source == target) {
+            throw new WigBadRequestException("이미 " + target + "번 샤드에 있는 팀입니다: " + team);
+        }
+
+        WigProperties.Sharding properties = wigProperties.getSharding();
+        long start = System.currentTimeMillis();
+        log.info("팀 샤드 이동 시작 - 팀: {}, {} → {}", team, source, target);
+        shardRouter.assign(team, source, true);
+        Shard from = new Shard(shardRouter.dataSource(source));
+        Shard to = new Shard(shardRouter.dataSource(target));
+        long[] copied;
+        try {
+            sleep(properties.getMoveDrainTime().toMillis());
+            deleteTeam(to, team, properties.getMoveBatchSize()); // 앞선 실패가 남긴 행
+            copied = copyTeam(from, to, team, properties.getMoveBatchSize());
+            shardRouter.assign(team, target, false);
+        } catch (RuntimeException e) {
+            log.error("팀 샤드 이동 실패, 원래 샤드로 되돌림 - 팀: {}, {} → {}", team, source, target, e);
+            try {
+                deleteTeam(to, team, properties.getMoveBatchSize());
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            shardRouter.assign(team, source, false);
+            throw e;
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        sleep(properties.getPlacementRefreshInterval().toMillis()); // 다른 인스턴스가 새 배치를 읽을 때까지
+        deleteTeam(from, team, properties.getMoveBatchSize());
+
+        log.info("팀 샤드 이동 완료 - 팀: {}, {} → {}, WIG: {}, 측정값: {}, 집계: {}, 쓰기 차단: {}ms",
+                team, source, target, copied[0], copied[1], copied[2], elapsed);
+        return new TeamMoveResponseDto(team, source, target, copied[0], copied[1], copied[2], elapsed);
+    }
+
+    /**
+     * @return {wig 수, measure_point 수, measure_rollup 수}
+     */
+    private long[] copyTeam(Shard from, Shard to, String team, int batchSize) {
+        long[] copied = new long[3];
+        long after = 0L;
+        List<Map<String, Object>> wigs;
+        do {
+            wigs = from.jdbc.queryForList(SELECT_WIGS, params(team, after, batchSize));
+            if (wigs.isEmpty()) {
+                break;
+            }
+            List<Long> ids = wigs.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+            List<Map<String, Object>> chunk = wigs;
+            to.transaction.executeWithoutResult(status -> to.jdbc.batchUpdate(INSERT_WIG, batch(chunk)));
+            copied[0] += wigs.size();
+            copied[1] += copyPoints(from, to, ids, batchSize);
+            List<Map<String, Object>> rollups = from.jdbc.queryForList(SELECT_ROLLUPS, Map.of("ids", ids));
+            if (!rollups.isEmpty()) {
+                to.transaction.executeWithoutResult(status -> to.jdbc.batchUpdate(INSERT_ROLLUP, batch(rollups)));
+                copied[2] += rollups.size();
+            }
+            after = ids.get(ids.size() - 1);
+        } while (wigs.size() == batchSize);
+        return copied;
+    }
+
+    private long copyPoints(Shard from, Shard to, List<Long> wigIds, int batchSize) {
+        long copied = 0;
+        long after = 0L;
+        List<Map<String, Object>> points;
+        do {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", wigIds)
+                    .addValue("after", after)
+                    .addValue("limit", batchSize);
+            points = from.jdbc.queryForList(SELECT_POINTS, params);
+            if (points.isEmpty()) {
+                break;
+            }
+            List<Map<String, Object>> chunk = points;
+            to.transaction.executeWithoutResult(status -> to.jdbc.batchUpdate(INSERT_POINT, batch(chunk)));
+            copied += points.size();
+            after = ((Number) points.get(points.size() - 1).get("id")).longValue();
+        } while (points.size() == batchSize);
+        return copied;
+    }
+
+    /**
+     * 샤드에서 팀의 WIG 와 측정값/집계를 청크 단위로 지운다
+     */
+    private void deleteTeam(Shard shard, String team, int batchSize) {
+        List<Long> ids;
+        do {
+            ids = shard.jdbc.queryForList("select id from wig where team = :team order by id limit :limit",
+                    new MapSqlParameterSource().addValue("team", team).addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            Map<String, List<Long>> params = Map.of("ids", ids);
+            shard.transaction.executeWithoutResult(status -> {
+                shard.jdbc.update("delete from measure_point where wig_id in (:ids)", params);
+                shard.jdbc.update("delete from measure_rollup where wig_id in (:ids)", params);
+                shard.jdbc.update("delete from wig where id in (:ids)", params);
+            });
+        } while (ids.size() == batchSize);
+    }
+
+    private static MapSqlParameterSource params(String team, long after, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("team", team)
+                .addValue("after", after)
+                .addValue("limit", limit);
+    }
+
+    /**
+     * 읽은 행(컬럼 이름 → 값)을 그대로 INSERT 파라미터로. 컬럼 이름은 DB 에 따라 대소문자가 달라서 소문자로 맞춘다
+     */
+    private static SqlParameterSource[] batch(List<Map<String, Object>> rows) {
+        return rows.stream()
+                .map(row -> {
+                    MapSqlParameterSource params = new MapSqlParameterSource();
+                    row.forEach((column, value) -> params.addValue(column.toLowerCase(), value));
+                    return params;
+                })
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("팀 샤드 이동 대기 중 중단되었습니다", e);
+        }
+    }
+
+    /**
+     * 샤드 풀 하나에 붙은 JDBC 와 트랜잭션
+     */
+    private static final class Shard {
+
+        private final NamedParameterJdbcTemplate jdbc;
+        private final TransactionTemplate transaction;
+
+        Shard(DataSource dataSource) {
+            this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+}
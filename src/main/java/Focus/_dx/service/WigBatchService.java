@@ -0,0 +1,291 @@
+package Focus._dx.service;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.datasource.WigShardLocator;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigBatchItemResult;
+import Focus._dx.dto.WigBatchItemResult.Status;
+import Focus._dx.dto.WigBatchResponseDto;
+import Focus._dx.dto.WigBatchUpdateItemDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.TeamMovingException;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.repository.WigRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * WIG 일괄 생성/수정/삭제
+ *
+ * 요청 전체를 한 트랜잭션으로 묶지 않고 wig.batch.chunk-size 단위로 나눠서 각각 커밋한다.
+ * - 청크마다 flush + clear 로 영속성 컨텍스트를 비워서, 항목 수가 많아도 메모리가 청크 크기로 제한된다
+ * - 청크 안의 INSERT/UPDATE는 hibernate.jdbc.batch_size 만큼 JDBC 배치로 묶여서 나간다
+ * - 한 청크가 DB 오류로 롤백돼도 그 청크 항목만 FAILED 로 보고하고 다음 청크는 계속 처리한다
+ *
+ * 검증은 WigRequestDto 의 Bean Validation 규칙을 항목별로 돌려서, 실패한 항목만 INVALID 로 빼고 나머지는 저장한다.
+ * 샤딩이 켜져 있으면 수정/삭제 청크는 다시 WIG 가 있는 샤드별로 나눠서 샤드마다 따로 커밋한다 (생성은 요청 팀의 샤드).
+ * WIG 의 팀이 샤드를 옮기는 중인 항목은 쓰지 않고 FAILED 로 보고한다 (요청 팀과 상관없이 행의 팀으로 판단).
+ */
+@Service
+@Timed("wig.service") // 메서드마다 class/method 태그가 붙은 타이머 (management.observations.annotations.enabled)
+@RequiredArgsConstructor
+@Slf4j
+public class WigBatchService {
+
+    private final WigRepository wigRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WigProperties wigProperties;
+    private final ShardRouter shardRouter;
+    private final WigShardLocator wigShardLocator; // 수정/삭제는 요청 팀이 아니라 id 의 WIG 가 있는 샤드에서
+
+    /**
+     * 일괄 생성
+     */
+    public WigBatchResponseDto createWigs(List<WigRequestDto> items) {
+        checkSize(items);
+        log.info("WIG 일괄 생성 시작 - 요청 수: {}", items.size());
+
+        List<WigBatchItemResult> results = new ArrayList<>();
+        List<Indexed<WigRequestDto>> valid = validate(items, null, results);
+
+        for (List<Indexed<WigRequestDto>> chunk : chunks(valid)) {
+            runChunk(chunk, results, item -> null, () -> { // 생성 항목은 아직 id가 없다
+                List<Wig> entities = chunk.stream().map(item -> item.value().toEntity(TeamContext.current())).toList();
+                wigRepository.saveAll(entities); // id는 생성기에서 미리 받아오고, INSERT는 flush 시점에 배치로 나간다
+                flushAndClear();
+
+                List<WigBatchItemResult> chunkResults = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    WigResponseDto saved = WigResponseDto.from(entities.get(i));
+                    eventPublisher.publishEvent(WigChangedEvent.created(saved));
+                    chunkResults.add(WigBatchItemResult.success(chunk.get(i).index(), Status.CREATED, saved.getId()));
+                }
+                return chunkResults;
+            });
+        }
+
+        log.info("WIG 일괄 생성 완료 - 요청 수: {}", items.size());
+        return WigBatchResponseDto.of(results);
+    }
+
+    /**
+     * 일괄 수정
+     * 청크의 id들을 IN 쿼리 한 번으로 읽어온 뒤 값을 바꾸고, UPDATE는 배치로 보낸다.
+     */
+    public WigBatchResponseDto updateWigs(List<WigBatchUpdateItemDto> items) {
+        checkSize(items);
+        log.info("WIG 일괄 수정 시작 - 요청 수: {}", items.size());
+
+        List<WigBatchItemResult> results = new ArrayList<>();
+        List<Indexed<WigBatchUpdateItemDto>> valid = validate(items, WigBatchUpdateItemDto::getId, results);
+
+        for (ShardChunk<WigBatchUpdateItemDto> part : chunksByShard(valid, WigBatchUpdateItemDto::getId, results)) {
+            List<Indexed<WigBatchUpdateItemDto>> chunk = part.items();
+            shardRouter.runOn(part.shard(), () -> runChunk(chunk, results, WigBatchUpdateItemDto::getId, () -> {
+                Set<Long> ids = chunk.stream().map(item -> item.value().getId()).collect(Collectors.toSet());
+                Map<Long, Wig> found = wigRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Wig::getId, Function.identity()));
+
+                List<WigBatchItemResult> chunkResults = new ArrayList<>(chunk.size());
+                for (Indexed<WigBatchUpdateItemDto> item : chunk) {
+                    Long id = item.value().getId();
+                    Wig wig = found.get(id);
+                    if (wig == null) {
+                        chunkResults.add(WigBatchItemResult.failure(item.index(), Status.NOT_FOUND, id,
+                                Map.of("id", "WIG을 찾을 수 없습니다. ID: " + id)));
+                        continue;
+                    }
+                    wig.setGoal(item.value().getGoal());
+                    wig.setDescription(item.value().getDescription());
+                    chunkResults.add(WigBatchItemResult.success(item.index(), Status.UPDATED, id));
+                }
+                flushAndClear(); // 변경 감지된 UPDATE가 배치로 나간다
+
+                found.values().forEach(wig -> eventPublisher.publishEvent(WigChangedEvent.updated(WigResponseDto.from(wig))));
+                return chunkResults;
+            }));
+        }
+
+        log.info("WIG 일괄 수정 완료 - 요청 수: {}", items.size());
+        return WigBatchResponseDto.of(results);
+    }
+
+    /**
+     * 일괄 삭제
+     * 청크마다 "존재하는 id 조회" 1번 + "DELETE ... WHERE id IN (...)" 1번. 엔티티를 읽어오지 않는다.
+     */
+    public WigBatchResponseDto deleteWigs(List<Long> ids) {
+        checkSize(ids);
+        log.info("WIG 일괄 삭제 시작 - 요청 수: {}", ids.size());
+
+        List<WigBatchItemResult> results = new ArrayList<>();
+        List<Indexed<Long>> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results.add(WigBatchItemResult.failure(i, Status.INVALID, null, Map.of("id", "id는 필수입니다")));
+            } else {
+                valid.add(new Indexed<>(i, ids.get(i)));
+            }
+        }
+
+        for (ShardChunk<Long> part : chunksByShard(valid, Function.identity(), results)) {
+            List<Indexed<Long>> chunk = part.items();
+            shardRouter.runOn(part.shard(), () -> runChunk(chunk, results, Function.identity(), () -> {
+                Set<Long> requested = chunk.stream().map(Indexed::value).collect(Collectors.toSet());
+                Set<Long> existing = new HashSet<>(wigRepository.findExistingIds(requested));
+                if (!existing.isEmpty()) {
+                    wigRepository.deleteAllByIdInBatch(existing);
+                }
+
+                List<WigBatchItemResult> chunkResults = new ArrayList<>(chunk.size());
+                for (Indexed<Long> item : chunk) {
+                    chunkResults.add(existing.contains(item.value())
+                            ? WigBatchItemResult.success(item.index(), Status.DELETED, item.value())
+                            : WigBatchItemResult.failure(item.index(), Status.NOT_FOUND, item.value(),
+                                    Map.of("id", "WIG을 찾을 수 없습니다. ID: " + item.value())));
+                }
+                existing.forEach(id -> eventPublisher.publishEvent(WigChangedEvent.deleted(id)));
+                return chunkResults;
+            }));
+        }
+
+        log.info("WIG 일괄 삭제 완료 - 요청 수: {}", ids.size());
+        return WigBatchResponseDto.of(results);
+    }
+
+    /**
+     * 청크 하나를 별도 트랜잭션으로 실행. DB 오류면 청크 전체가 롤백되고 그 항목들은 FAILED 로 보고한다.
+     * 쓰기는 flushAndClear() 의 EntityManager.flush() 에서 나가므로, DB 가 거절하면 번역되지 않은 PersistenceException 으로 온다.
+     *
+     * @param idOf 실패 보고에 넣을 항목의 id
+     */
+    private <T> void runChunk(List<Indexed<T>> chunk, List<WigBatchItemResult> results,
+                              Function<T, Long> idOf, ChunkWork work) {
+        try {
+            results.addAll(transactionTemplate.execute(status -> work.run()));
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("WIG 일괄 처리 청크 실패 - 항목 수: {}", chunk.size(), e);
+            for (Indexed<T> item : chunk) {
+                results.add(WigBatchItemResult.failure(item.index(), Status.FAILED, idOf.apply(item.value()),
+                        Map.of("database", "저장 중 오류가 발생했습니다")));
+            }
+        }
+    }
+
+    /**
+     * 항목별 Bean Validation. 실패한 항목은 INVALID 결과로 넣고, 통과한 항목만 돌려준다.
+     */
+    private <T> List<Indexed<T>> validate(List<T> items, Function<T, Long> idOf, List<WigBatchItemResult> results) {
+        List<Indexed<T>> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null) {
+                results.add(WigBatchItemResult.failure(i, Status.INVALID, null, Map.of("item", "항목이 비어 있습니다")));
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(item);
+            if (violations.isEmpty()) {
+                valid.add(new Indexed<>(i, item));
+                continue;
+            }
+            Map<String, String> errors = new TreeMap<>();
+            violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+            results.add(WigBatchItemResult.failure(i, Status.INVALID, idOf != null ? idOf.apply(item) : null, errors));
+        }
+        return valid;
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new WigBadRequestException("일괄 처리할 항목이 없습니다");
+        }
+        int maxItems = wigProperties.getBatch().getMaxItems();
+        if (items.size() > maxItems) {
+            throw new WigBadRequestException("한 번에 처리할 수 있는 항목은 최대 " + maxItems + "개입니다");
+        }
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        int chunkSize = wigProperties.getBatch().getChunkSize();
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * 수정/삭제 청크를 WIG 가 있는 샤드별로 다시 나눈다 (요청 팀과 상관없이 id 의 샤드). 샤딩이 꺼져 있으면 청크 그대로
+     * 팀이 샤드를 옮기는 중인 항목은 빼고 FAILED 결과로 넣는다.
+     */
+    private <T> List<ShardChunk<T>> chunksByShard(List<Indexed<T>> items, Function<T, Long> idOf,
+                                                  List<WigBatchItemResult> results) {
+        List<ShardChunk<T>> parts = new ArrayList<>();
+        for (List<Indexed<T>> chunk : chunks(items)) {
+            Map<Long, Integer> shardOf = new HashMap<>();
+            wigShardLocator.groupByShard(chunk.stream().map(item -> idOf.apply(item.value())).distinct().toList())
+                    .forEach((shard, ids) -> ids.forEach(id -> shardOf.put(id, shard)));
+            Map<Integer, List<Indexed<T>>> byShard = new LinkedHashMap<>();
+            for (Indexed<T> item : chunk) {
+                Long id = idOf.apply(item.value());
+                if (wigShardLocator.isMoving(id)) {
+                    results.add(WigBatchItemResult.failure(item.index(), Status.FAILED, id,
+                            Map.of("team", TeamMovingException.MESSAGE)));
+                    continue;
+                }
+                byShard.computeIfAbsent(shardOf.get(id), shard -> new ArrayList<>()).add(item);
+            }
+            byShard.forEach((shard, part) -> parts.add(new ShardChunk<>(shard, part)));
+        }
+        return parts;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 요청 배열에서의 위치를 기억하는 항목
+     */
+    private record Indexed<T>(int index, T value) {
+    }
+
+    /**
+     * 한 샤드에서 한 트랜잭션으로 처리할 청크
+     */
+    private record ShardChunk<T>(int shard, List<Indexed<T>> items) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWork {
+        List<WigBatchItemResult> run();
+    }
+}
@@ -1,138 +1,387 @@
 package Focus._dx.service;
 
 
+import Focus._dx.cache.WigLookupCoalescer;
+import Focus._dx.config.CacheConfig;
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.datasource.WigShardLocator;
 import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigCursor;
+import Focus._dx.dto.WigMultiGetResponseDto;
+import Focus._dx.dto.WigPageResponseDto;
 import Focus._dx.dto.WigRequestDto;
 import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSearchResponseDto;
+import Focus._dx.dto.WigSortType;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.WigBadRequestException;
 import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.exception.WigVersionConflictException;
 import Focus._dx.repository.WigRepository;
+import Focus._dx.repository.WigSpecifications;
+import Focus._dx.search.WigSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * WIG 비즈니스 로직을 처리하는 Service 계층
  *
- * WigService는 스프링이 관리하는 비즈니스 로직 클래스고, 기본은 읽기 전용 트랜잭션, DB 접근은 WigRepository 한 놈으로만, 의존성은 생성자로 주입, 로그는 log로 찍는다.
+ * WigService는 스프링이 관리하는 비즈니스 로직 클래스고, 기본은 읽기 전용 트랜잭션, DB 접근은 WigRepository 한 놈으로만, 의존성은 생성자로 주입한다.
+ * 호출 로그는 메서드 안에서 찍지 않고 WigOperationLogAspect 가 호출마다 key/value 한 줄로 남긴다 (성공한 조회는 표본만).
  *
  * @Service: 스프링이 이 클래스를 빈으로 관리
  * @Transactional: 메서드 실행 중 예외 발생 시 자동 롤백
  * @RequiredArgsConstructor: final 필드에 대한 생성자 자동 생성 (의존성 주입)
- * @Slf4j: 로그 기능 사용 (log.info(), log.error() 등)
  */
 @Service
+@Timed("wig.service") // 메서드마다 class/method 태그가 붙은 타이머 (management.observations.annotations.enabled)
 @Transactional(readOnly = true) // 기본적으로 읽기 전용 (성능 최적화), 쓰기 작업이 필요한 메서드만 위에 @Transactional 다시 붙여서 readOnly 해제.
 @RequiredArgsConstructor
-@Slf4j
 public class WigService {
 
     private final WigRepository wigRepository;
+    private final WigProperties wigProperties;
+    private final WigSearchIndex wigSearchIndex;
+    private final CacheManager cacheManager;
+    private final WigLookupCoalescer wigLookupCoalescer; // id 조회. 캐시 미스가 몰리면 IN 쿼리 하나로 묶는다
+    private final ApplicationEventPublisher eventPublisher; // 쓰기 결과를 WigChangedEvent로 알린다. 리스너는 커밋 이후에만 실행됨
+    private final ShardRouter shardRouter; // 커넥션은 요청 팀(TeamContext)의 샤드로 간다. 여기서는 여러 샤드 목록만 직접 다룬다
+    private final WigShardLocator wigShardLocator; // id 로 하는 조회/수정/삭제는 요청 팀이 아니라 행이 있는 샤드로
 
     /**
      * WIG 생성
      * 트랜잭션 하나 열고, DTO를 Wig 엔티티로 만들고, DB에 저장하고, 다시 DTO로 포장해서 내보낸다.
+     * 요청 팀(TeamContext)의 WIG 로 만들어지고, 그 팀의 샤드에 저장된다.
      *
      * @Transactional: 쓰기 작업이므로 readOnly = false (기본값)
      *
      */
     @Transactional
     public WigResponseDto createWig(WigRequestDto requestDto) {
-        log.info("WIG 생성 시작 - goal: {}", requestDto.getGoal()); // 콘솔에 로그 뜸, logback 설정하면 파일로도 남음, 문제 추적할때 필요
-
         // 1. DTO를 Entity로 변환
-        Wig wig = requestDto.toEntity();
+        Wig wig = requestDto.toEntity(TeamContext.current());
 
         // 2. DB에 저장
         Wig savedWig = wigRepository.save(wig); // JPA가 INSERT 쿼리 날리고, id 값 채워진 savedWig 반환.
 
         // 3. Entity를 DTO로 변환해서 반환
-        log.info("WIG 생성 완료 - id: {}", savedWig.getId());
-        return WigResponseDto.from(savedWig); // DB 엔티티를 그대로 Client에 노출하지 않고, 응답용 DTO로 감싸서 반환.
+        WigResponseDto response = WigResponseDto.from(savedWig); // DB 엔티티를 그대로 Client에 노출하지 않고, 응답용 DTO로 감싸서 반환.
+        eventPublisher.publishEvent(WigChangedEvent.created(response));
+        return response;
+    }
+
+    /**
+     * WIG 목록 조회 (keyset 페이지네이션)
+     * OFFSET 대신 "마지막으로 본 정렬 키 이후"를 where 절로 걸고 size+1개만 읽는다.
+     * 한 개 더 읽어서 다음 페이지 존재 여부를 판단하므로 count 쿼리가 필요 없고, 요청당 메모리는 페이지 크기로 고정된다.
+     *
+     * @param cursor     이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size       요청 페이지 크기. 1 ~ maxSize 범위로 잘라서 적용
+     * @param sort       정렬 방식. 커서는 같은 정렬로만 이어 읽을 수 있다
+     * @param goalPrefix goal 접두사 필터 (없으면 null)
+     */
+    public WigPageResponseDto getWigs(String cursor, Integer size, WigSortType sort, String goalPrefix) {
+        return getWigs(cursor, size, sort, goalPrefix, false);
+    }
+
+    /**
+     * WIG 목록 조회 (keyset 페이지네이션)
+     * 기본은 요청 팀(TeamContext)의 WIG 만, 그 팀의 샤드 하나에서 (team, ...) 인덱스로 읽는다.
+     *
+     * allTeams 면 팀 조건 없이 모든 샤드에서 같은 커서 이후 pageSize + 1 개씩 동시에 읽고, 정렬 순서대로 합쳐서 앞에서부터 자른다.
+     * 샤드마다 커서 이후의 앞부분을 다 가져왔으므로 합친 앞부분이 전체의 앞부분이고, 다음 커서도 샤드 하나일 때와 같다.
+     * 합치는 순서를 DB 정렬과 똑같이 맞출 수 있는 id 정렬만 여러 샤드에 걸쳐 읽는다 (goal 은 DB 콜레이션 순서라 자바 비교와 다를 수 있다).
+     *
+     * @param allTeams 모든 팀(모든 샤드)의 목록
+     */
+    public WigPageResponseDto getWigs(String cursor, Integer size, WigSortType sort, String goalPrefix, boolean allTeams) {
+        boolean acrossShards = allTeams && shardRouter.isSharded();
+        if (acrossShards && sort.isByGoal()) {
+            throw new WigBadRequestException("여러 샤드에 걸친 목록(allTeams)은 ID_ASC, ID_DESC 정렬만 지원합니다");
+        }
+        WigProperties.Pagination pagination = wigProperties.getPagination();
+        int pageSize = size == null
+                ? pagination.getDefaultSize()
+                : Math.max(1, Math.min(size, pagination.getMaxSize()));
+
+        // 1. 필요한 조건만 골라서 where 절 조립
+        Specification<Wig> spec = Specification.unrestricted();
+        if (!allTeams) {
+            spec = spec.and(WigSpecifications.teamEquals(TeamContext.current()));
+        }
+        if (goalPrefix != null && !goalPrefix.isBlank()) {
+            spec = spec.and(WigSpecifications.goalStartsWith(goalPrefix));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(WigSpecifications.after(WigCursor.decode(cursor, sort)));
+        }
+
+        // 2. 인덱스 순서대로 pageSize + 1 개만 조회. 엔티티를 거치지 않고 DTO로 바로 받는다
+        List<WigResponseDto> rows = acrossShards
+                ? merge(wigRepository.findResponsesOnEachShard(spec, sort.toSort(), pageSize + 1), sort, pageSize + 1)
+                : wigRepository.findResponses(spec, sort.toSort(), pageSize + 1);
+
+        // 3. 한 개 더 읽혔으면 다음 페이지가 있다는 뜻. 잘라내고 마지막 행으로 커서 생성
+        boolean hasNext = rows.size() > pageSize;
+        List<WigResponseDto> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+                ? WigCursor.of(sort, content.get(content.size() - 1)).encode()
+                : null;
+
+        return new WigPageResponseDto(content, nextCursor, hasNext, pageSize);
+    }
+
+    /**
+     * 샤드별 결과(각각 정렬됨)를 id 순서로 합쳐서 앞에서 limit 개
+     */
+    private static List<WigResponseDto> merge(List<List<WigResponseDto>> perShard, WigSortType sort, int limit) {
+        Comparator<WigResponseDto> byId = Comparator.comparing(WigResponseDto::getId);
+        return perShard.stream()
+                .flatMap(List::stream)
+                .sorted(sort.isDescending() ? byId.reversed() : byId)
+                .limit(limit)
+                .toList();
     }
 
     /**
      * 모든 WIG 조회
-     * DB에서 Wig 전부 뽑아서, 응답용 DTO 리스트로 변환해서 돌려준다.
+     * DB에서 요청 팀의 Wig 전부를 응답용 DTO 리스트로 바로 읽어서 돌려준다.
+     * 테이블 크기만큼 메모리를 쓰므로 wig.pagination.unbounded-enabled 로 명시적으로 켠 경우에만 컨트롤러에서 호출된다.
      */
     public List<WigResponseDto> getAllWigs() {
-        log.info("전체 WIG 목록 조회");
-
-        return wigRepository.findAll() //DB에서 Wig 엔티티 전체를 가져오는 JPA 메서드, 반환 타입: List<Wig>
-                .stream() // 리스트를 Stream으로 변환, Stream<Wig>, “흐름”으로 하나씩 처리할 수 있게 만든다.
-                .map(WigResponseDto::from)  // map() : stream 요소를 변환하는 메서드. from메서드에 wig를 넣고 반환
-                .collect(Collectors.toList()); // Stream → List로 다시 모으는 과정.
+        return wigRepository.findAllResponses(TeamContext.current()); // select new WigResponseDto(...) 로 DTO를 바로 만든다. 엔티티/스냅샷이 행 수만큼 쌓이지 않는다
     }
 
     /**
      * ID로 WIG 조회
      * ID로 찾고, 없으면 404 던지고, 있으면 DTO로 감싸서 준다.
      * “조회 + 없으면 커스텀 예외”
+     *
+     * 결과는 wigById 캐시(Caffeine, 크기/TTL 제한)에 담긴다. 적중하면 트랜잭션도 DB 조회도 없다.
+     * sync = true : 같은 id로 동시에 캐시 미스가 나면 한 스레드만 DB를 읽고 나머지는 그 결과를 기다린다 (캐시 스탬피드 방지)
+     * 수정/삭제 시 무효화는 커밋 이후 WigCacheInvalidator가 처리.
+     *
+     * 미스 조회는 WigLookupCoalescer 가 한다. 다른 id 미스가 몰리면 IN 쿼리 하나로 묶이므로,
+     * 여기서 트랜잭션을 열어 커넥션을 쥔 채 기다리지 않도록 트랜잭션 없이 실행한다 (조회 트랜잭션은 Coalescer 가 연다).
      */
+    @Cacheable(cacheNames = CacheConfig.WIG_BY_ID, key = "#id", sync = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public WigResponseDto getWigById(Long id) {
-        log.info("WIG 조회 - id: {}", id);
-
-        Wig wig = wigRepository.findById(id)
+        return wigLookupCoalescer.find(id) // 엔티티 없이 DTO로 바로 조회
                 .orElseThrow(() -> new WigNotFoundException(id)); // 해당 ID가 없으면, 커스텀 예외를 터뜨림. 이 예외는 GlobalExceptionHandler가 404로 변환.
-
-        return WigResponseDto.from(wig);
     }
 
     /**
-     * WIG 수정
-     * 엔티티 하나 영속 상태로 가져온 뒤, setter로 값만 바꾸고 트랜잭션 끝날 때 JPA가 알아서 UPDATE 날린다. 이게 dirty checking 패턴.
-     * 이 패턴은 나중에 도메인 메서드 기반 변경(ex. wig.updateGoalAndDescription(...))으로 발전시킬 수 있음.
+     * 여러 id 조회 (GET /api/wigs?ids=)
+     * wigById 캐시에 있는 것은 캐시에서, 나머지는 IN 쿼리 한 번으로 읽고 캐시에 채워 둔다 (채우는 중 무효화가 오면 채우지 않는다).
+     * 모두 캐시에 있으면 트랜잭션도 DB 조회도 없다.
+     *
+     * @param ids 조회할 id (중복은 한 번만, 1 ~ wig.lookup.max-ids 개)
+     * @return 찾은 WIG(요청 순서) + 없는 id
      */
-    @Transactional
-    public WigResponseDto updateWig(Long id, WigRequestDto requestDto) {
-        log.info("WIG 수정 시작 - id: {}", id);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WigMultiGetResponseDto getWigsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new WigBadRequestException("조회할 id가 없습니다");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        int maxIds = wigProperties.getLookup().getMaxIds();
+        if (distinct.size() > maxIds) {
+            throw new WigBadRequestException("한 번에 조회할 수 있는 id는 최대 " + maxIds + "개입니다");
+        }
+        if (distinct.contains(null)) {
+            throw new WigBadRequestException("id가 비어 있습니다");
+        }
 
-        // 1. 기존 WIG 조회
-        Wig wig = wigRepository.findById(id) // 조회된 wig는 영속성 컨텍스트가 관리하는 상태
-                .orElseThrow(()-> new WigNotFoundException(id));
+        // 1. 캐시 적중분 + 나머지는 IN 쿼리 한 번 (wigById 캐시의 묶음 로드)
+        Map<Long, WigResponseDto> found = loadAll(distinct);
 
-        // 2. 필드 업데이트
-        wig.setGoal(requestDto.getGoal());
-        wig.setDescription(requestDto.getDescription());
+        // 2. 요청 순서대로
+        List<WigResponseDto> content = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinct) {
+            WigResponseDto wig = found.get(id);
+            if (wig != null) {
+                content.add(wig);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new WigMultiGetResponseDto(content, missing);
+    }
 
-        // 3. @Transactional + JPA 영속성 컨텍스트 덕분에
-        //    save()를 명시적으로 호출하지 않아도 자동으로 UPDATE 쿼리 실행
-        //    (Dirty Checking - 변경 감지)
+    /**
+     * wigById 캐시로 여러 id 를 읽는다. 캐시에 없는 id 는 IN 쿼리 한 번으로 읽어서 채운다.
+     *
+     * 읽은 값을 나중에 putIfAbsent 로 넣으면, IN 쿼리가 옛 행을 읽은 뒤 수정이 커밋되고 무효화(evict)가 먼저 끝났을 때
+     * 옛 값이 다시 들어가 TTL 동안 남는다. 그래서 AsyncCache 묶음 로드를 쓴다: 읽기 전에 미완료 Future 를 먼저 자리에 넣고,
+     * 그 사이 무효화가 오면 Future 가 빠지므로 다 읽은 값은 캐시에 들어가지 않는다 (getWigById 의 sync 로드와 같다).
+     * 조회 자체는 이 스레드에서 바로 한다 (요청의 primary 고정, 팀, SQL 집계가 그대로 적용된다).
+     * 캐시가 Caffeine 이 아니면 채우지 않고 읽기만 한다.
+     */
+    private Map<Long, WigResponseDto> loadAll(Set<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.WIG_BY_ID);
+        if (!(cache instanceof CaffeineCache caffeine)) {
+            return wigLookupCoalescer.findAll(ids);
+        }
+        Map<Object, Object> loaded;
+        try {
+            loaded = caffeine.getAsyncCache()
+                    .getAll(ids, (misses, executor) -> CompletableFuture.completedFuture(
+                            wigLookupCoalescer.findAll(misses.stream().map(Long.class::cast).toList())))
+                    .join();
+        } catch (CompletionException e) {
+            // 같이 기다린 다른 로드(예: 없는 id 의 getWigById)가 실패했다. 그 id 는 캐시에 없으므로 채우지 않고 다시 읽는다
+            return wigLookupCoalescer.findAll(ids);
+        }
+        Map<Long, WigResponseDto> found = new HashMap<>(loaded.size() * 2);
+        loaded.forEach((id, value) -> {
+            if (value instanceof WigResponseDto wig) {
+                found.put((Long) id, wig);
+            }
+        });
+        return found;
+    }
 
-        log.info("WIG 수정 완료 - id: {}", id);
-        return WigResponseDto.from(wig);
+    /**
+     * WIG 버전만 조회 (If-None-Match 비교용)
+     * 캐시에 DTO가 있으면 DB를 거치지 않고, 없으면 version 컬럼 하나만 읽는다. 엔티티/DTO를 만들지 않는다.
+     */
+    public Long getWigVersion(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.WIG_BY_ID);
+        Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+        if (cached != null && cached.get() instanceof WigResponseDto wig) {
+            return wig.getVersion();
+        }
+        return wigShardLocator.callOnOwner(id, () -> wigRepository.findVersionById(id))
+                .orElseThrow(() -> new WigNotFoundException(id));
     }
 
     /**
-     * WIG 삭제
-     * 존재 확인 → 없으면 404 → 있으면 삭제. 한 트랜잭션 안에서 깔끔하게 처리
+     * WIG 수정
+     * 엔티티를 읽어오지 않고 UPDATE ... WHERE id = ? 한 문장만 실행한다. (예전: findById SELECT + 변경 감지 UPDATE)
+     * 바뀐 행 수가 0이면 없는 id → 404. 응답의 goal/description 은 방금 쓴 값 그대로라 다시 읽을 필요가 없다.
+     *
+     * expectedVersion(If-Match)이 있으면 "AND version = ?" 조건까지 한 문장에 넣는다.
+     * 0행이면 없는 id(404)인지 버전 충돌(412)인지 그때만 한 번 더 확인한다.
+     * 조건이 없으면(If-Match 없는 PUT) UPDATE + version 컬럼 SELECT 두 문장이다. MySQL 의 UPDATE 는 바뀐 값을 돌려주지 않으므로,
+     * 응답 ETag 와 변경 이벤트에 넣을 새 버전을 같은 트랜잭션에서 version 컬럼만 다시 읽는다
+     * (행 잠금을 쥔 채로 읽으므로 다른 요청의 버전이 섞이지 않는다).
+     *
+     * @param expectedVersion If-Match 로 받은 버전. null이면 조건 없이 덮어쓴다
      */
     @Transactional
-    public void deleteWig(Long id) {
-        log.info("WIG 삭제 시작 - id: {}", id);
+    public WigResponseDto updateWig(Long id, WigRequestDto requestDto, Long expectedVersion) {
+        return wigShardLocator.callOnOwnerForWrite(id, () -> update(id, requestDto, expectedVersion));
+    }
 
-        // 1. 존재하는지 확인
-        if (!wigRepository.existsById(id)) {
-            throw new WigNotFoundException(id);
+    private WigResponseDto update(Long id, WigRequestDto requestDto, Long expectedVersion) {
+        // 1. UPDATE 한 번. 영향받은 행 수로 존재 여부(와 버전 일치)를 판단
+        Long newVersion;
+        if (expectedVersion != null) {
+            int updated = wigRepository.updateGoalAndDescriptionIfVersion(
+                    id, requestDto.getGoal(), requestDto.getDescription(), expectedVersion);
+            if (updated == 0) {
+                throw notFoundOrConflict(id);
+            }
+            newVersion = expectedVersion + 1;
+        } else {
+            int updated = wigRepository.updateGoalAndDescription(id, requestDto.getGoal(), requestDto.getDescription());
+            if (updated == 0) {
+                throw new WigNotFoundException(id);
+            }
+            newVersion = wigRepository.findVersionById(id)
+                    .orElseThrow(() -> new WigNotFoundException(id));
         }
 
-        // 2. 삭제
-        wigRepository.deleteById(id);
+        // 2. 요청 값으로 응답 DTO 구성
+        WigResponseDto response = WigResponseDto.builder()
+                .id(id)
+                .goal(requestDto.getGoal())
+                .description(requestDto.getDescription())
+                .version(newVersion)
+                .build();
+        eventPublisher.publishEvent(WigChangedEvent.updated(response));
+        return response;
+    }
 
-        log.info("WIG 삭제 완료 - id: {}", id);
+    /**
+     * WIG 삭제 (버전 조건 없음)
+     */
+    @Transactional
+    public void deleteWig(Long id) {
+        deleteWig(id, null);
+    }
+
+    /**
+     * WIG 삭제
+     * DELETE ... WHERE id = ? 한 문장. 지운 행이 없으면 404. (예전: existsById + deleteById 내부 findById + DELETE = 3번 왕복)
+     *
+     * @param expectedVersion If-Match 로 받은 버전. 다르면 412
+     */
+    @Transactional
+    public void deleteWig(Long id, Long expectedVersion) {
+        wigShardLocator.runOnOwnerForWrite(id, () -> {
+            if (expectedVersion != null) {
+                if (wigRepository.deleteByIdAndVersionReturningCount(id, expectedVersion) == 0) {
+                    throw notFoundOrConflict(id);
+                }
+            } else if (wigRepository.deleteByIdReturningCount(id) == 0) {
+                throw new WigNotFoundException(id);
+            }
+        });
+        eventPublisher.publishEvent(WigChangedEvent.deleted(id));
+    }
+
+    /**
+     * 버전 조건부 쓰기가 0행일 때: 행이 있으면 버전 충돌, 없으면 404
+     */
+    private RuntimeException notFoundOrConflict(Long id) {
+        return wigRepository.existsById(id)
+                ? new WigVersionConflictException(id)
+                : new WigNotFoundException(id);
     }
+
     /**
-     * 특정 키워드로 WIG 검색 (추가 기능 예시)
-     * Repository에 메서드를 추가해야 함
+     * 특정 키워드로 WIG 검색
+     * DB의 LIKE '%keyword%' 대신 인메모리 n-gram 역색인(WigSearchIndex)에서 관련도 순으로 찾는다. DB 조회 없음.
+     *
+     * @param page 0부터 시작
+     * @param size 페이지 크기. 1 ~ wig.search.max-size 로 잘라서 적용
      */
-    // public List<WigResponseDto> searchWigs(String keyword) {
-    //     log.info("WIG 검색 - keyword: {}", keyword);
-    //
-    //     return wigRepository.findByGoalContaining(keyword).stream()
-    //             .map(WigResponseDto::from)
-    //             .collect(Collectors.toList());
-    // }
+    public WigSearchResponseDto searchWigs(String keyword, int page, Integer size) {
+        if (page < 0) {
+            throw new WigBadRequestException("page는 0 이상이어야 합니다");
+        }
+        WigProperties.Search search = wigProperties.getSearch();
+        int pageSize = size == null
+                ? search.getDefaultSize()
+                : Math.max(1, Math.min(size, search.getMaxSize()));
+        if ((long) page * pageSize > search.getMaxOffset()) {
+            throw new WigBadRequestException("page × size는 " + search.getMaxOffset() + " 이하여야 합니다");
+        }
+
+        return wigSearchIndex.search(keyword, page, pageSize);
+    }
 }
@@ -0,0 +1,216 @@
+package Focus._dx.service;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.TeamContext;
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigBatchItemResult.Status;
+import Focus._dx.dto.WigImportResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.transfer.WigExportWriter;
+import Focus._dx.transfer.WigImportReader;
+import Focus._dx.transfer.WigTransferFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * WIG 대량 내보내기/가져오기 (환경 간 이전, 백업)
+ *
+ * 내보내기 : 읽기 전용 트랜잭션 하나에서 JDBC 커서로 읽은 행을 바로 응답 스트림에 쓴다 (WigRepository.forEachResponse).
+ *           엔티티를 만들지 않으므로 영속성 컨텍스트가 자라지 않고, 메모리는 행 수와 상관없이 쓰기 버퍼만큼이다.
+ * 가져오기 : 업로드를 한 행씩 읽어서(WigImportReader) WigRequestDto 규칙으로 검증하고,
+ *           통과한 행을 wig.batch.chunk-size 개씩 모아 청크마다 한 트랜잭션으로 커밋한다 (WigBatchService.createWigs 와 같은 방식).
+ *           들고 있는 것은 청크 하나와 앞쪽 오류 max-reported-errors 개뿐이라 수 GB 업로드도 메모리가 일정하다.
+ *           청크 하나가 DB 오류로 롤백되면 그 행들만 FAILED 로 보고하고 다음 청크를 계속 처리한다.
+ *           업로드가 중간에 끊기면 그때까지 커밋된 청크는 남는다.
+ */
+@Service
+@Timed("wig.service") // 메서드마다 class/method 태그가 붙은 타이머 (management.observations.annotations.enabled)
+@Slf4j
+public class WigTransferService {
+
+    private final WigRepository wigRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WigProperties wigProperties;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WigTransferService(WigRepository wigRepository, EntityManager entityManager, Validator validator,
+                              ApplicationEventPublisher eventPublisher, WigProperties wigProperties,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.wigRepository = wigRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.wigProperties = wigProperties;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(WigRequestDto.class); // 모르는 필드(id, version)는 무시 (부트 기본 설정)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true); // 복제본이 켜져 있으면 복제본에서 읽는다
+    }
+
+    /**
+     * 요청 팀(TeamContext)의 WIG 전부를 id 순서로 out 에 쓴다
+     *
+     * @return 쓴 행 수
+     */
+    public long exportWigs(WigTransferFormat format, OutputStream out) throws IOException {
+        log.info("WIG 내보내기 시작 - 형식: {}", format);
+        long[] rows = {0};
+        try (WigExportWriter writer = WigExportWriter.open(format, out, objectMapper.getFactory())) {
+            readOnlyTransaction.executeWithoutResult(status -> wigRepository.forEachResponse(TeamContext.current(), wig -> {
+                try {
+                    writer.write(wig);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 클라이언트가 끊으면 커서를 닫고 트랜잭션을 끝낸다
+                }
+                rows[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("WIG 내보내기 완료 - 형식: {}, 행 수: {}", format, rows[0]);
+        return rows[0];
+    }
+
+    /**
+     * 업로드를 읽어서 요청 팀의 WIG 를 만든다. id/version 은 읽지 않고 새로 매긴다
+     */
+    public WigImportResponseDto importWigs(WigTransferFormat format, InputStream in) throws IOException {
+        WigProperties.Transfer properties = wigProperties.getTransfer();
+        int chunkSize = wigProperties.getBatch().getChunkSize();
+        log.info("WIG 가져오기 시작 - 형식: {}", format);
+
+        WigImportReader reader = WigImportReader.open(format, in, requestReader, properties.getMaxRecordLength());
+        Report report = new Report(properties.getMaxReportedErrors());
+        List<WigImportReader.Row> chunk = new ArrayList<>(chunkSize);
+        String team = TeamContext.current();
+
+        WigImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            report.read++;
+            if (row.errors() != null) {
+                report.fail(row.line(), Status.INVALID, row.errors());
+                continue;
+            }
+            Set<ConstraintViolation<WigRequestDto>> violations = validator.validate(row.value());
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new TreeMap<>();
+                violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+                report.fail(row.line(), Status.INVALID, errors);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                save(chunk, team, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            save(chunk, team, report);
+        }
+        if (report.read == 0) {
+            throw new WigBadRequestException("가져올 항목이 없습니다");
+        }
+
+        List<WigImportResponseDto.Error> errors = report.errors();
+        log.info("WIG 가져오기 완료 - 읽은 행: {}, 저장: {}, 실패: {}", report.read, report.imported, report.failed);
+        return new WigImportResponseDto(report.read, report.imported, report.failed,
+                report.failed > errors.size(), errors);
+    }
+
+    /**
+     * 청크 하나를 별도 트랜잭션으로 저장. INSERT 는 hibernate.jdbc.batch_size 만큼 묶여서 나간다
+     * INSERT 는 EntityManager.flush() 에서 나가므로 DB 가 거절하면 번역되지 않은 PersistenceException 으로 온다.
+     */
+    private void save(List<WigImportReader.Row> chunk, String team, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Wig> entities = chunk.stream().map(row -> row.value().toEntity(team)).toList();
+                wigRepository.saveAll(entities);
+                entityManager.flush();
+                entityManager.clear(); // 청크가 끝나면 영속성 컨텍스트를 비운다
+                entities.forEach(wig -> eventPublisher.publishEvent(WigChangedEvent.created(WigResponseDto.from(wig))));
+            });
+            report.imported += chunk.size();
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("WIG 가져오기 청크 실패 - 행 수: {}, 첫 줄: {}", chunk.size(), chunk.get(0).line(), e);
+            chunk.forEach(row -> report.fail(row.line(), Status.FAILED, Map.of("database", "저장 중 오류가 발생했습니다")));
+        }
+    }
+
+    /**
+     * 가져오기 집계. 오류는 줄 번호가 가장 앞인 maxErrors 개까지만 담는다
+     * 저장 실패는 청크가 찬 뒤에야 들어오므로, 들어온 순서대로 자르면 뒤 줄의 검증 오류가 앞 줄의 저장 실패를 밀어낸다.
+     * 그래서 줄 번호가 가장 큰 오류를 맨 위에 두는 힙으로 앞쪽 maxErrors 개만 남긴다.
+     */
+    private static final class Report {
+
+        private static final Comparator<WigImportResponseDto.Error> LINE_ORDER =
+                Comparator.comparingLong(WigImportResponseDto.Error::getLine);
+
+        private final int maxErrors;
+        private final PriorityQueue<WigImportResponseDto.Error> kept = new PriorityQueue<>(LINE_ORDER.reversed());
+        private long read;
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, Status status, Map<String, String> messages) {
+            failed++;
+            if (maxErrors <= 0) {
+                return;
+            }
+            if (kept.size() == maxErrors) {
+                if (kept.peek().getLine() < line) {
+                    return;
+                }
+                kept.poll();
+            }
+            kept.add(new WigImportResponseDto.Error(line, status, messages));
+        }
+
+        /**
+         * 담아 둔 오류를 줄 번호 순으로
+         */
+        private List<WigImportResponseDto.Error> errors() {
+            List<WigImportResponseDto.Error> errors = new ArrayList<>(kept);
+            errors.sort(LINE_ORDER);
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package Focus._dx.stream;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.event.WigChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WIG 변경 피드 (GET /api/wigs/stream, Server-Sent Events)
+ *
+ * 스코어보드가 GET /api/wigs 를 계속 폴링하는 대신, 연결 하나를 열어두고 커밋된 생성/수정/삭제만 받는다.
+ * - 발행 : WigChangedEvent 를 커밋 이후(AFTER_COMMIT)에만 받아서 순번을 매기고, JSON 으로 한 번만 직렬화한다
+ * - 이벤트 id : "<epoch>-<순번>". epoch 는 프로세스가 뜰 때 정하는 임의 값이라, 재시작한 서버나 로드 밸런서 뒤의 다른 인스턴스가
+ *   같은 순번을 다시 쓰더라도 예전 id 와 섞이지 않는다
+ * - 이어받기 : 최근 buffer-size 개를 링 버퍼에 보관. Last-Event-ID 이후 이벤트를 먼저 보내고 실시간으로 이어간다.
+ *   epoch 가 다르거나(재시작, 다른 인스턴스) 너무 오래 끊겼으면(버퍼에서 밀려남) reset 이벤트를 보낸다 → 클라이언트는 목록을 다시 읽는다
+ * - 팬아웃 : 발행 스레드는 구독자별 큐에 넣기만 하고 바로 돌아간다. 실제 전송은 구독자마다 가상 스레드 하나가 큐를 비운다.
+ *   큐가 subscriber-queue-size 를 넘으면(느린 구독자) 그 연결만 끊는다. 다른 구독자와 커밋 스레드는 기다리지 않는다
+ * - 유휴 비용 : SseEmitter 는 서블릿 비동기 요청이라 열려 있는 동안 요청 스레드를 잡지 않는다. 구독자당 큐와 emitter 객체뿐
+ * - heartbeat-interval 마다 주석(:)을 보내서 프록시 유휴 타임아웃을 피하고 끊긴 연결을 정리한다
+ */
+@Component
+@Slf4j
+public class WigChangeFeed implements SmartLifecycle {
+
+    /** 재연결 대기 시간 안내 (SSE retry 필드) */
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private static final String RESET_EVENT = "reset";
+
+    private final WigProperties.Stream properties;
+    private final ObjectMapper objectMapper;
+    private final Counter droppedSubscribers;
+
+    private final Object lock = new Object(); // 순번 부여 + 링 버퍼 + 구독 등록을 한 줄로 세운다 (이어받기 중 빠지거나 겹치는 이벤트 방지)
+    private final String epoch = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong()); // 이 프로세스의 이벤트 id 앞부분
+    private final Change[] ring;
+    private long lastId; // 마지막으로 발행한 순번. 0이면 아직 없음
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledExecutorService heartbeat;
+    private volatile boolean running;
+
+    public WigChangeFeed(WigProperties wigProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = wigProperties.getStream();
+        this.objectMapper = objectMapper;
+        this.ring = new Change[properties.getBufferSize()];
+        this.droppedSubscribers = meterRegistry.counter("wig.stream.dropped");
+        meterRegistry.gauge("wig.stream.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * 새 구독. lastEventId 가 있으면 그 뒤 이벤트부터 보낸다.
+     *
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 id ("<epoch>-<순번>"). 없으면 null
+     * @throws ResponseStatusException 구독 수 상한 초과 (503)
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "구독자가 많아 잠시 후 다시 연결하세요");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * 커밋된 변경을 순번을 매겨 보관하고 모든 구독자 큐에 넣는다.
+     */
+    @TransactionalEventListener
+    public void onWigChanged(WigChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event); // 구독자 수와 상관없이 한 번만 직렬화
+        } catch (JsonProcessingException e) {
+            log.error("변경 피드 직렬화 실패 - id: {}", event.getId(), e);
+            return;
+        }
+
+        List<Subscriber> slow = new ArrayList<>();
+        synchronized (lock) {
+            Change change = new Change(++lastId, event.getType().name(), json);
+            ring[(int) (change.id() % ring.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(change)) {
+                    slow.add(subscriber);
+                }
+            }
+        }
+        slow.forEach(this::drop);
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * 마지막으로 발행한 이벤트 id. 아직 없으면 "<epoch>-0"
+     */
+    public String lastEventId() {
+        synchronized (lock) {
+            return eventId(lastId);
+        }
+    }
+
+    /**
+     * 이 프로세스에서 순번 sequence 인 이벤트의 id
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    @Override
+    public void start() {
+        long intervalMillis = properties.getHeartbeatInterval().toMillis();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wig-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    /**
+     * 열린 구독을 모두 닫는다. phase 가 기본값(가장 늦게 시작, 가장 먼저 멈춤)이라 웹 서버 graceful shutdown 보다 먼저 실행되고,
+     * 그래서 끝나지 않는 SSE 요청 때문에 종료가 타임아웃까지 밀리지 않는다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * lock 안에서 호출. 이 프로세스의 id 이고 버퍼에 남아 있으면 그 뒤부터, 아니면 reset
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long sequence = sequenceOf(lastEventId);
+        long oldest = Math.max(1, lastId - ring.length + 1);
+        if (sequence < 0 || sequence > lastId || sequence + 1 < oldest) {
+            subscriber.add(Change.reset(lastId)); // 다른 epoch(재시작, 다른 인스턴스), 깨진 id, 또는 버퍼에서 밀려남
+            return;
+        }
+        for (long id = sequence + 1; id <= lastId; id++) {
+            subscriber.add(ring[(int) (id % ring.length)]);
+        }
+    }
+
+    /**
+     * "<epoch>-<순번>" 의 순번. 이 프로세스의 id 가 아니거나 형식이 틀리면 -1
+     */
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.pending.get() == 0) { // 보낼 이벤트가 밀려 있으면 그게 연결 유지 역할을 한다
+                subscriber.add(Change.HEARTBEAT);
+                subscriber.schedule();
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            droppedSubscribers.increment();
+            log.debug("느린 구독자 연결 종료 - 미전송 {}건", subscriber.pending.get());
+            // 전송 중인 스레드가 emitter 를 잡고 있을 수 있으므로 발행(커밋) 스레드에서 직접 닫지 않는다
+            senders.execute(subscriber.emitter::complete); // 클라이언트는 Last-Event-ID 로 다시 붙어서 이어받는다
+        }
+    }
+
+    /**
+     * 피드 이벤트 하나. data 는 이미 직렬화된 JSON
+     */
+    private record Change(long id, String name, String data) {
+
+        static final Change HEARTBEAT = new Change(0, null, null);
+
+        static Change reset(long lastId) {
+            return new Change(lastId, RESET_EVENT, "{}");
+        }
+
+        SseEmitter.SseEventBuilder toEvent(String epoch) {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(epoch + "-" + id)
+                    .name(name)
+                    .reconnectTime(RECONNECT_MILLIS)
+                    .data(data);
+        }
+    }
+
+    /**
+     * 구독자 하나. 큐는 발행 스레드가 채우고, 가상 스레드 하나(sending)만 비운다.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Change> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return false 면 큐가 꽉 찬 느린 구독자
+         */
+        boolean offer(Change change) {
+            if (pending.get() >= properties.getSubscriberQueueSize()) {
+                return false;
+            }
+            add(change);
+            return true;
+        }
+
+        /**
+         * 상한 없이 넣는다 (구독 시작 때 이어받을 이벤트)
+         */
+        void add(Change change) {
+            pending.incrementAndGet();
+            queue.add(change);
+        }
+
+        void schedule() {
+            if (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Change change;
+                while ((change = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    emitter.send(change.toEvent(epoch));
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this); // 끊긴 연결. emitter 쪽 콜백도 곧 정리된다
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            schedule(); // 비우는 사이 들어온 이벤트
+        }
+    }
+}
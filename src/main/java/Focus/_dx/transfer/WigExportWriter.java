@@ -0,0 +1,112 @@
+package Focus._dx.transfer;
+
+import Focus._dx.dto.WigResponseDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 내보내기 행 쓰기. 행을 받는 대로 응답 스트림에 쓰고 아무것도 모아두지 않는다.
+ * 버퍼가 찰 때마다 응답으로 나가므로 메모리는 행 수와 상관없이 버퍼 크기로 일정하다.
+ */
+public abstract class WigExportWriter implements Closeable {
+
+    static final String[] COLUMNS = {"id", "goal", "description", "version"};
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static WigExportWriter open(WigTransferFormat format, OutputStream out, JsonFactory jsonFactory) throws IOException {
+        return switch (format) {
+            case NDJSON -> new Ndjson(jsonFactory.createGenerator(new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)));
+            case CSV -> new Csv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+        };
+    }
+
+    public abstract void write(WigResponseDto wig) throws IOException;
+
+    /**
+     * NDJSON : 필드를 직접 쓴다 (행마다 ObjectMapper 직렬화기 조회를 거치지 않는다). 문자열 이스케이프는 Jackson 이 한다
+     */
+    private static final class Ndjson extends WigExportWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(JsonGenerator generator) {
+            this.generator = generator;
+            generator.setRootValueSeparator(null); // 줄바꿈은 직접 쓴다
+        }
+
+        @Override
+        public void write(WigResponseDto wig) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], wig.getId());
+            generator.writeStringField(COLUMNS[1], wig.getGoal());
+            generator.writeStringField(COLUMNS[2], wig.getDescription());
+            generator.writeNumberField(COLUMNS[3], wig.getVersion());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * CSV : 헤더 한 줄 + 행. 쉼표/따옴표/줄바꿈이 든 값만 따옴표로 감싸고 안의 따옴표는 두 번 쓴다. null 은 빈 칸
+     */
+    private static final class Csv extends WigExportWriter {
+
+        private final Writer writer;
+
+        private Csv(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(WigResponseDto wig) throws IOException {
+            writer.write(Long.toString(wig.getId()));
+            writer.write(',');
+            writeField(wig.getGoal());
+            writer.write(',');
+            writeField(wig.getDescription());
+            writer.write(',');
+            writer.write(Long.toString(wig.getVersion()));
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
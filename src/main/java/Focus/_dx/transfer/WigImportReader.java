@@ -0,0 +1,265 @@
+package Focus._dx.transfer;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.exception.WigBadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 가져오기 업로드를 한 행씩 읽는다. 파일 전체를 메모리에 올리지 않으므로 업로드 크기와 상관없이 버퍼 + 행 하나만큼만 쓴다.
+ * 행 하나가 max-record-length 자를 넘으면 나머지를 버리고 그 행을 오류로 돌려준다 (거대한 한 줄로 메모리가 터지지 않게).
+ *
+ * 읽기만 하고 검증(WigRequestDto 규칙)은 하지 않는다. 형식이 깨진 행은 value 없이 errors 만 채워서 돌려준다.
+ * id/version 열(또는 필드)은 읽지 않는다. 가져온 행은 새 id 로 만들어진다.
+ */
+public abstract class WigImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    protected final int maxRecordLength;
+    protected long line = 1; // 다음에 읽을 문자의 줄 번호
+
+    /**
+     * 읽은 행 하나. line 은 그 행이 시작한 줄 번호(1부터, CSV 헤더가 1번 줄)
+     */
+    public record Row(long line, WigRequestDto value, Map<String, String> errors) {
+    }
+
+    public static WigImportReader open(WigTransferFormat format, InputStream in, ObjectReader jsonReader,
+                                       int maxRecordLength) {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return switch (format) {
+            case NDJSON -> new Ndjson(reader, jsonReader, maxRecordLength);
+            case CSV -> new Csv(reader, maxRecordLength);
+        };
+    }
+
+    protected WigImportReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 다음 행. 끝이면 null
+     */
+    public abstract Row next() throws IOException;
+
+    protected int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    protected Map<String, String> tooLong() {
+        return Map.of("line", "행이 너무 깁니다 (최대 " + maxRecordLength + "자)");
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나. 빈 줄은 건너뛴다
+     */
+    private static final class Ndjson extends WigImportReader {
+
+        private final ObjectReader jsonReader;
+        private final StringBuilder current = new StringBuilder();
+
+        private Ndjson(Reader reader, ObjectReader jsonReader, int maxRecordLength) {
+            super(reader, maxRecordLength);
+            this.jsonReader = jsonReader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                long start = line;
+                current.setLength(0);
+                boolean truncated = false;
+                int c = read();
+                if (c == -1) {
+                    return null;
+                }
+                while (c != -1 && c != '\n') {
+                    if (c != '\r') {
+                        if (current.length() < maxRecordLength) {
+                            current.append((char) c);
+                        } else {
+                            truncated = true;
+                        }
+                    }
+                    c = read();
+                }
+                line++;
+
+                if (truncated) {
+                    return new Row(start, null, tooLong());
+                }
+                if (!current.isEmpty() && current.charAt(0) == '\uFEFF') {
+                    current.deleteCharAt(0); // 파일 앞의 BOM
+                }
+                if (current.toString().isBlank()) {
+                    continue;
+                }
+                try {
+                    WigRequestDto value = jsonReader.readValue(current.toString());
+                    return value != null
+                            ? new Row(start, value, null)
+                            : new Row(start, null, Map.of("item", "항목이 비어 있습니다"));
+                } catch (JsonProcessingException e) {
+                    return new Row(start, null, Map.of("json", "JSON 형식이 아닙니다: " + e.getOriginalMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 첫 행은 헤더. goal/description 열을 이름으로 찾고(대소문자 무시) 다른 열은 무시한다.
+     * 따옴표 안의 쉼표/줄바꿈은 값으로 읽고, 빈 칸은 null. 빈 행은 건너뛴다
+     */
+    private static final class Csv extends WigImportReader {
+
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private int goalColumn = -1;
+        private int descriptionColumn = -1;
+        private boolean headerRead;
+
+        private Csv(Reader reader, int maxRecordLength) {
+            super(reader, maxRecordLength);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (!headerRead) {
+                headerRead = true;
+                if (!readHeader()) {
+                    return null;
+                }
+            }
+            while (true) {
+                long start = line;
+                Map<String, String> errors = readRecord();
+                if (errors == null && fields.isEmpty()) {
+                    return null; // 끝
+                }
+                if (errors != null) {
+                    return new Row(start, null, errors);
+                }
+                if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                    continue; // 빈 행
+                }
+                return new Row(start, new WigRequestDto(column(goalColumn), column(descriptionColumn)), null);
+            }
+        }
+
+        private boolean readHeader() throws IOException {
+            Map<String, String> errors = readRecord();
+            if (errors == null && fields.isEmpty()) {
+                return false; // 빈 파일
+            }
+            if (errors != null) {
+                throw new WigBadRequestException("CSV 헤더를 읽을 수 없습니다: " + errors.values());
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT); // 엑셀이 붙이는 BOM
+                columns.putIfAbsent(name, i);
+            }
+            goalColumn = columns.getOrDefault("goal", -1);
+            descriptionColumn = columns.getOrDefault("description", -1);
+            if (goalColumn < 0) {
+                throw new WigBadRequestException("CSV 헤더에 goal 열이 없습니다 (예: id,goal,description,version)");
+            }
+            return true;
+        }
+
+        private String column(int index) {
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * 행 하나를 fields 에 읽는다. 끝이면 fields 가 비어 있고 null, 형식 오류면 오류 내용
+         */
+        private Map<String, String> readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+            int length = 0;
+            boolean inQuotes = false;
+            boolean truncated = false;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            while (true) {
+                if (c == -1) {
+                    if (inQuotes) {
+                        fields.add(field.toString());
+                        return Map.of("line", "따옴표가 닫히지 않았습니다");
+                    }
+                    break;
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            c = '"'; // "" 는 따옴표 하나
+                        } else {
+                            inQuotes = false;
+                            c = next;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    c = read();
+                    continue;
+                } else if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    c = read();
+                    continue;
+                } else if (c == '"' && field.isEmpty()) {
+                    inQuotes = true;
+                    c = read();
+                    continue;
+                }
+                if (++length <= maxRecordLength) {
+                    field.append((char) c);
+                } else {
+                    truncated = true;
+                }
+                c = read();
+            }
+            line++;
+            fields.add(field.toString());
+            return truncated ? tooLong() : null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package Focus._dx.transfer;
+
+import Focus._dx.exception.WigBadRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 대량 내보내기/가져오기 형식 (GET /api/wigs/export, POST /api/wigs/import)
+ * - NDJSON : 한 줄에 WIG 하나 ({"id":1,"goal":"...","description":"...","version":0})
+ * - CSV : 첫 줄 헤더(id,goal,description,version) + 한 행에 WIG 하나 (RFC 4180 따옴표 규칙)
+ */
+public enum WigTransferFormat {
+
+    NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    WigTransferFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * 업로드 Content-Type 으로 형식 판단. text/csv 는 CSV, application/x-ndjson · application/jsonl 은 NDJSON
+     */
+    public static WigTransferFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if ("csv".equalsIgnoreCase(type.getSubtype())) {
+                return CSV;
+            }
+            if (type.getSubtype().toLowerCase().contains("ndjson") || type.getSubtype().toLowerCase().contains("jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new WigBadRequestException("가져오기 형식은 text/csv 또는 application/x-ndjson 이어야 합니다: " + contentType);
+    }
+}
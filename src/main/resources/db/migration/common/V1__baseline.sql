@@ -0,0 +1,45 @@
+-- 기준 스키마 (spring.profiles.active=prod 에서 Flyway 가 적용, Hibernate 는 validate 만)
+-- MySQL 과 H2(MySQL 모드) 양쪽에서 도는 문법만 쓴다. 엔티티를 바꾸면 새 V 파일을 추가하고 이 파일은 고치지 않는다.
+-- ddl-auto 로 이미 테이블이 만들어진 DB 는 baseline-on-migrate 로 이 버전을 건너뛴다
+
+create table wig (
+    id          bigint       not null,
+    goal        varchar(100) not null,
+    description varchar(500),
+    version     bigint       default 0 not null,
+    primary key (id)
+);
+
+-- 목록 조회 keyset (goal, id)
+create index idx_wig_goal_id on wig (goal, id);
+
+-- Wig.id 테이블 생성기. 행은 첫 id 할당 때 Hibernate 가 넣는다 (기존 id 가 있으면 WigIdGeneratorAligner 가 맞춘다)
+create table wig_id_generator (
+    sequence_name varchar(255) not null,
+    next_val      bigint,
+    primary key (sequence_name)
+);
+
+create table measure_point (
+    id            bigint      not null auto_increment,
+    wig_id        bigint      not null,
+    measure_type  varchar(10) not null,
+    recorded_at   bigint      not null,
+    measure_value double      not null,
+    primary key (id)
+);
+
+create index idx_measure_point_wig_type_time on measure_point (wig_id, measure_type, recorded_at, id);
+
+-- PK 를 스코어보드 조회 순서로 잡아서 엔티티의 idx_measure_rollup_wig_granularity_bucket 는 따로 만들지 않는다
+create table measure_rollup (
+    wig_id       bigint      not null,
+    granularity  varchar(10) not null,
+    bucket_start date        not null,
+    measure_type varchar(10) not null,
+    point_count  bigint      not null,
+    value_sum    double      not null,
+    value_min    double      not null,
+    value_max    double      not null,
+    primary key (wig_id, granularity, bucket_start, measure_type)
+);
@@ -0,0 +1,16 @@
+-- WIG 팀(테넌트) 키와 팀 → 샤드 지정 배치 (wig.sharding)
+-- 기존 행은 모두 default 팀이 된다
+
+alter table wig add column team varchar(64) default 'default' not null;
+
+-- 팀별 목록 keyset (team, id) / (team, goal, id)
+create index idx_wig_team_id on wig (team, id);
+create index idx_wig_team_goal_id on wig (team, goal, id);
+
+-- 해시 배치 대신 지정된 샤드 (ShardRebalanceService 가 팀을 옮기면 생긴다). 샤딩 모드에서는 0번 샤드의 것만 읽는다
+create table team_placement (
+    team     varchar(64) not null,
+    shard_no int         not null,
+    moving   boolean     default false not null,
+    primary key (team)
+);
@@ -0,0 +1,8 @@
+-- ddl-auto 시절 MySQL 에서 만들어진 enum('LAG','LEAD') 컬럼을 엔티티 매핑(varchar)에 맞춘다
+-- V1 로 만든 DB 에서는 이미 varchar(10) 이라 바뀌는 것이 없다. H2 에는 네이티브 enum 컬럼이 생긴 적이 없어서 MySQL 에만 둔다
+
+alter table measure_point modify column measure_type varchar(10) not null;
+
+alter table measure_rollup
+    modify column granularity varchar(10) not null,
+    modify column measure_type varchar(10) not null;
@@ -0,0 +1,175 @@
+package Focus._dx.cache;
+
+import Focus._dx.config.CacheConfig;
+import Focus._dx.dto.WigMultiGetResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import Focus._dx.support.QueryCountTestConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * wigById 캐시: 적중은 SQL 없이 끝나고, 수정/삭제는 커밋된 뒤에만 지우고, 같은 id 의 동시 미스는 한 번만 읽는지,
+ * 여러 id 조회가 채우는 도중 무효화가 오면 옛 값을 남기지 않는지 확인
+ * 실제로 읽었는지(로더가 돌았는지)는 캐시 프록시 안쪽의 wig.service{method=getWigById} 타이머 수로 본다.
+ */
+@SpringBootTest
+@Import(QueryCountTestConfig.class)
+class WigByIdCacheTest {
+
+    private static final int CALLERS = 20;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @MockitoSpyBean
+    WigLookupCoalescer wigLookupCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+        cache().clear();
+    }
+
+    @Test
+    void secondReadIsHitWithoutSql() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", "주 3회"));
+        wigService.getWigById(created.getId());
+        double loads = loads();
+
+        QueryCountTestConfig.reset();
+        WigResponseDto cached = wigService.getWigById(created.getId());
+
+        assertThat(QueryCountTestConfig.count().getTotal()).isZero();
+        assertThat(loads()).isEqualTo(loads);
+        assertThat(cached.getGoal()).isEqualTo("운동");
+    }
+
+    @Test
+    void updateEvictsOnlyAfterCommit() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        wigService.getWigById(created.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            wigService.updateWig(created.getId(), new WigRequestDto("수영", null), null);
+            assertThat(cache().get(created.getId())).isNotNull(); // 아직 커밋 전
+        });
+
+        assertThat(cache().get(created.getId())).isNull();
+        assertThat(wigService.getWigById(created.getId()).getGoal()).isEqualTo("수영");
+    }
+
+    @Test
+    void rolledBackUpdateKeepsCachedValue() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        wigService.getWigById(created.getId());
+        double loads = loads();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            wigService.updateWig(created.getId(), new WigRequestDto("수영", null), null);
+            status.setRollbackOnly();
+        });
+
+        assertThat(wigService.getWigById(created.getId()).getGoal()).isEqualTo("운동");
+        assertThat(loads()).isEqualTo(loads);
+    }
+
+    @Test
+    void deleteEvictsAfterCommit() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        wigService.getWigById(created.getId());
+
+        wigService.deleteWig(created.getId(), null);
+
+        assertThat(cache().get(created.getId())).isNull();
+        assertThatThrownBy(() -> wigService.getWigById(created.getId())).isInstanceOf(WigNotFoundException.class);
+    }
+
+    @Test
+    void concurrentMissesOnSameIdLoadOnce() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        double loads = loads();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<WigResponseDto>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return wigService.getWigById(created.getId());
+                }));
+            }
+            start.countDown();
+        }
+
+        for (Future<WigResponseDto> result : results) {
+            assertThat(result.get().getGoal()).isEqualTo("운동");
+        }
+        assertThat(loads() - loads).isEqualTo(1);
+    }
+
+    @Test
+    void updateCommittedDuringMultiGetLoadIsNotOverwritten() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+
+        // IN 쿼리가 수정 전 행을 읽은 직후 수정이 커밋되고 캐시가 비워진다
+        doAnswer(invocation -> {
+            Object stale = invocation.callRealMethod();
+            wigService.updateWig(created.getId(), new WigRequestDto("수영", null), null);
+            return stale;
+        }).when(wigLookupCoalescer).findAll(anyCollection());
+
+        WigMultiGetResponseDto result = wigService.getWigsByIds(List.of(created.getId()));
+        reset(wigLookupCoalescer);
+
+        assertThat(result.getContent()).extracting(WigResponseDto::getGoal).containsExactly("운동");
+        assertThat(cache().get(created.getId())).isNull(); // 옛 값을 다시 채우지 않았다
+        assertThat(wigService.getWigById(created.getId()).getGoal()).isEqualTo("수영");
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.WIG_BY_ID);
+    }
+
+    private double loads() {
+        Timer timer = meterRegistry.find("wig.service").tags("method", "getWigById").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,65 @@
+package Focus._dx.cache;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.service.WigService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 다른 인스턴스가 만든 id(이 인스턴스에는 이벤트가 없음)가 구성 기준선보다 작아도 max-age 재구성 뒤에는 통과하는지 확인
+ */
+@SpringBootTest(properties = {"wig.id-filter.enabled=true", "wig.id-filter.max-age=300ms"})
+@AutoConfigureMockMvc
+class WigIdFilterMaxAgeTest {
+
+    private static final Duration AWAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigIdFilter wigIdFilter;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idCreatedElsewhereBelowHighestIsAdmittedAfterMaxAge() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        long foreignId = created.getId() + 1_000_000;
+        long higherId = foreignId + 1_000_000;
+
+        // 구성 때 이미 더 큰 id 가 DB 에 있었고, 구성 뒤에 다른 인스턴스가 예전에 받아 둔 구간으로 foreignId 를 만들었다
+        insert(higherId, "명상");
+        wigIdFilter.rebuild();
+        insert(foreignId, "독서");
+
+        long deadline = System.nanoTime() + AWAIT.toNanos();
+        while (!wigIdFilter.mightExist(foreignId) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(wigIdFilter.mightExist(foreignId)).isTrue();
+        mockMvc.perform(get("/api/wigs/{id}", foreignId))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("delete from wig where id in (?, ?)", foreignId, higherId);
+    }
+
+    private void insert(long id, String goal) {
+        jdbcTemplate.update("insert into wig (id, team, goal, description, version) values (?, 'default', ?, null, 0)", id, goal);
+    }
+}
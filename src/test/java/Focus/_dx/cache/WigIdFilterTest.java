@@ -0,0 +1,106 @@
+package Focus._dx.cache;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.service.WigService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * id 필터가 없는 id 를 DB 없이 404 로 끝내고, 방금 만든 id 와 구성 기준선 위의 id 는 막지 않는지 확인
+ * 필터에서 끝났는지는 wig.idfilter.lookups{result=rejected} 로 본다. 필터는 기본으로 꺼져 있어서 켜고 본다.
+ */
+@SpringBootTest(properties = "wig.id-filter.enabled=true")
+@AutoConfigureMockMvc
+class WigIdFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigIdFilter wigIdFilter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createdIdIsVisibleRightAfterCommit() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", "주 3회"));
+
+        assertThat(wigIdFilter.mightExist(created.getId())).isTrue();
+        mockMvc.perform(get("/api/wigs/{id}", created.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deletedIdIsRejectedAfterRebuild() throws Exception {
+        WigResponseDto deleted = wigService.createWig(new WigRequestDto("독서", null));
+        wigService.createWig(new WigRequestDto("명상", null)); // 지운 id 가 가장 큰 id 가 되지 않게
+        wigService.deleteWig(deleted.getId());
+
+        // 재구성 전에는 필터에 남아 있어서 DB 까지 가서 404
+        assertThat(wigIdFilter.mightExist(deleted.getId())).isTrue();
+        mockMvc.perform(get("/api/wigs/{id}", deleted.getId()))
+                .andExpect(status().isNotFound());
+
+        wigIdFilter.rebuild();
+        double before = rejected();
+        mockMvc.perform(get("/api/wigs/{id}", deleted.getId()))
+                .andExpect(status().isNotFound());
+        assertThat(rejected() - before).isEqualTo(1);
+    }
+
+    @Test
+    void idAboveHighestKnownIsLeftToDatabase() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+
+        // 다른 인스턴스가 만들었을 수 있는 id. 필터가 답하지 않는다
+        assertThat(wigIdFilter.mightExist(created.getId() + 1_000_000)).isTrue();
+    }
+
+    @Test
+    void idCreatedElsewhereAboveBuildMarkIsFoundEvenAfterLargerLocalId() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", null));
+        wigIdFilter.rebuild();
+        long foreignId = created.getId() + 1_000_000;
+
+        // 구성 뒤에 이 인스턴스가 더 큰 id 를 만들었어도 기준선은 그대로라, 다른 인스턴스가 만든 foreignId 는 DB 에서 찾는다
+        wigIdFilter.onWigChanged(WigChangedEvent.created(
+                WigResponseDto.builder().id(foreignId + 1_000_000).goal("명상").version(0L).build()));
+        jdbcTemplate.update("insert into wig (id, team, goal, description, version) values (?, 'default', '독서', null, 0)",
+                foreignId);
+        try {
+            assertThat(wigIdFilter.mightExist(foreignId)).isTrue();
+            mockMvc.perform(get("/api/wigs/{id}", foreignId))
+                    .andExpect(status().isOk());
+        } finally {
+            jdbcTemplate.update("delete from wig where id = ?", foreignId);
+        }
+    }
+
+    @Test
+    void notFoundExceptionHasNoStackTrace() {
+        assertThat(new WigNotFoundException(1L).getStackTrace()).isEmpty();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("wig.idfilter.lookups").tag("result", "rejected").counter().count();
+    }
+}
@@ -0,0 +1,152 @@
+package Focus._dx.cache;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 목록 스냅샷이 같은 데이터 버전 안에서는 다시 만들어지지 않고, 커밋 이후에는 새 내용으로 바뀌는지 확인
+ * 스냅샷은 로더 실행기(가상 스레드)에서 만들어져 스레드 단위 SQL 카운트에 잡히지 않으므로 캐시 적중/미스 지표로 본다.
+ */
+@SpringBootTest(properties = {
+        "wig.list-cache.gzip-min-size=1B",
+        "wig.list-cache.max-staleness=2s"
+})
+@AutoConfigureMockMvc
+class WigListSnapshotCacheTest {
+
+    private static final long OTHER_INSTANCE_ID = 900_000_000L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+        wigService.createWig(new WigRequestDto("운동", "주 3회")); // 커밋 → 버전이 올라가서 이전 테스트의 스냅샷은 안 읽힌다
+    }
+
+    @Test
+    void list_sameVersionReusesSnapshot() throws Exception {
+        double misses = gets("miss");
+        double hits = gets("hit");
+
+        MvcResult first = mockMvc.perform(get("/api/wigs").param("goalPrefix", "운"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andReturn();
+        MvcResult second = mockMvc.perform(get("/api/wigs").param("goalPrefix", "운"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(gets("miss") - misses).isEqualTo(1);
+        assertThat(gets("hit") - hits).isEqualTo(1);
+        assertThat(second.getResponse().getContentAsByteArray()).isEqualTo(first.getResponse().getContentAsByteArray());
+        assertThat(second.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(first.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void list_commitPublishesNewSnapshot() throws Exception {
+        String before = mockMvc.perform(get("/api/wigs"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        wigService.createWig(new WigRequestDto("독서", "월 2권"));
+
+        String after = mockMvc.perform(get("/api/wigs"))
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].goal").value("독서"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void list_ifNoneMatchReturns304() throws Exception {
+        String eTag = mockMvc.perform(get("/api/wigs"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/wigs").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void list_gzipCopyForClientsThatAcceptIt() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/api/wigs"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/api/wigs").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn();
+
+        String strong = plain.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo("W/" + strong);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(plain.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void writeFromAnotherInstanceShowsUpAfterMaxStaleness() throws Exception {
+        mockMvc.perform(get("/api/wigs").param("goalPrefix", "운"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // 다른 인스턴스의 쓰기: 이 인스턴스에는 WigChangedEvent 가 없어서 데이터 버전이 그대로다
+        jdbcTemplate.update("insert into wig (id, team, goal, description, version) values (?, 'default', '운전', null, 0)",
+                OTHER_INSTANCE_ID);
+        mockMvc.perform(get("/api/wigs").param("goalPrefix", "운"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        int length;
+        do {
+            Thread.sleep(100);
+            length = JsonPath.read(mockMvc.perform(get("/api/wigs").param("goalPrefix", "운"))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), "$.content.length()");
+        } while (length < 2 && System.nanoTime() < deadline);
+        assertThat(length).isEqualTo(2);
+    }
+
+    private double gets(String result) {
+        var counter = meterRegistry.find("cache.gets")
+                .tags("cache", WigListSnapshotCache.CACHE_NAME, "result", result)
+                .functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+}
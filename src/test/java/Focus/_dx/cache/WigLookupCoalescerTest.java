@@ -0,0 +1,85 @@
+package Focus._dx.cache;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시에 몰린 단건 조회가 IN 쿼리로 묶이고, 각 호출이 자기 결과를 돌려받는지 확인
+ * 조회 자리를 하나로 줄이고 묶음 대기를 늘려서, 첫 조회가 도는 동안 나머지가 줄을 서게 한다.
+ */
+@SpringBootTest(properties = {
+        "wig.lookup.max-concurrent-queries=1",
+        "wig.lookup.max-linger=50ms"
+})
+class WigLookupCoalescerTest {
+
+    private static final int CALLERS = 50;
+
+    @Autowired
+    WigLookupCoalescer wigLookupCoalescer;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentLookupsAreCoalescedAndFannedOut() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            ids.add(wigService.createWig(new WigRequestDto("목표 " + i, "설명")).getId());
+        }
+        ids.set(CALLERS - 1, -1L); // 없는 id 하나
+
+        DistributionSummary batchSizes = meterRegistry.get("wig.lookup.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<WigResponseDto>>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return wigLookupCoalescer.find(id);
+                }));
+            }
+            start.countDown();
+        }
+
+        for (int i = 0; i < CALLERS - 1; i++) {
+            assertThat(results.get(i).get()).get().extracting(WigResponseDto::getGoal).isEqualTo("목표 " + i);
+        }
+        assertThat(results.get(CALLERS - 1).get()).isEmpty();
+
+        // 50번이 아니라 몇 번의 IN 쿼리로 끝났다
+        assertThat(batchSizes.count() - batchesBefore).isPositive().isLessThan(CALLERS / 2);
+        assertThat(batchSizes.max()).isGreaterThan(1);
+    }
+}
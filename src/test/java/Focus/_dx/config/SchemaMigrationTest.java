@@ -0,0 +1,57 @@
+package Focus._dx.config;
+
+import Focus._dx.domain.MeasureType;
+import Focus._dx.domain.RollupGranularity;
+import Focus._dx.dto.MeasurePointRequestDto;
+import Focus._dx.dto.ScoreboardResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.service.MeasureService;
+import Focus._dx.service.WigService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * prod 프로필처럼 Flyway 로 스키마를 만들고 Hibernate 는 validate 만 할 때 시작이 되는지 (= 마이그레이션과 엔티티가 맞는지) 확인
+ * 다른 테스트가 쓰는 ddl-auto 스키마(wigdb)와 섞이지 않게 DB 를 따로 쓴다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    MeasureService measureService;
+
+    @Test
+    void migratedSchemaValidatesAndServesWrites() {
+        assertThat(flyway.info().applied()).extracting(MigrationInfo::getVersion)
+                .extracting(Object::toString)
+                .containsExactly("1", "3"); // V2 는 MySQL 전용 (db/migration/mysql)
+
+        // id 생성기 행은 첫 할당 때 생긴다
+        WigResponseDto created = wigService.createWig(new WigRequestDto("마이그레이션 목표", "설명"));
+        assertThat(wigService.getWigById(created.getId()).getGoal()).isEqualTo("마이그레이션 목표");
+
+        // enum 컬럼(varchar)과 복합 PK 집계 테이블
+        measureService.record(List.of(new MeasurePointRequestDto(created.getId(), MeasureType.LEAD, 3.0, null)));
+        ScoreboardResponseDto scoreboard = measureService.getScoreboard(created.getId(), RollupGranularity.WEEK, null);
+        assertThat(scoreboard.getLatestLead()).isNotNull();
+        assertThat(scoreboard.getLead()).anySatisfy(rollup -> assertThat(rollup.getCount()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,142 @@
+package Focus._dx.controller;
+
+import Focus._dx.config.SmileFormatConfig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Accept / Content-Type 에 Smile 을 보내면 같은 DTO 가 Smile 로 오가고, 아무것도 없으면 JSON 그대로인지,
+ * 표현마다 ETag 가 다르고 Vary: Accept 가 붙는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SmileFormatTest {
+
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createAcceptsAndReturnsSmile() throws Exception {
+        byte[] body = smile.writeValueAsBytes(new WigRequestDto("매일 운동", "주 5회"));
+
+        byte[] response = mockMvc.perform(post("/api/wigs")
+                        .contentType(SmileFormatConfig.APPLICATION_SMILE)
+                        .accept(SmileFormatConfig.APPLICATION_SMILE)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SmileFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = smile.readTree(response);
+        assertThat(created.get("goal").asText()).isEqualTo("매일 운동");
+        assertThat(wigRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void singleWigETagDependsOnRepresentation() throws Exception {
+        Long id = wigService.createWig(new WigRequestDto("매일 운동", null)).getId();
+
+        String jsonETag = mockMvc.perform(get("/api/wigs/{id}", id))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smileETag = mockMvc.perform(get("/api/wigs/{id}", id).accept(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(content().contentType(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(smileETag).isNotEqualTo(jsonETag);
+
+        // JSON 으로 받아 둔 ETag 로 Smile 을 물으면 304 가 아니라 Smile 본문
+        mockMvc.perform(get("/api/wigs/{id}", id).accept(SmileFormatConfig.APPLICATION_SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/wigs/{id}", id).accept(SmileFormatConfig.APPLICATION_SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, smileETag))
+                .andExpect(status().isNotModified());
+
+        // Smile ETag 도 같은 버전이라 If-Match 로 쓸 수 있다
+        mockMvc.perform(put("/api/wigs/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"주 3회 운동\"}")
+                        .header(HttpHeaders.IF_MATCH, smileETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void acceptPicksRepresentationByQuality() throws Exception {
+        Long id = wigService.createWig(new WigRequestDto("매일 운동", null)).getId();
+        String jsonETag = "\"0\"";
+        String smileETag = "\"0-smile\"";
+
+        // Smile 이 Accept 에 있어도 JSON 보다 q 가 낮으면 JSON 본문, JSON ETag
+        mockMvc.perform(get("/api/wigs/{id}", id).header(HttpHeaders.ACCEPT, "application/json, application/x-jackson-smile;q=0.1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag));
+        // 순서와 상관없이 q 가 높은 쪽
+        mockMvc.perform(get("/api/wigs/{id}", id).header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/x-jackson-smile"))
+                .andExpect(content().contentType(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, smileETag));
+        // q 가 같으면 더 구체적인 쪽
+        mockMvc.perform(get("/api/wigs/{id}", id).header(HttpHeaders.ACCEPT, "*/*, application/x-jackson-smile"))
+                .andExpect(content().contentType(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, smileETag));
+        // 목록 스냅샷도 JSON 으로 나간다
+        mockMvc.perform(get("/api/wigs").header(HttpHeaders.ACCEPT, "application/json, application/x-jackson-smile;q=0.1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void listInSmileIsSmallerThanJson() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            wigService.createWig(new WigRequestDto("목표 " + i, "설명 " + i));
+        }
+
+        byte[] json = mockMvc.perform(get("/api/wigs").param("size", "50"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] binary = mockMvc.perform(get("/api/wigs").param("size", "50").accept(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SmileFormatConfig.APPLICATION_SMILE))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = smile.readTree(binary);
+        assertThat(page.get("content")).hasSize(50);
+        assertThat(page.get("content").get(49).get("goal").asText()).isEqualTo("목표 49");
+        assertThat(binary.length).isLessThan(json.length);
+    }
+}
@@ -0,0 +1,181 @@
+package Focus._dx.controller;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/wigs 커서 페이지네이션 확인
+ * 페이지 경계에서 빠지거나 겹치는 행이 없는지(같은 goal 이 경계에 걸친 경우 포함), 접두사의 %, _ 가 글자 그대로인지,
+ * size 상한/하한, 깨진 커서 → 400, /all 설정 게이트.
+ * 목록 스냅샷 캐시는 끄고 서비스 조회를 그대로 본다.
+ */
+@SpringBootTest(properties = {
+        "wig.pagination.default-size=2",
+        "wig.pagination.max-size=3",
+        "wig.list-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+class WigListTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    WigProperties wigProperties;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void idPagesFollowKeysetInBothDirections() throws Exception {
+        List<Long> ids = create("a", "b", "c", "d", "e");
+
+        assertThat(walk("ID_ASC")).containsExactly(
+                List.of(ids.get(0), ids.get(1)), List.of(ids.get(2), ids.get(3)), List.of(ids.get(4)));
+        assertThat(walk("ID_DESC")).containsExactly(
+                List.of(ids.get(4), ids.get(3)), List.of(ids.get(2), ids.get(1)), List.of(ids.get(0)));
+    }
+
+    @Test
+    void goalPagesBreakTiesByIdAcrossPageBoundary() throws Exception {
+        // 같은 goal "나" 세 개가 첫 페이지와 둘째 페이지 경계에 걸친다
+        List<Long> ids = create("나", "나", "가", "나", "다");
+
+        assertThat(walk("GOAL_ASC")).containsExactly(
+                List.of(ids.get(2), ids.get(0)), List.of(ids.get(1), ids.get(3)), List.of(ids.get(4)));
+        assertThat(walk("GOAL_DESC")).containsExactly(
+                List.of(ids.get(4), ids.get(3)), List.of(ids.get(1), ids.get(0)), List.of(ids.get(2)));
+    }
+
+    @Test
+    void goalPrefixMatchesPercentAndUnderscoreLiterally() throws Exception {
+        create("100%_달성", "100점", "1000회", "a_b", "axb");
+
+        assertThat(goals(page(get("/api/wigs").param("goalPrefix", "100%")))).containsExactly("100%_달성");
+        assertThat(goals(page(get("/api/wigs").param("goalPrefix", "a_")))).containsExactly("a_b");
+        assertThat(goals(page(get("/api/wigs").param("goalPrefix", "100").param("size", "3"))))
+                .containsExactlyInAnyOrder("100%_달성", "100점", "1000회");
+    }
+
+    @Test
+    void sizeIsClampedToConfiguredRange() throws Exception {
+        create("a", "b", "c", "d", "e");
+
+        JsonNode tooLarge = page(get("/api/wigs").param("size", "1000"));
+        assertThat(tooLarge.get("size").asInt()).isEqualTo(3);
+        assertThat(tooLarge.get("content")).hasSize(3);
+
+        JsonNode tooSmall = page(get("/api/wigs").param("size", "0"));
+        assertThat(tooSmall.get("size").asInt()).isEqualTo(1);
+        assertThat(tooSmall.get("content")).hasSize(1);
+
+        assertThat(page(get("/api/wigs")).get("size").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void malformedOrMismatchedCursorIsBadRequest() throws Exception {
+        create("a", "b", "c");
+
+        mockMvc.perform(get("/api/wigs").param("cursor", "!!!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("잘못된 커서입니다"));
+        mockMvc.perform(get("/api/wigs").param("cursor", "djF8SURfQVNDfOyVhOuLiA")) // "v1|ID_ASC|아니" → id 가 숫자가 아님
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("잘못된 커서입니다"));
+
+        String idCursor = page(get("/api/wigs").param("sort", "ID_ASC")).get("nextCursor").asText();
+        mockMvc.perform(get("/api/wigs").param("sort", "GOAL_ASC").param("cursor", idCursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("커서의 정렬 방식이 요청과 다릅니다"));
+    }
+
+    @Test
+    void allEndpointIsOnlyOpenWhenEnabled() throws Exception {
+        create("a", "b", "c", "d");
+
+        mockMvc.perform(get("/api/wigs/all"))
+                .andExpect(status().isNotFound());
+
+        WigProperties.Pagination pagination = wigProperties.getPagination();
+        pagination.setUnboundedEnabled(true);
+        try {
+            mockMvc.perform(get("/api/wigs/all"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(4)); // max-size 에 잘리지 않는다
+        } finally {
+            pagination.setUnboundedEnabled(false);
+        }
+    }
+
+    private List<Long> create(String... goals) {
+        List<Long> ids = new ArrayList<>();
+        for (String goal : goals) {
+            ids.add(wigService.createWig(new WigRequestDto(goal, null)).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * 기본 크기(2)로 nextCursor 를 따라 끝까지 읽고 페이지별 id 목록
+     */
+    private List<List<Long>> walk(String sort) throws Exception {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/wigs").param("sort", sort);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = page(request);
+            List<Long> ids = new ArrayList<>();
+            page.get("content").forEach(wig -> ids.add(wig.get("id").asLong()));
+            pages.add(ids);
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return pages;
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(response);
+    }
+
+    private static List<String> goals(JsonNode page) {
+        List<String> goals = new ArrayList<>();
+        page.get("content").forEach(wig -> goals.add(wig.get("goal").asText()));
+        return goals;
+    }
+}
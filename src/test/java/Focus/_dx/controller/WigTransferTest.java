@@ -0,0 +1,173 @@
+package Focus._dx.controller;
+
+import Focus._dx.domain.Wig;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 내보내기 → 가져오기 왕복과 가져오기의 줄 번호별 오류 보고 확인
+ * 청크 크기를 2로 줄여서 여러 청크 트랜잭션에 걸쳐 저장되게 하고, 보고하는 오류는 3개까지로 줄인다.
+ */
+@SpringBootTest(properties = {"wig.batch.chunk-size=2", "wig.transfer.max-reported-errors=3"})
+@AutoConfigureMockMvc
+class WigTransferTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void csvExportQuotesValuesAndImportsBack() throws Exception {
+        wigService.createWig(new WigRequestDto("달리기, 수영", "주 3회"));
+        wigService.createWig(new WigRequestDto("\"독서\" 하기", "여러 줄\n설명"));
+        wigService.createWig(new WigRequestDto("물 마시기", null));
+
+        String csv = mockMvc.perform(get("/api/wigs/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"wigs.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(csv).startsWith("id,goal,description,version\r\n");
+        assertThat(csv).contains(",\"달리기, 수영\",주 3회,", ",\"\"\"독서\"\" 하기\",\"여러 줄\n설명\",", ",물 마시기,,");
+
+        wigRepository.deleteAllInBatch();
+        JsonNode report = importBody("text/csv", csv);
+
+        assertThat(report.get("read").asLong()).isEqualTo(3);
+        assertThat(report.get("imported").asLong()).isEqualTo(3);
+        assertThat(report.get("failed").asLong()).isZero();
+        assertThat(wigRepository.findAll()).extracting(Wig::getGoal, Wig::getDescription)
+                .containsExactlyInAnyOrder(
+                        tuple("달리기, 수영", "주 3회"),
+                        tuple("\"독서\" 하기", "여러 줄\n설명"),
+                        tuple("물 마시기", null));
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            wigService.createWig(new WigRequestDto("목표 " + i, "설명"));
+        }
+
+        String ndjson = mockMvc.perform(get("/api/wigs/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> goals = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            goals.add(objectMapper.readTree(line).get("goal").asText());
+        }
+        assertThat(goals).containsExactly("목표 0", "목표 1", "목표 2", "목표 3", "목표 4"); // id 순서
+    }
+
+    @Test
+    void ndjsonImportReportsErrorsByLine() throws Exception {
+        String body = String.join("\n",
+                "{\"goal\":\"첫 목표\",\"description\":\"설명\"}",
+                "{\"goal\":\"\"}",
+                "{\"goal\": 깨진 JSON",
+                "",
+                "{\"id\":999,\"goal\":\"둘째 목표\",\"version\":7}",
+                "{\"goal\":\"" + "가".repeat(101) + "\"}",
+                "{\"goal\":\"셋째 목표\"}") + "\n";
+
+        JsonNode report = importBody("application/x-ndjson", body);
+
+        assertThat(report.get("read").asLong()).isEqualTo(6); // 빈 줄은 세지 않는다
+        assertThat(report.get("imported").asLong()).isEqualTo(3);
+        assertThat(report.get("failed").asLong()).isEqualTo(3);
+        assertThat(report.get("errorsTruncated").asBoolean()).isFalse();
+        List<Long> lines = new ArrayList<>();
+        report.get("errors").forEach(error -> lines.add(error.get("line").asLong()));
+        assertThat(lines).containsExactly(2L, 3L, 6L);
+        assertThat(report.get("errors").get(0).get("errors").get("goal").asText()).isEqualTo("목표는 필수입니다");
+        assertThat(report.get("errors").get(1).get("errors").has("json")).isTrue();
+
+        assertThat(wigRepository.findAll()).extracting(Wig::getGoal)
+                .containsExactlyInAnyOrder("첫 목표", "둘째 목표", "셋째 목표");
+        assertThat(wigRepository.findAll()).extracting(Wig::getId).doesNotContain(999L);
+    }
+
+    @Test
+    void chunkRejectedByDatabaseIsReportedAndEarliestLinesAreKept() throws Exception {
+        // 1, 5번 줄이 한 청크. 그 청크는 DB 제약에서 막히고, 실패는 2~4번 줄의 검증 오류보다 늦게 들어온다
+        String body = String.join("\n",
+                "{\"goal\":\"거절\"}",
+                "{\"goal\":\"\"}",
+                "{\"goal\":\"\"}",
+                "{\"goal\":\"\"}",
+                "{\"goal\":\"다섯째 목표\"}") + "\n";
+
+        jdbcTemplate.execute("alter table wig add constraint wig_goal_not_rejected check (goal <> '거절')");
+        JsonNode report;
+        try {
+            report = importBody("application/x-ndjson", body);
+        } finally {
+            jdbcTemplate.execute("alter table wig drop constraint wig_goal_not_rejected");
+        }
+
+        assertThat(report.get("imported").asLong()).isZero();
+        assertThat(report.get("failed").asLong()).isEqualTo(5);
+        assertThat(report.get("errorsTruncated").asBoolean()).isTrue();
+        List<Long> lines = new ArrayList<>();
+        report.get("errors").forEach(error -> lines.add(error.get("line").asLong()));
+        assertThat(lines).containsExactly(1L, 2L, 3L);
+        assertThat(report.get("errors").get(0).get("status").asText()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void importRejectsUnknownFormatAndMissingGoalColumn() throws Exception {
+        mockMvc.perform(post("/api/wigs/import").contentType("application/xml").content("<wigs/>"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/wigs/import").contentType("text/csv").content("id,title\n1,목표\n"))
+                .andExpect(status().isBadRequest());
+        assertThat(wigRepository.count()).isZero();
+    }
+
+    private JsonNode importBody(String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/wigs/import")
+                        .contentType(contentType)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(response);
+    }
+}
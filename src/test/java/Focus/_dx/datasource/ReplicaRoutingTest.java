@@ -0,0 +1,125 @@
+package Focus._dx.datasource;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 인메모리 H2 두 개를 primary / replica 로 두고 라우팅 확인
+ * 복제는 없으므로 replica 는 빈 테이블이다. 목록이 비어 있으면 복제본에서, 행이 보이면 primary 에서 읽은 것.
+ * replica_lag 테이블의 값을 복제 지연(초)으로 쓴다.
+ */
+@SpringBootTest(properties = {
+        "wig.replica.enabled=true",
+        "wig.replica.url=" + ReplicaRoutingTest.REPLICA_URL,
+        "wig.replica.username=sa",
+        "wig.replica.password=",
+        "wig.replica.lag-query=select seconds_behind from replica_lag",
+        "wig.replica.lag-column=seconds_behind",
+        "wig.replica.max-lag=2s",
+        "wig.replica.health-check-interval=1h", // 상태 확인은 테스트에서 직접 호출
+        "wig.search.rebuild-on-startup=false",
+        "wig.list-cache.enabled=false" // 목록 스냅샷은 항상 primary 에서 만들므로 라우팅 확인에서는 끈다
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:wig-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    ReplicaPool replicaPool;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbc.execute("create table if not exists wig (id bigint primary key, team varchar(64) default 'default' not null, "
+                + "goal varchar(100) not null, description varchar(500), version bigint not null default 0)");
+        replicaJdbc.execute("create table if not exists replica_lag (seconds_behind int)");
+        replicaJdbc.update("delete from wig");
+        replicaJdbc.update("delete from replica_lag");
+        replicaJdbc.update("insert into replica_lag values (0)");
+        replicaPool.checkNow();
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readOnlyGoesToReplicaExceptForClientThatJustWrote() throws Exception {
+        mockMvc.perform(post("/api/wigs")
+                        .header("X-Client-Id", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"운동\",\"description\":\"주 3회\"}"))
+                .andExpect(status().isCreated());
+
+        assertThat(replicaPool.isUsable()).isTrue();
+        // 다른 클라이언트 → 복제본 (아직 복제 안 됨)
+        mockMvc.perform(get("/api/wigs").header("X-Client-Id", "reader"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+        // 방금 쓴 클라이언트 → primary
+        mockMvc.perform(get("/api/wigs").header("X-Client-Id", "writer"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() throws Exception {
+        wigService.createWig(new WigRequestDto("독서", "월 2권"));
+
+        replicaJdbc.update("update replica_lag set seconds_behind = 30");
+        replicaPool.checkNow();
+        assertThat(replicaPool.isUsable()).isFalse();
+        mockMvc.perform(get("/api/wigs").header("X-Client-Id", "reader"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // 지연이 풀리면 다시 복제본
+        replicaJdbc.update("update replica_lag set seconds_behind = 0");
+        replicaPool.checkNow();
+        mockMvc.perform(get("/api/wigs").header("X-Client-Id", "reader"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @Test
+    void byIdCacheMissesReadPrimaryNotStaleReplica() throws Exception {
+        Long id = wigService.createWig(new WigRequestDto("운동", "주 3회")).getId();
+        replicaJdbc.update("insert into wig (id, goal, description, version) values (?, '운동', '주 3회', 0)", id); // 복제된 옛 행
+        wigService.updateWig(id, new WigRequestDto("수영", "주 2회"), null);
+
+        // 수정 클라이언트가 아닌 읽기도 wigById 캐시를 채우는 미스는 primary 에서 읽는다
+        mockMvc.perform(get("/api/wigs/{id}", id).header("X-Client-Id", "reader"))
+                .andExpect(jsonPath("$.goal").value("수영"));
+        wigService.updateWig(id, new WigRequestDto("자전거", null), null);
+        mockMvc.perform(get("/api/wigs").param("ids", String.valueOf(id)).header("X-Client-Id", "reader"))
+                .andExpect(jsonPath("$.content[0].goal").value("자전거"));
+    }
+
+    @Test
+    void replicaWithoutLagInformationIsNotUsed() {
+        replicaJdbc.update("delete from replica_lag");
+        replicaPool.checkNow();
+
+        assertThat(replicaPool.isUsable()).isFalse();
+    }
+}
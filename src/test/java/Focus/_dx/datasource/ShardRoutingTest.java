@@ -0,0 +1,272 @@
+package Focus._dx.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 인메모리 H2 세 개를 샤드 0/1/2 로 두고 팀별 배치, id 로 하는 요청의 샤드, 옮기는 중인 팀의 쓰기 차단, 팀 이동 확인
+ * 해시 배치는 alpha → 0, eng → 1, ops → 2 (샤드 3개 기준).
+ * 스키마는 샤드마다 Flyway 로 만들고 Hibernate 는 validate 만 한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:wig-shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "wig.sharding.enabled=true",
+        "wig.sharding.shards[0].url=jdbc:h2:mem:wig-shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "wig.sharding.shards[0].username=sa",
+        "wig.sharding.shards[1].url=jdbc:h2:mem:wig-shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "wig.sharding.shards[1].username=sa",
+        "wig.sharding.move-drain-time=0s",
+        "wig.sharding.placement-refresh-interval=200ms", // 이동 뒤 원래 샤드를 지우기 전 대기
+        "wig.search.rebuild-on-startup=false",
+        "wig.list-cache.enabled=false" // 목록은 매번 샤드에서 읽게
+})
+@AutoConfigureMockMvc
+class ShardRoutingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            JdbcTemplate jdbc = jdbc(shard);
+            jdbc.update("delete from measure_point");
+            jdbc.update("delete from measure_rollup");
+            jdbc.update("delete from wig");
+        }
+        jdbc(0).update("delete from team_placement");
+        shardRouter.refreshPlacements();
+    }
+
+    @Test
+    void writesLandOnTeamShardAndListsAreTeamScoped() throws Exception {
+        create("alpha", "영업 목표");
+        create("eng", "배포 주기 단축");
+        create("eng", "장애 시간 줄이기");
+        create("ops", "비용 절감");
+
+        assertThat(countOf(0, "alpha")).isEqualTo(1);
+        assertThat(countOf(1, "eng")).isEqualTo(2);
+        assertThat(countOf(2, "ops")).isEqualTo(1);
+        assertThat(countOf(0, "eng") + countOf(2, "eng")).isZero();
+
+        mockMvc.perform(get("/api/wigs").header("X-Team-Id", "eng"))
+                .andExpect(jsonPath("$.content.length()").value(2));
+        mockMvc.perform(get("/api/wigs").header("X-Team-Id", "ops"))
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // 샤드마다 id 구간이 달라서 여러 샤드에 걸쳐도 id 가 겹치지 않는다
+        List<Long> ids = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            ids.addAll(jdbc(shard).queryForList("select id from wig", Long.class));
+        }
+        assertThat(ids).hasSize(4).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void invalidTeamKeyIsRejected() throws Exception {
+        mockMvc.perform(get("/api/wigs").header("X-Team-Id", "팀 이름"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void allTeamsPagesMergeEveryShardInIdOrder() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (String team : List.of("alpha", "eng", "ops", "eng", "alpha")) {
+            created.add(create(team, team + " 목표"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/wigs").param("allTeams", "true").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = json(mockMvc.perform(request).andExpect(status().isOk()).andReturn()
+                    .getResponse().getContentAsString());
+            page.get("content").forEach(wig -> seen.add(wig.get("id").asLong()));
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(created.stream().sorted().toList());
+
+        // goal 정렬은 샤드를 합치는 순서가 DB 콜레이션과 다를 수 있어서 받지 않는다
+        mockMvc.perform(get("/api/wigs").param("allTeams", "true").param("sort", "GOAL_ASC"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void byIdRequestsReachOwningShardWhateverTheHeaderTeam() throws Exception {
+        long id = create("eng", "배포 주기 단축");
+
+        // 헤더 팀 ops(샤드 2)/alpha(샤드 0)와 상관없이 eng 의 샤드 1 에서 읽고 쓴다
+        mockMvc.perform(get("/api/wigs/" + id).header("X-Team-Id", "ops"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goal").value("배포 주기 단축"));
+        mockMvc.perform(put("/api/wigs/" + id).header("X-Team-Id", "ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"하루 두 번 배포\"}"))
+                .andExpect(status().isOk());
+        assertThat(jdbc(1).queryForObject("select goal from wig where id = ?", String.class, id))
+                .isEqualTo("하루 두 번 배포");
+        mockMvc.perform(get("/api/wigs").param("ids", String.valueOf(id)).header("X-Team-Id", "alpha"))
+                .andExpect(jsonPath("$.content[0].goal").value("하루 두 번 배포"));
+
+        mockMvc.perform(post("/api/measures").header("X-Team-Id", "alpha")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"wigId\":" + id + ",\"type\":\"LEAD\",\"value\":3}]"))
+                .andExpect(jsonPath("$.accepted").value(1));
+        assertThat(jdbc(1).queryForObject("select count(*) from measure_point", Long.class)).isEqualTo(1);
+        mockMvc.perform(get("/api/wigs/" + id + "/scoreboard").header("X-Team-Id", "ops"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latestLead").exists());
+
+        mockMvc.perform(delete("/api/wigs/" + id).header("X-Team-Id", "alpha"))
+                .andExpect(status().isNoContent());
+        assertThat(countOf(1, "eng")).isZero();
+        assertThat(jdbc(1).queryForObject("select count(*) from measure_point", Long.class)).isZero();
+    }
+
+    @Test
+    void batchByIdSplitsAcrossOwningShards() throws Exception {
+        long eng = create("eng", "배포 주기 단축");
+        long ops = create("ops", "비용 절감");
+
+        mockMvc.perform(put("/api/wigs/batch").header("X-Team-Id", "alpha")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + eng + ",\"goal\":\"하루 두 번 배포\"},"
+                                + "{\"id\":" + ops + ",\"goal\":\"비용 10% 절감\"}]"))
+                .andExpect(jsonPath("$.succeeded").value(2));
+        assertThat(jdbc(1).queryForObject("select goal from wig where id = ?", String.class, eng))
+                .isEqualTo("하루 두 번 배포");
+        assertThat(jdbc(2).queryForObject("select goal from wig where id = ?", String.class, ops))
+                .isEqualTo("비용 10% 절감");
+
+        mockMvc.perform(delete("/api/wigs/batch").header("X-Team-Id", "alpha")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + eng + "," + ops + "]"))
+                .andExpect(jsonPath("$.succeeded").value(2));
+        assertThat(countOf(1, "eng") + countOf(2, "ops")).isZero();
+    }
+
+    @Test
+    void writesToMovingTeamRowsAreRejectedWhateverTheHeaderTeam() throws Exception {
+        long id = create("eng", "배포 주기 단축");
+        shardRouter.assign("eng", 1, true); // eng 를 옮기는 중
+
+        mockMvc.perform(put("/api/wigs/" + id).header("X-Team-Id", "ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"하루 두 번 배포\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(delete("/api/wigs/" + id).header("X-Team-Id", "ops"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(put("/api/wigs/batch").header("X-Team-Id", "ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + id + ",\"goal\":\"하루 두 번 배포\"}]"))
+                .andExpect(jsonPath("$.results[0].status").value("FAILED"));
+        mockMvc.perform(post("/api/measures").header("X-Team-Id", "ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"wigId\":" + id + ",\"type\":\"LEAD\",\"value\":3}]"))
+                .andExpect(jsonPath("$.accepted").value(0))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        assertThat(jdbc(1).queryForObject("select goal from wig where id = ?", String.class, id))
+                .isEqualTo("배포 주기 단축");
+        assertThat(jdbc(1).queryForObject("select count(*) from measure_point", Long.class)).isZero();
+
+        // 읽기는 원래 샤드에서 계속된다
+        mockMvc.perform(get("/api/wigs/" + id).header("X-Team-Id", "ops"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void moveTeamCopiesRowsWithSameIdsAndSwitchesPlacement() throws Exception {
+        long first = create("eng", "배포 주기 단축");
+        long second = create("eng", "장애 시간 줄이기");
+        mockMvc.perform(post("/api/measures").header("X-Team-Id", "eng")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"wigId\":" + first + ",\"type\":\"LEAD\",\"value\":3}]"))
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        mockMvc.perform(post("/api/shards/teams/eng/move").param("to", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value(1))
+                .andExpect(jsonPath("$.wigs").value(2))
+                .andExpect(jsonPath("$.measurePoints").value(1))
+                .andExpect(jsonPath("$.measureRollups").value(2)); // 일/주 집계
+
+        assertThat(countOf(1, "eng")).isZero();
+        assertThat(jdbc(1).queryForObject("select count(*) from measure_point", Long.class)).isZero();
+        assertThat(jdbc(0).queryForList("select id from wig where team = 'eng' order by id", Long.class))
+                .containsExactly(first, second);
+
+        mockMvc.perform(get("/api/shards/teams/eng"))
+                .andExpect(jsonPath("$.shard").value(0))
+                .andExpect(jsonPath("$.hashShard").value(1))
+                .andExpect(jsonPath("$.assigned").value(true))
+                .andExpect(jsonPath("$.moving").value(false));
+        mockMvc.perform(get("/api/wigs").header("X-Team-Id", "eng"))
+                .andExpect(jsonPath("$.content.length()").value(2));
+        mockMvc.perform(get("/api/wigs/" + first + "/scoreboard").header("X-Team-Id", "eng"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latestLead").exists());
+
+        // 새 샤드로 쓰기도 이어진다
+        create("eng", "온보딩 기간 단축");
+        assertThat(countOf(0, "eng")).isEqualTo(3);
+
+        mockMvc.perform(post("/api/shards/teams/eng/move").param("to", "0"))
+                .andExpect(status().isBadRequest()); // 이미 그 샤드
+    }
+
+    private long create(String team, String goal) throws Exception {
+        String body = mockMvc.perform(post("/api/wigs").header("X-Team-Id", team)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"" + goal + "\",\"description\":\"설명\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return json(body).get("id").asLong();
+    }
+
+    private long countOf(int shard, String team) {
+        return jdbc(shard).queryForObject("select count(*) from wig where team = ?", Long.class, team);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shardRouter.dataSource(shard));
+    }
+
+    private JsonNode json(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
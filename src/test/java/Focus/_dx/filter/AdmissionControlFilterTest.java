@@ -0,0 +1,141 @@
+package Focus._dx.filter;
+
+import Focus._dx.config.WigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 클라이언트별 요청률 제한(429)과 DB 지연에 따른 동시 처리 한도 확인
+ */
+@SpringBootTest(properties = {
+        "wig.admission.rate-per-second=0.5", // 2초에 토큰 하나
+        "wig.admission.burst=2"
+})
+@AutoConfigureMockMvc
+class AdmissionControlFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void clientOverRateGets429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/wigs").with(from("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/wigs").with(from("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // 다른 클라이언트는 영향 없음
+        mockMvc.perform(get("/api/wigs").with(from("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rotatingUnverifiedApiKeyDoesNotBypassLimit() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/wigs").with(from("10.0.0.3")).header("X-API-Key", "key-" + i))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/wigs").with(from("10.0.0.3")).header("X-API-Key", "key-2"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void trustedApiKeySeparatesClientsBehindOneAddress() throws Exception {
+        WigProperties.Admission admission = properties();
+        admission.setRatePerSecond(0.5);
+        admission.setBurst(1);
+        admission.setTrustClientKeyHeader(true);
+        try (AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new SimpleMeterRegistry(), admission)) {
+            AdmissionControlFilter filter = new AdmissionControlFilter(admission, limit, new SimpleMeterRegistry());
+
+            assertThat(statusOf(filter, "gateway-a")).isEqualTo(200);
+            assertThat(statusOf(filter, "gateway-a")).isEqualTo(429);
+            assertThat(statusOf(filter, "gateway-b")).isEqualTo(200); // 같은 주소(게이트웨이)라도 검증된 키가 다르면 따로 센다
+        }
+    }
+
+    @Test
+    void limitShrinksWhenDbLatencyRises() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Timer acquire = registry.timer("hikaricp.connections.acquire", "pool", "test");
+        Timer usage = registry.timer("hikaricp.connections.usage", "pool", "test");
+        try (AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(registry, properties())) {
+            for (int round = 0; round < 5; round++) {
+                record(acquire, usage, Duration.ofMillis(1));
+                limit.update();
+            }
+            int healthy = limit.getLimit();
+            assertThat(healthy).isGreaterThan(32);
+
+            for (int round = 0; round < 5; round++) {
+                record(acquire, usage, Duration.ofMillis(20)); // 풀 앞에 줄이 생김
+                limit.update();
+            }
+            assertThat(limit.getLimit()).isLessThan(healthy);
+        }
+    }
+
+    @Test
+    void bulkReadsOnlyGetTheirShare() {
+        try (AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new SimpleMeterRegistry(), properties())) {
+            int bulk = 0;
+            while (limit.tryAcquire(0.5)) {
+                bulk++;
+            }
+            assertThat(bulk).isEqualTo(16);
+            assertThat(limit.tryAcquire(1.0)).isTrue(); // 쓰기 자리는 남아 있다
+        }
+    }
+
+    private static WigProperties.Admission properties() {
+        WigProperties.Admission admission = new WigProperties.Admission();
+        admission.setInitialLimit(32);
+        admission.setSampleInterval(Duration.ofHours(1)); // 테스트에서 update() 를 직접 부른다
+        return admission;
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static int statusOf(AdmissionControlFilter filter, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/wigs");
+        request.addHeader("X-API-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static void record(Timer acquire, Timer usage, Duration latency) {
+        for (int i = 0; i < 100; i++) {
+            acquire.record(latency.dividedBy(2));
+            usage.record(latency.dividedBy(2));
+        }
+    }
+}
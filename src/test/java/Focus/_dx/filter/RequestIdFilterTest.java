@@ -0,0 +1,49 @@
+package Focus._dx.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청 상관 id 가 응답 헤더로 돌아오는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestIdFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void givenRequestIdIsEchoed() throws Exception {
+        mockMvc.perform(get("/api/wigs").header("X-Request-Id", "gw-123.abc_9"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-Id", "gw-123.abc_9"));
+    }
+
+    @Test
+    void missingOrInvalidRequestIdIsGenerated() throws Exception {
+        String generated = mockMvc.perform(get("/api/wigs"))
+                .andReturn().getResponse().getHeader("X-Request-Id");
+        assertThat(generated).matches("[0-9a-f]{16}");
+
+        // 로그에 그대로 찍히면 안 되는 값(공백, 개행 등)은 버리고 새로 만든다
+        String replaced = mockMvc.perform(get("/api/wigs").header("X-Request-Id", "bad id\nforged"))
+                .andReturn().getResponse().getHeader("X-Request-Id");
+        assertThat(replaced).matches("[0-9a-f]{16}");
+    }
+
+    @Test
+    void notFoundStillCarriesRequestIdAndMessage() throws Exception {
+        mockMvc.perform(get("/api/wigs/{id}", Long.MAX_VALUE).header("X-Request-Id", "trace-404"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Request-Id", "trace-404"));
+    }
+}
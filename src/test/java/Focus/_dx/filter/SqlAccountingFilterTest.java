@@ -0,0 +1,71 @@
+package Focus._dx.filter;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요청별 SQL 수/행 수와 서비스 타이머가 엔드포인트 템플릿 단위로 기록되는지 확인
+ */
+@SpringBootTest(properties = "wig.metrics.sql-statement-threshold=0")
+@AutoConfigureMockMvc
+class SqlAccountingFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getWigById_recordsStatementsAndRowsPerUriTemplate() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("목표", "설명"));
+
+        mockMvc.perform(get("/api/wigs/{id}", created.getId())).andExpect(status().isOk());
+        // 두 번째는 캐시 적중이라 SQL 이 없다
+        mockMvc.perform(get("/api/wigs/{id}", created.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("wig.request.sql.statements")
+                .tags("method", "GET", "uri", "/api/wigs/{id}").summary();
+        DistributionSummary rows = meterRegistry.get("wig.request.sql.rows")
+                .tags("method", "GET", "uri", "/api/wigs/{id}").summary();
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(1);
+
+        // 임계값 0 이라 SQL 을 실행한 첫 요청만 걸린다
+        assertThat(meterRegistry.get("wig.request.sql.flagged").tags("uri", "/api/wigs/{id}").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("wig.service").tags("method", "getWigById").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionPoolGaugesAreBound() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,197 @@
+package Focus._dx.ingest;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardPools;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.dto.WigIngestTicketDto.Status;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.exception.ErrorResponse;
+import Focus._dx.exception.GlobalExceptionHandler;
+import Focus._dx.exception.WigIngestRejectedException;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.support.QueryCountTestConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 쓰기 지연 모드에서 생성 요청들이 한 트랜잭션/한 JDBC 배치로 묶여 커밋되는지,
+ * DB 가 거절한 항목만 FAILED 가 되는지, 큐가 차면 503 인지, 종료 때 남은 항목을 다 커밋하는지 확인
+ * max-linger 를 길게 잡아서 연달아 넣은 요청이 같은 묶음에 들어가게 한다.
+ */
+@SpringBootTest(properties = {"wig.ingest.enabled=true", "wig.ingest.max-linger=300ms"})
+@AutoConfigureMockMvc
+@Import(QueryCountTestConfig.class)
+class WigIngestQueueTest {
+
+    private static final Duration AWAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    WigIngestQueue wigIngestQueue;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void submit_groupsItemsIntoOneCommit() {
+        QueryCountTestConfig.reset();
+        List<WigIngestTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tickets.add(wigIngestQueue.submit(new WigRequestDto("목표 " + i, "설명 " + i)));
+        }
+        tickets.forEach(ticket -> assertThat(ticket.await(AWAIT)).isNotNull());
+
+        // 20건 → 한 트랜잭션, INSERT 는 JDBC 배치 한 번
+        assertThat(QueryCountTestConfig.count().getInsert()).isEqualTo(1);
+        assertThat(tickets).allSatisfy(ticket -> assertThat(ticket.toDto().getStatus()).isEqualTo(Status.COMMITTED));
+        assertThat(wigRepository.count()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectedRowFailsAloneAfterPerItemRetry() throws Exception {
+        List<WigIngestTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // 검증을 거치지 않고 넣었으므로 goal 길이(100자)는 DB 가 거절한다
+            String goal = i == 2 ? "가".repeat(101) : "목표 " + i;
+            tickets.add(wigIngestQueue.submit(new WigRequestDto(goal, null)));
+        }
+
+        long deadline = System.nanoTime() + AWAIT.toNanos();
+        while (tickets.stream().anyMatch(ticket -> ticket.toDto().getStatus() == Status.QUEUED)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(tickets).extracting(ticket -> ticket.toDto().getStatus()).containsExactly(
+                Status.COMMITTED, Status.COMMITTED, Status.FAILED, Status.COMMITTED, Status.COMMITTED);
+        assertThat(wigRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void stopCommitsEverythingStillQueued() {
+        List<WigIngestTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tickets.add(wigIngestQueue.submit(new WigRequestDto("목표 " + i, null)));
+        }
+
+        wigIngestQueue.stop(); // max-linger(300ms) 전에 멈춰도 기다리지 않고 남은 항목을 커밋한다
+        try {
+            assertThat(tickets).allSatisfy(ticket -> assertThat(ticket.toDto().getStatus()).isEqualTo(Status.COMMITTED));
+            assertThat(wigRepository.count()).isEqualTo(20);
+            assertThatThrownBy(() -> wigIngestQueue.submit(new WigRequestDto("늦은 요청", null)))
+                    .isInstanceOf(WigIngestRejectedException.class);
+        } finally {
+            wigIngestQueue.start();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsWith503AndRetryAfter() throws Exception {
+        WigProperties properties = new WigProperties();
+        properties.getIngest().setQueueCapacity(1);
+        properties.getIngest().setEnqueueTimeout(Duration.ofMillis(20));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ShardPools> noShards = mock(ObjectProvider.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // 쓰기 스레드가 첫 묶음의 커밋에서 멈춰 있게 한다
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+        WigIngestQueue queue = new WigIngestQueue(mock(WigRepository.class), mock(EntityManager.class), transactionTemplate,
+                mock(ApplicationEventPublisher.class), properties, meterRegistry, new ShardRouter(noShards, properties));
+        queue.start();
+        try {
+            queue.submit(new WigRequestDto("커밋 중", null));
+            assertThat(committing.await(AWAIT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+            queue.submit(new WigRequestDto("대기 중", null)); // 큐 한 칸을 채운다
+
+            assertThatThrownBy(() -> queue.submit(new WigRequestDto("넘침", null)))
+                    .isInstanceOfSatisfying(WigIngestRejectedException.class, e -> {
+                        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler().handleIngestRejected(e);
+                        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                    });
+            assertThat(meterRegistry.counter("wig.ingest.rejected").count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            queue.stop();
+        }
+    }
+
+    @Test
+    void post_respondAsyncReturnsTokenThatCanBePolled() throws Exception {
+        String location = mockMvc.perform(post("/api/wigs")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"고객 확보\",\"description\":\"설명\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.token").exists())
+                .andReturn().getResponse().getHeader("Location");
+
+        String token = location.substring(location.lastIndexOf('/') + 1);
+        assertThat(wigIngestQueue.find(token).orElseThrow().await(AWAIT)).isNotNull();
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMMITTED"))
+                .andExpect(jsonPath("$.wig.goal").value("고객 확보"));
+    }
+
+    @Test
+    void post_withoutPreferWaitsForCommitAndReturnsCreated() throws Exception {
+        mockMvc.perform(post("/api/wigs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"운동\",\"description\":\"주 3회\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").exists());
+
+        mockMvc.perform(get("/api/wigs/ingest/{token}", "없는-토큰"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,174 @@
+package Focus._dx.load;
+
+import Focus._dx.Application;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 과부하에서 유입 제어 유무 비교 (gradle loadTest)
+ *
+ * 커넥션 풀을 4개로 줄이고 동시 클라이언트 CONCURRENCY 개가 DB 를 읽는 목록 조회(스냅샷 캐시 끔)를 반복하면서,
+ * WRITE_EVERY 번에 한 번은 생성 요청을 섞는다. 요청률 제한은 접속 주소별이라 모든 클라이언트(localhost)가 버킷 하나를 나눠 쓰므로,
+ * rate-per-second 를 크게 올려서 빼고 동시 처리 한도만 본다.
+ * 유입 제어가 켜져 있으면 한도를 넘는 요청은 바로 503 으로 빠지므로, 받아들인 요청의 p99 가 대기열 길이만큼 늘어나지 않아야 한다.
+ */
+@Tag("load")
+class AdmissionControlLoadTest {
+
+    private static final int CONCURRENCY = 400;
+    private static final int WRITE_EVERY = 10;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    @Test
+    void admittedP99StaysBoundedUnderOverload() throws Exception {
+        Result unprotected = run(false);
+        Result admission = run(true);
+
+        System.out.println("=== 유입 제어 비교 (동시 " + CONCURRENCY + ", 풀 4, " + DURATION.toSeconds() + "초) ===");
+        System.out.println(unprotected.format("off"));
+        System.out.println(admission.format("on "));
+
+        assertThat(admission.ok()).isPositive();
+        assertThat(admission.readP99Millis()).isLessThan(unprotected.readP99Millis());
+        assertThat(admission.writeOkRatio()).isGreaterThanOrEqualTo(admission.readOkRatio()); // 쓰기가 대량 읽기보다 먼저 받아들여진다
+    }
+
+    private Result run(boolean admissionEnabled) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:admission-" + admissionEnabled + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=4",
+                        "--spring.datasource.hikari.connection-timeout=30000", // 제어가 없을 때는 풀 앞에서 끝까지 기다리게
+                        "--wig.admission.enabled=" + admissionEnabled,
+                        "--wig.admission.sample-interval=200ms",
+                        "--wig.admission.rate-per-second=100000", // 요청률 제한은 빼고 동시 처리 한도만
+                        "--wig.list-cache.enabled=false",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.Focus._dx=warn")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/wigs";
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            seed(client, base);
+
+            drive(client, base, WARMUP);
+            return drive(client, base, DURATION);
+        }
+    }
+
+    private void seed(HttpClient client, String base) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"goal\":\"목표 ").append(i).append("\",\"description\":\"설명\"}");
+        }
+        body.append("]");
+        client.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Result drive(HttpClient client, String base, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Long> readLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong readOk = new AtomicLong();
+        AtomicLong readTotal = new AtomicLong();
+        AtomicLong writeOk = new AtomicLong();
+        AtomicLong writeTotal = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                HttpRequest read = HttpRequest.newBuilder(URI.create(base + "?size=100"))
+                        .GET().timeout(Duration.ofSeconds(30)).build();
+                HttpRequest write = HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"goal\":\"부하\",\"description\":\"쓰기\"}"))
+                        .timeout(Duration.ofSeconds(30)).build();
+                clients.submit(() -> {
+                    long n = 0;
+                    while (System.nanoTime() < deadline) {
+                        boolean isWrite = ++n % WRITE_EVERY == 0;
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(isWrite ? write : read, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (isWrite) {
+                            writeTotal.incrementAndGet();
+                            if (status == 201) {
+                                writeOk.incrementAndGet();
+                            }
+                        } else {
+                            readTotal.incrementAndGet();
+                            if (status == 200) {
+                                readOk.incrementAndGet();
+                                readLatencies.add(System.nanoTime() - start); // 받아들인 요청의 지연만
+                            }
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        List<Long> sorted = new ArrayList<>(readLatencies);
+        Collections.sort(sorted);
+        return new Result(readOk.get(), readTotal.get(), writeOk.get(), writeTotal.get(), duration,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private record Result(long readOk, long readTotal, long writeOk, long writeTotal, Duration duration,
+                          double readP50Millis, double readP99Millis) {
+
+        long ok() {
+            return readOk + writeOk;
+        }
+
+        double readOkRatio() {
+            return readTotal == 0 ? 0 : (double) readOk / readTotal;
+        }
+
+        double writeOkRatio() {
+            return writeTotal == 0 ? 0 : (double) writeOk / writeTotal;
+        }
+
+        String format(String mode) {
+            double seconds = duration.toMillis() / 1000.0;
+            return String.format("%s  goodput=%.0f req/s  read ok=%d/%d  write ok=%d/%d  read p50=%.1fms  read p99=%.1fms",
+                    mode, ok() / seconds, readOk, readTotal, writeOk, writeTotal, readP50Millis, readP99Millis);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package Focus._dx.load;
+
+import Focus._dx.Application;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 모드 vs 가상 스레드 모드 부하 비교 (gradle loadTest)
+ *
+ * 같은 설정(H2, 커넥션 풀 10개)으로 애플리케이션을 모드별로 띄우고, 동시 클라이언트 CONCURRENCY 개가
+ * DURATION 동안 DB를 읽는 GET /api/wigs 를 반복 호출한다. 모드별 처리량, p50/p99, 503 비율을 출력한다.
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final int CONCURRENCY = 400;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println("=== 실행 모드 비교 (동시 " + CONCURRENCY + ", " + DURATION.toSeconds() + "초) ===");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual "));
+
+        assertThat(platform.ok()).isPositive();
+        assertThat(virtual.ok()).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // 커맨드라인 인자로 넘겨야 application.yml / 테스트 설정보다 우선한다 (builder.properties()는 기본값 취급)
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--wig.admission.enabled=false", // 실행 모드 자체를 비교. 유입 제어는 AdmissionControlLoadTest
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.Focus._dx=warn")) {
+            assertThat(context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class))
+                    .isEqualTo(virtualThreads);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/wigs";
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            seed(client, base);
+
+            drive(client, base + "?size=20", WARMUP);
+            return drive(client, base + "?size=20", DURATION);
+        }
+    }
+
+    private void seed(HttpClient client, String base) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"goal\":\"목표 ").append(i).append("\",\"description\":\"설명\"}");
+        }
+        body.append("]");
+        client.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Result drive(HttpClient client, String url, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().timeout(Duration.ofSeconds(30)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            latencies.add(System.nanoTime() - start);
+                            if (status == 200) {
+                                ok.incrementAndGet();
+                            } else if (status == 503) {
+                                rejected.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(ok.get(), rejected.get(), errors.get(), duration,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private record Result(long ok, long rejected, long errors, Duration duration, double p50Millis, double p99Millis) {
+
+        String format(String mode) {
+            double seconds = duration.toMillis() / 1000.0;
+            return String.format("%s  throughput=%.0f req/s  ok=%d  503=%d  error=%d  p50=%.1fms  p99=%.1fms",
+                    mode, (ok + rejected) / seconds, ok, rejected, errors, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package Focus._dx.load;
+
+import Focus._dx.Application;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * id 조회 방식별 처리량 비교 (gradle loadTest)
+ *
+ * 스코어보드 화면처럼 클라이언트 하나가 IDS_PER_SCREEN 개 WIG 를 읽는 상황을 CONCURRENCY 개 클라이언트가 반복한다.
+ * wigById 캐시는 꺼서(spring.cache.type=none) 모든 조회가 DB 까지 가게 하고, 초당 읽은 WIG 수를 비교한다.
+ * - single : id 마다 GET /api/wigs/{id}, 캐시 미스마다 PK 조회 하나 (예전 방식)
+ * - coalesced : id 마다 GET /api/wigs/{id}, 몰린 미스는 IN 쿼리로 묶인다
+ * - multi-get : GET /api/wigs?ids=... 한 번
+ */
+@Tag("load")
+class WigLookupLoadTest {
+
+    private static final int CONCURRENCY = 200;
+    private static final int SEED = 1000;
+    private static final int IDS_PER_SCREEN = 20;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+
+    @Test
+    void compareLookupPaths() throws Exception {
+        Result single = run("single", false, false);
+        Result coalesced = run("coalesced", true, false);
+        Result multiGet = run("multi-get", true, true);
+
+        System.out.println("=== id 조회 비교 (동시 " + CONCURRENCY + ", 화면당 " + IDS_PER_SCREEN + "건, 풀 10) ===");
+        System.out.println(single.format());
+        System.out.println(coalesced.format());
+        System.out.println(multiGet.format());
+
+        assertThat(coalesced.wigsPerSecond()).isGreaterThan(single.wigsPerSecond());
+        assertThat(multiGet.wigsPerSecond()).isGreaterThan(single.wigsPerSecond());
+    }
+
+    private Result run(String mode, boolean coalesce, boolean multiGet) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:lookup-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.cache.type=none", // 캐시 적중 없이 조회 경로만 비교
+                        "--wig.lookup.coalesce-enabled=" + coalesce,
+                        "--wig.admission.enabled=false",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.Focus._dx=warn")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/wigs";
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            seed(client, base);
+
+            drive(mode, client, base, multiGet, WARMUP);
+            return drive(mode, client, base, multiGet, DURATION);
+        }
+    }
+
+    private void seed(HttpClient client, String base) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"goal\":\"목표 ").append(i).append("\",\"description\":\"설명\"}");
+        }
+        body.append("]");
+        client.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * 클라이언트마다 "화면 하나" = 임의의 id IDS_PER_SCREEN 개를 읽는다. 단건 방식은 화면 안에서도 id 를 동시에 보낸다 (브라우저처럼)
+     */
+    private Result drive(String mode, HttpClient client, String base, boolean multiGet, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong wigs = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        List<Long> ids = randomIds();
+                        if (multiGet) {
+                            StringJoiner joined = new StringJoiner(",");
+                            ids.forEach(id -> joined.add(id.toString()));
+                            if (get(client, base + "?ids=" + joined)) {
+                                wigs.addAndGet(ids.size());
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                            continue;
+                        }
+                        try (ExecutorService screen = Executors.newVirtualThreadPerTaskExecutor()) {
+                            for (Long id : ids) {
+                                screen.submit(() -> {
+                                    if (get(client, base + "/" + id)) {
+                                        wigs.incrementAndGet();
+                                    } else {
+                                        errors.incrementAndGet();
+                                    }
+                                });
+                            }
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return new Result(mode, wigs.get(), errors.get(), duration);
+    }
+
+    private static List<Long> randomIds() {
+        List<Long> ids = new ArrayList<>(IDS_PER_SCREEN);
+        for (int i = 0; i < IDS_PER_SCREEN; i++) {
+            ids.add(ThreadLocalRandom.current().nextLong(1, SEED + 1));
+        }
+        return ids;
+    }
+
+    private static boolean get(HttpClient client, String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().timeout(Duration.ofSeconds(30)).build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private record Result(String mode, long wigs, long errors, Duration duration) {
+
+        double wigsPerSecond() {
+            return wigs / (duration.toMillis() / 1000.0);
+        }
+
+        String format() {
+            return String.format("%-10s  %.0f wigs/s  error=%d", mode, wigsPerSecond(), errors);
+        }
+    }
+}
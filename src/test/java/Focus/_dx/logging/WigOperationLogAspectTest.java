@@ -0,0 +1,105 @@
+package Focus._dx.logging;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.service.WigService;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 호출 로그가 트랜잭션 바깥에서 찍히는지 (커밋 중 실패가 outcome=ok 로 남지 않는지) 확인
+ */
+@SpringBootTest
+@Import(WigOperationLogAspectTest.FailingCommitConfig.class)
+class WigOperationLogAspectTest {
+
+    private static final String FAIL_ON_COMMIT = "커밋 실패";
+
+    @Autowired
+    WigService wigService;
+
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        logger().addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger().detachAppender(events);
+    }
+
+    @Test
+    void commitTimeFailureIsNotLoggedAsOk() {
+        assertThatThrownBy(() -> wigService.createWig(new WigRequestDto(FAIL_ON_COMMIT, null)))
+                .isInstanceOf(IllegalStateException.class);
+
+        List<Map<String, Object>> created = operations("createWig");
+        assertThat(created).hasSize(1);
+        assertThat(created.get(0)).containsEntry("outcome", "error");
+    }
+
+    @Test
+    void committedWriteIsLoggedAsOk() {
+        wigService.createWig(new WigRequestDto("운동", null));
+
+        assertThat(operations("createWig")).singleElement().satisfies(event ->
+                assertThat(event).containsEntry("outcome", "ok"));
+    }
+
+    private List<Map<String, Object>> operations(String operation) {
+        return events.list.stream()
+                .filter(event -> event.getKeyValuePairs() != null)
+                .map(event -> event.getKeyValuePairs().stream()
+                        .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value, (a, b) -> b)))
+                .filter(pairs -> operation.equals(pairs.get("operation")))
+                .toList();
+    }
+
+    private static Logger logger() {
+        return (Logger) LoggerFactory.getLogger(WigOperationLogAspect.class);
+    }
+
+    @TestConfiguration
+    static class FailingCommitConfig {
+
+        @Bean
+        FailOnCommit failOnCommit() {
+            return new FailOnCommit();
+        }
+    }
+
+    /**
+     * goal 이 FAIL_ON_COMMIT 인 생성은 커밋 직전에 실패시킨다 (메서드는 정상으로 끝난 뒤)
+     */
+    static class FailOnCommit {
+
+        @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+        public void onWigChanged(WigChangedEvent event) {
+            if (event.getWig() != null && FAIL_ON_COMMIT.equals(event.getWig().getGoal())) {
+                throw new IllegalStateException("커밋 중 실패");
+            }
+        }
+    }
+}
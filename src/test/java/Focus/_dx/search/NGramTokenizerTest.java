@@ -0,0 +1,36 @@
+package Focus._dx.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 어절을 글자 bigram 으로 나누는지, 질의는 bigram 만 쓰는지 확인
+ */
+class NGramTokenizerTest {
+
+    @Test
+    void documentGetsUnigramsAndBigramsPerWord() {
+        assertThat(NGramTokenizer.tokenizeDocument("운동하기"))
+                .containsExactly("운", "운동", "동", "동하", "하", "하기", "기");
+    }
+
+    @Test
+    void wordWithParticleStillContainsStemBigram() {
+        // 조사가 붙은 어절도 어간 bigram 을 그대로 가진다
+        assertThat(NGramTokenizer.tokenizeDocument("운동을")).contains("운동");
+        assertThat(NGramTokenizer.tokenizeQuery("운동")).containsExactly("운동");
+    }
+
+    @Test
+    void queryUsesBigramsAndUnigramOnlyForOneLetterWords() {
+        assertThat(NGramTokenizer.tokenizeQuery("주간 독서 책")).containsExactly("주간", "독서", "책");
+    }
+
+    @Test
+    void normalizesWidthAndCaseAndSplitsOnPunctuation() {
+        assertThat(NGramTokenizer.tokenizeQuery("ＲＵＮ,Go")).containsExactly("ru", "un", "go");
+        assertThat(NGramTokenizer.tokenizeQuery("  !? ")).isEmpty();
+        assertThat(NGramTokenizer.tokenizeDocument(null)).isEmpty();
+    }
+}
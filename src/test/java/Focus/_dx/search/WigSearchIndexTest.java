@@ -0,0 +1,154 @@
+package Focus._dx.search;
+
+import Focus._dx.config.WigProperties;
+import Focus._dx.datasource.ShardPools;
+import Focus._dx.datasource.ShardRouter;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSearchResponseDto;
+import Focus._dx.event.WigChangedEvent;
+import Focus._dx.exception.WigBadRequestException;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.service.WigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검색 색인의 매칭(AND), 랭킹(goal 가중치), 커밋 이후 갱신, 재색인 중 이벤트, 페이지 범위 확인
+ */
+@SpringBootTest
+class WigSearchIndexTest {
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    WigSearchIndex wigSearchIndex;
+
+    @Autowired
+    WigProperties wigProperties;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch(); // 이벤트 없이 지우므로 색인도 새로 만든다
+        wigSearchIndex.rebuild();
+    }
+
+    @Test
+    void koreanWordWithParticleMatchesStemQuery() {
+        WigResponseDto wig = wigService.createWig(new WigRequestDto("매일 운동을 하기", "아침에 달리기"));
+
+        assertThat(ids(search("운동"))).containsExactly(wig.getId());
+        assertThat(ids(search("달리기"))).containsExactly(wig.getId());
+        assertThat(search("수영").getTotalHits()).isZero();
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        WigResponseDto both = wigService.createWig(new WigRequestDto("운동과 독서", null));
+        wigService.createWig(new WigRequestDto("운동", null));
+        wigService.createWig(new WigRequestDto("독서", null));
+
+        assertThat(ids(search("운동 독서"))).containsExactly(both.getId());
+    }
+
+    @Test
+    void goalHitRanksAboveDescriptionHit() {
+        WigResponseDto inDescription = wigService.createWig(new WigRequestDto("주간 목표", "독서 모임"));
+        WigResponseDto inGoal = wigService.createWig(new WigRequestDto("독서 모임", "주간 목표"));
+
+        assertThat(ids(search("독서"))).containsExactly(inGoal.getId(), inDescription.getId());
+    }
+
+    @Test
+    void committedChangesAreIndexedAndRolledBackOnesAreNot() {
+        WigResponseDto wig = wigService.createWig(new WigRequestDto("영어 공부", null));
+        assertThat(ids(search("영어"))).containsExactly(wig.getId());
+
+        wigService.updateWig(wig.getId(), new WigRequestDto("일본어 공부", null), null);
+        assertThat(search("영어").getTotalHits()).isZero();
+        assertThat(ids(search("일본어"))).containsExactly(wig.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            wigService.updateWig(wig.getId(), new WigRequestDto("중국어 공부", null), null);
+            status.setRollbackOnly();
+        });
+        assertThat(search("중국어").getTotalHits()).isZero();
+        assertThat(ids(search("일본어"))).containsExactly(wig.getId());
+
+        wigService.deleteWig(wig.getId(), null);
+        assertThat(search("공부").getTotalHits()).isZero();
+    }
+
+    @Test
+    void changesCommittedDuringRebuildAreReplayed() {
+        WigProperties properties = new WigProperties();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ShardPools> noShards = mock(ObjectProvider.class);
+        WigRepository repository = mock(WigRepository.class);
+        WigSearchIndex index = new WigSearchIndex(repository, properties, new ShardRouter(noShards, properties));
+
+        // 첫 배치를 읽는 사이에 1번 삭제, 3번 생성이 커밋된다. 읽은 배치에는 아직 1번이 있고 3번은 없다
+        when(repository.findResponsesByIdGreaterThan(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            index.onWigChanged(WigChangedEvent.deleted(1L));
+            index.onWigChanged(WigChangedEvent.created(wig(3L, "독서 모임")));
+            return List.of(wig(1L, "운동 일지"), wig(2L, "운동 기록"));
+        });
+        index.rebuild();
+
+        assertThat(ids(index.search("운동", 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("독서", 0, 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void pagesAreBoundedByMaxOffset() {
+        for (int i = 0; i < 5; i++) {
+            wigService.createWig(new WigRequestDto("운동 " + i, null));
+        }
+
+        WigSearchResponseDto second = wigService.searchWigs("운동", 1, 3);
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(wigService.searchWigs("운동", 10, 3).getContent()).isEmpty();
+
+        int maxOffset = wigProperties.getSearch().getMaxOffset();
+        assertThat(wigService.searchWigs("운동", maxOffset / 10, 10).getContent()).isEmpty();
+        assertThatThrownBy(() -> wigService.searchWigs("운동", maxOffset / 10 + 1, 10))
+                .isInstanceOf(WigBadRequestException.class);
+        assertThatThrownBy(() -> wigService.searchWigs("운동", Integer.MAX_VALUE, 100))
+                .isInstanceOf(WigBadRequestException.class);
+    }
+
+    private WigSearchResponseDto search(String keyword) {
+        return wigService.searchWigs(keyword, 0, 10);
+    }
+
+    private static List<Long> ids(WigSearchResponseDto result) {
+        return result.getContent().stream().map(WigResponseDto::getId).toList();
+    }
+
+    private static WigResponseDto wig(Long id, String goal) {
+        return WigResponseDto.builder().id(id).goal(goal).version(0L).build();
+    }
+}
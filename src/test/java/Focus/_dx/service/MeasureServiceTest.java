@@ -0,0 +1,204 @@
+package Focus._dx.service;
+
+import Focus._dx.domain.MeasureType;
+import Focus._dx.domain.RollupGranularity;
+import Focus._dx.dto.MeasureIngestResponseDto;
+import Focus._dx.dto.MeasurePointDto;
+import Focus._dx.dto.MeasurePointPageResponseDto;
+import Focus._dx.dto.MeasurePointRequestDto;
+import Focus._dx.dto.MeasureRollupDto;
+import Focus._dx.dto.ScoreboardResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.repository.MeasurePointRepository;
+import Focus._dx.repository.MeasureRollupRepository;
+import Focus._dx.repository.WigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 측정값 수집이 일/주 집계를 누적하는지, 구간 조회 커서와 스코어보드가 맞게 나오는지 확인 (wig.measure.zone=Asia/Seoul)
+ */
+@SpringBootTest
+class MeasureServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    MeasureService measureService;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    MeasurePointRepository measurePointRepository;
+
+    @Autowired
+    MeasureRollupRepository measureRollupRepository;
+
+    Long wigId;
+
+    @BeforeEach
+    void setUp() {
+        measureRollupRepository.deleteAllInBatch();
+        measurePointRepository.deleteAllInBatch();
+        wigRepository.deleteAllInBatch();
+        wigId = wigService.createWig(new WigRequestDto("목표", "설명")).getId();
+    }
+
+    @Test
+    void record_accumulatesDailyAndWeeklyRollups() {
+        // 화요일 값이 월요일 값보다 먼저 들어와도 같은 구간에 쌓인다
+        measureService.record(List.of(
+                point(MeasureType.LEAD, 3, at(MONDAY.plusDays(1), 9)),
+                point(MeasureType.LAG, 100, at(MONDAY, 9))));
+        MeasureIngestResponseDto second = measureService.record(List.of(
+                point(MeasureType.LEAD, 1, at(MONDAY, 10)),
+                point(MeasureType.LEAD, 5, at(MONDAY, 23)), // KST 23시 = UTC 14시, 날짜는 KST 기준
+                point(MeasureType.LEAD, 2, at(MONDAY.plusDays(7), 8)))); // 다음 주
+
+        assertThat(second.getAccepted()).isEqualTo(3);
+
+        List<MeasureRollupDto> days = leadOnly(measureRollupRepository.findSince(wigId, RollupGranularity.DAY, MONDAY));
+        assertThat(days).extracting(MeasureRollupDto::getBucketStart)
+                .containsExactly(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(7));
+        assertThat(days.get(0).getCount()).isEqualTo(2);
+        assertThat(days.get(0).getSum()).isEqualTo(6);
+        assertThat(days.get(0).getMin()).isEqualTo(1);
+        assertThat(days.get(0).getMax()).isEqualTo(5);
+
+        List<MeasureRollupDto> weeks = leadOnly(measureRollupRepository.findSince(wigId, RollupGranularity.WEEK, MONDAY));
+        assertThat(weeks).hasSize(2);
+        assertThat(weeks.get(0).getBucketStart()).isEqualTo(MONDAY);
+        assertThat(weeks.get(0).getCount()).isEqualTo(3);
+        assertThat(weeks.get(0).getSum()).isEqualTo(9);
+        assertThat(weeks.get(0).getAverage()).isEqualTo(3);
+        assertThat(weeks.get(1).getSum()).isEqualTo(2);
+    }
+
+    @Test
+    void record_rejectsInvalidItemsAndUnknownWigs() {
+        MeasureIngestResponseDto response = measureService.record(List.of(
+                point(MeasureType.LEAD, 1, null),
+                new MeasurePointRequestDto(wigId, null, 1.0, null),
+                new MeasurePointRequestDto(wigId + 1000, MeasureType.LAG, 1.0, null),
+                point(MeasureType.LAG, Double.NaN, null)));
+
+        assertThat(response.getAccepted()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(MeasureIngestResponseDto.Error::getIndex).containsExactly(1, 2, 3);
+        assertThat(response.getErrors().get(1).getMessage()).isEqualTo("WIG을 찾을 수 없습니다. ID: " + (wigId + 1000));
+        assertThat(measurePointRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void getPoints_cursorWalksTheWindowInTimeOrder() {
+        List<MeasurePointRequestDto> items = new ArrayList<>();
+        for (int i = 6; i >= 0; i--) { // 역순으로 넣어도 시각 순으로 읽힌다
+            items.add(point(MeasureType.LEAD, i, at(MONDAY, i)));
+        }
+        items.add(point(MeasureType.LEAD, 99, at(MONDAY.plusDays(1), 0))); // 구간 밖
+        measureService.record(items);
+
+        Instant from = at(MONDAY, 0);
+        Instant to = at(MONDAY.plusDays(1), 0);
+        List<Double> values = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MeasurePointPageResponseDto page = measureService.getPoints(wigId, MeasureType.LEAD, from, to, cursor, 3);
+            page.getContent().forEach(p -> values.add(p.getValue()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(values).containsExactly(0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+    }
+
+    @Test
+    void getPoints_laterPagesKeepTheFirstPagesEnd() throws InterruptedException {
+        Instant now = Instant.now();
+        List<MeasurePointRequestDto> items = new ArrayList<>();
+        for (int i = 4; i >= 1; i--) {
+            items.add(point(MeasureType.LEAD, i, now.minusSeconds(60L * i)));
+        }
+        measureService.record(items);
+
+        MeasurePointPageResponseDto first = measureService.getPoints(wigId, MeasureType.LEAD, null, null, null, 2);
+        Thread.sleep(5);
+        measureService.record(List.of(point(MeasureType.LEAD, 99, null))); // 첫 페이지 이후에 들어온 측정값
+
+        List<Double> values = new ArrayList<>();
+        first.getContent().forEach(p -> values.add(p.getValue()));
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            MeasurePointPageResponseDto page = measureService.getPoints(wigId, MeasureType.LEAD, null, null, cursor, 2);
+            page.getContent().forEach(p -> values.add(p.getValue()));
+            cursor = page.getNextCursor();
+        }
+
+        assertThat(values).containsExactly(4.0, 3.0, 2.0, 1.0);
+    }
+
+    @Test
+    void getScoreboard_readsRollupsAndLatestPoints() {
+        Instant now = Instant.now();
+        measureService.record(List.of(
+                point(MeasureType.LEAD, 4, now),
+                point(MeasureType.LEAD, 6, now), // 시각이 같으면 나중에 저장된 쪽이 최근
+                point(MeasureType.LAG, 10, now)));
+
+        ScoreboardResponseDto scoreboard = measureService.getScoreboard(wigId, RollupGranularity.WEEK, 4);
+
+        LocalDate thisWeek = RollupGranularity.WEEK.bucketOf(LocalDate.now(ZONE));
+        assertThat(scoreboard.getFrom()).isEqualTo(thisWeek.minusWeeks(3));
+        assertThat(scoreboard.getLead()).singleElement().satisfies(r -> {
+            assertThat(r.getBucketStart()).isEqualTo(thisWeek);
+            assertThat(r.getSum()).isEqualTo(10);
+        });
+        assertThat(scoreboard.getLag()).singleElement().extracting(MeasureRollupDto::getCount).isEqualTo(1L);
+        assertThat(scoreboard.getLatestLead()).extracting(MeasurePointDto::getValue).isEqualTo(6.0);
+        assertThat(scoreboard.getLatestLag()).extracting(MeasurePointDto::getValue).isEqualTo(10.0);
+
+        assertThatThrownBy(() -> measureService.getScoreboard(wigId + 1000, RollupGranularity.WEEK, 4))
+                .isInstanceOf(WigNotFoundException.class);
+    }
+
+    @Test
+    void deletingWigPurgesItsMeasures() {
+        measureService.record(List.of(point(MeasureType.LEAD, 1, null), point(MeasureType.LAG, 2, null)));
+
+        wigService.deleteWig(wigId);
+
+        assertThat(measurePointRepository.count()).isZero();
+        assertThat(measureRollupRepository.count()).isZero();
+    }
+
+    private MeasurePointRequestDto point(MeasureType type, double value, Instant recordedAt) {
+        return new MeasurePointRequestDto(wigId, type, value, recordedAt);
+    }
+
+    private static Instant at(LocalDate date, int hour) {
+        return date.atTime(hour, 0).atZone(ZONE).toInstant();
+    }
+
+    private static List<MeasureRollupDto> leadOnly(List<MeasureRollupDto> rollups) {
+        return rollups.stream().filter(r -> r.getType() == MeasureType.LEAD).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package Focus._dx.service;
+
+import Focus._dx.dto.WigBatchItemResult.Status;
+import Focus._dx.dto.WigBatchResponseDto;
+import Focus._dx.dto.WigBatchUpdateItemDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.support.QueryCountTestConfig;
+import net.ttddyy.dsproxy.QueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일괄 처리가 실제로 JDBC 배치로 나가는지 SQL 실행 횟수로, DB 가 거절한 청크만 FAILED 가 되는지 확인
+ * chunk-size=100, jdbc.batch_size=50 → 청크 하나당 INSERT 실행 2번
+ */
+@SpringBootTest(properties = "wig.batch.chunk-size=100")
+@Import(QueryCountTestConfig.class)
+class WigBatchServiceTest {
+
+    @Autowired
+    WigBatchService wigBatchService;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createWigs_insertsAreBatched() {
+        List<WigRequestDto> items = requests(250);
+        items.add(3, new WigRequestDto("", "목표 없음")); // 검증 실패 항목
+
+        QueryCountTestConfig.reset();
+        WigBatchResponseDto response = wigBatchService.createWigs(items);
+        QueryCount count = QueryCountTestConfig.count(); // 이후 실행되는 SQL도 계속 누적되는 객체라 단정은 SQL 실행 전에 먼저 한다
+
+        assertThat(response.getSucceeded()).isEqualTo(250);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(3).getStatus()).isEqualTo(Status.INVALID);
+        assertThat(response.getResults().get(3).getErrors()).containsKey("goal");
+        // 250행 → 청크 3개(100, 100, 50) → JDBC 배치 실행 5번. 행마다 INSERT 했다면 250번
+        assertThat(count.getInsert()).isEqualTo(5);
+        assertThat(wigRepository.count()).isEqualTo(250);
+    }
+
+    @Test
+    void createWigs_chunkRejectedByDatabaseIsReportedFailed() {
+        List<WigRequestDto> items = requests(150);
+        items.set(120, new WigRequestDto("거절", null)); // 검증은 통과하고 DB 제약에서 막힌다
+
+        jdbcTemplate.execute("alter table wig add constraint wig_goal_not_rejected check (goal <> '거절')");
+        WigBatchResponseDto response;
+        try {
+            response = wigBatchService.createWigs(items);
+        } finally {
+            jdbcTemplate.execute("alter table wig drop constraint wig_goal_not_rejected");
+        }
+
+        // 두 번째 청크(100~149)만 롤백되고 FAILED, 첫 청크는 커밋된다
+        assertThat(response.getSucceeded()).isEqualTo(100);
+        assertThat(response.getResults().subList(100, 150))
+                .allSatisfy(result -> assertThat(result.getStatus()).isEqualTo(Status.FAILED));
+        assertThat(wigRepository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void updateWigs_oneSelectPerChunkAndBatchedUpdates() {
+        WigBatchResponseDto created = wigBatchService.createWigs(requests(100));
+        List<WigBatchUpdateItemDto> items = new ArrayList<>();
+        created.getResults().forEach(r -> items.add(new WigBatchUpdateItemDto(r.getId(), "수정 " + r.getId(), null)));
+        items.add(new WigBatchUpdateItemDto(-1L, "없는 WIG", null));
+
+        QueryCountTestConfig.reset();
+        WigBatchResponseDto response = wigBatchService.updateWigs(items);
+        QueryCount count = QueryCountTestConfig.count();
+
+        assertThat(response.getSucceeded()).isEqualTo(100);
+        assertThat(response.getResults().get(100).getStatus()).isEqualTo(Status.NOT_FOUND);
+        // 101개 → 청크 2개, 청크마다 IN 조회 1번 / UPDATE는 50개씩 배치 → 2번
+        assertThat(count.getSelect()).isEqualTo(2);
+        assertThat(count.getUpdate()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteWigs_twoStatementsPerChunk() {
+        WigBatchResponseDto created = wigBatchService.createWigs(requests(100));
+        List<Long> ids = new ArrayList<>(created.getResults().stream().map(r -> r.getId()).toList());
+        ids.add(-1L);
+
+        QueryCountTestConfig.reset();
+        WigBatchResponseDto response = wigBatchService.deleteWigs(ids);
+        QueryCount count = QueryCountTestConfig.count();
+
+        assertThat(response.getSucceeded()).isEqualTo(100);
+        assertThat(response.getResults().get(100).getStatus()).isEqualTo(Status.NOT_FOUND);
+        // 101개 → 청크 2개, 청크마다 존재 id 조회 1번 + DELETE ... IN 1번 (두 번째 청크는 없는 id뿐이라 DELETE 생략)
+        assertThat(count.getSelect()).isEqualTo(2);
+        assertThat(count.getDelete()).isEqualTo(1);
+        assertThat(wigRepository.count()).isZero();
+    }
+
+    private List<WigRequestDto> requests(int n) {
+        return new ArrayList<>(IntStream.range(0, n)
+                .mapToObj(i -> new WigRequestDto("목표 " + i, "설명 " + i))
+                .toList());
+    }
+}
@@ -0,0 +1,169 @@
+package Focus._dx.service;
+
+import Focus._dx.dto.WigMultiGetResponseDto;
+import Focus._dx.dto.WigPageResponseDto;
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.dto.WigSortType;
+import Focus._dx.exception.WigNotFoundException;
+import Focus._dx.exception.WigVersionConflictException;
+import Focus._dx.repository.WigRepository;
+import Focus._dx.support.QueryCountTestConfig;
+import net.ttddyy.dsproxy.QueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 단건 쓰기 경로의 SQL 문장 수(If-Match 없는 PUT 은 UPDATE + version 읽기 두 문장), 목록 조회가 DTO 프로젝션으로 한 번에 읽히는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountTestConfig.class)
+class WigServiceTest {
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigRepository wigRepository;
+
+    @BeforeEach
+    void setUp() {
+        wigRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void updateWig_withVersion_singleUpdateStatement() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("목표", "설명"));
+        Long id = created.getId();
+
+        QueryCountTestConfig.reset();
+        WigResponseDto updated = wigService.updateWig(id, new WigRequestDto("수정된 목표", "수정된 설명"), created.getVersion());
+        QueryCount count = QueryCountTestConfig.count();
+
+        assertThat(count.getTotal()).isEqualTo(1);
+        assertThat(count.getUpdate()).isEqualTo(1);
+        assertThat(updated.getId()).isEqualTo(id);
+        assertThat(updated.getGoal()).isEqualTo("수정된 목표");
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(wigRepository.findById(id).orElseThrow().getDescription()).isEqualTo("수정된 설명");
+    }
+
+    @Test
+    void putWithoutIfMatch_updatesThenReadsVersionForETag() throws Exception {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("목표", "설명"));
+
+        QueryCountTestConfig.reset();
+        mockMvc.perform(put("/api/wigs/{id}", created.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"goal\":\"수정된 목표\",\"description\":\"수정된 설명\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(created.getVersion() + 1))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (created.getVersion() + 1) + "\""));
+        QueryCount count = QueryCountTestConfig.count();
+
+        // If-Match 없는 PUT: UPDATE + 새 ETag 를 위한 version 컬럼 SELECT, 두 문장
+        assertThat(count.getTotal()).isEqualTo(2);
+        assertThat(count.getUpdate()).isEqualTo(1);
+        assertThat(count.getSelect()).isEqualTo(1);
+        assertThat(wigRepository.findById(created.getId()).orElseThrow().getDescription()).isEqualTo("수정된 설명");
+    }
+
+    @Test
+    void updateWig_staleVersionIsRejected() {
+        WigResponseDto created = wigService.createWig(new WigRequestDto("목표", "설명"));
+        wigService.updateWig(created.getId(), new WigRequestDto("다른 사람이 먼저 수정", null), created.getVersion());
+
+        assertThatThrownBy(() -> wigService.updateWig(created.getId(), new WigRequestDto("덮어쓰기", null), created.getVersion()))
+                .isInstanceOf(WigVersionConflictException.class);
+        assertThatThrownBy(() -> wigService.deleteWig(created.getId(), created.getVersion()))
+                .isInstanceOf(WigVersionConflictException.class);
+        assertThat(wigRepository.findById(created.getId()).orElseThrow().getGoal()).isEqualTo("다른 사람이 먼저 수정");
+    }
+
+    @Test
+    void updateWig_missingIdThrowsAfterOneStatement() {
+        QueryCountTestConfig.reset();
+        assertThatThrownBy(() -> wigService.updateWig(-1L, new WigRequestDto("목표", null), null))
+                .isInstanceOf(WigNotFoundException.class);
+        assertThat(QueryCountTestConfig.count().getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteWig_singleDeleteStatement() {
+        Long id = wigService.createWig(new WigRequestDto("목표", "설명")).getId();
+
+        QueryCountTestConfig.reset();
+        wigService.deleteWig(id);
+        QueryCount count = QueryCountTestConfig.count();
+
+        assertThat(count.getTotal()).isEqualTo(1);
+        assertThat(count.getDelete()).isEqualTo(1);
+        assertThat(wigRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void deleteWig_missingIdThrowsAfterOneStatement() {
+        QueryCountTestConfig.reset();
+        assertThatThrownBy(() -> wigService.deleteWig(-1L))
+                .isInstanceOf(WigNotFoundException.class);
+        assertThat(QueryCountTestConfig.count().getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void getWigs_projectionKeepsKeysetOrderWithOneSelectPerPage() {
+        for (String goal : new String[]{"운동 C", "운동 A", "독서", "운동 B", "운동 A"}) {
+            wigService.createWig(new WigRequestDto(goal, "설명"));
+        }
+
+        QueryCountTestConfig.reset();
+        WigPageResponseDto first = wigService.getWigs(null, 2, WigSortType.GOAL_ASC, "운동");
+        assertThat(QueryCountTestConfig.count().getSelect()).isEqualTo(1);
+        WigPageResponseDto second = wigService.getWigs(first.getNextCursor(), 2, WigSortType.GOAL_ASC, "운동");
+
+        assertThat(first.getContent()).extracting(WigResponseDto::getGoal).containsExactly("운동 A", "운동 A");
+        assertThat(first.getContent().get(0).getId()).isLessThan(first.getContent().get(1).getId());
+        assertThat(first.getContent().get(0).getVersion()).isZero();
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getContent()).extracting(WigResponseDto::getGoal).containsExactly("운동 B", "운동 C");
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void getWigsByIds_oneInQueryThenCacheHits() {
+        Long a = wigService.createWig(new WigRequestDto("목표 A", "설명")).getId();
+        Long b = wigService.createWig(new WigRequestDto("목표 B", "설명")).getId();
+        Long c = wigService.createWig(new WigRequestDto("목표 C", "설명")).getId();
+
+        QueryCountTestConfig.reset();
+        WigMultiGetResponseDto first = wigService.getWigsByIds(List.of(c, a, -1L, b, a));
+        assertThat(QueryCountTestConfig.count().getSelect()).isEqualTo(1); // id 마다가 아니라 IN 쿼리 한 번
+
+        assertThat(first.getContent()).extracting(WigResponseDto::getId).containsExactly(c, a, b);
+        assertThat(first.getMissing()).containsExactly(-1L);
+
+        QueryCountTestConfig.reset();
+        WigMultiGetResponseDto second = wigService.getWigsByIds(List.of(a, b));
+        assertThat(QueryCountTestConfig.count().getTotal()).isZero(); // 앞에서 캐시에 채워 뒀다
+        assertThat(second.getContent()).extracting(WigResponseDto::getGoal).containsExactly("목표 A", "목표 B");
+    }
+}
@@ -0,0 +1,110 @@
+package Focus._dx.stream;
+
+import Focus._dx.dto.WigRequestDto;
+import Focus._dx.dto.WigResponseDto;
+import Focus._dx.service.WigService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 변경 피드가 커밋된 변경을 SSE 로 흘려보내고, Last-Event-ID 로 이어받는지 확인
+ * 전송은 별도 스레드라서 응답 본문에 기대한 내용이 쌓일 때까지 기다린다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WigChangeFeedTest {
+
+    private static final Duration AWAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    WigService wigService;
+
+    @Autowired
+    WigChangeFeed wigChangeFeed;
+
+    @Test
+    void stream_sendsCommittedChanges() throws Exception {
+        MockHttpServletResponse response = subscribe(null);
+
+        WigResponseDto created = wigService.createWig(new WigRequestDto("운동", "주 3회"));
+        wigService.updateWig(created.getId(), new WigRequestDto("운동", "주 4회"), null);
+
+        String body = awaitBody(response, content -> content.contains("event:UPDATED"));
+        assertThat(body).contains("event:CREATED", "\"goal\":\"운동\"", "주 4회");
+        assertThat(body.indexOf("event:CREATED")).isLessThan(body.indexOf("event:UPDATED"));
+    }
+
+    @Test
+    void stream_resumesAfterLastEventId() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            wigService.createWig(new WigRequestDto("목표 " + i, null));
+        }
+        String last = wigChangeFeed.lastEventId();
+        long sequence = Long.parseLong(last.substring(last.lastIndexOf('-') + 1));
+
+        MockHttpServletResponse response = subscribe(wigChangeFeed.eventId(sequence - 2));
+
+        String body = awaitBody(response, content -> content.contains("id:" + last + "\n"));
+        assertThat(body).contains("id:" + wigChangeFeed.eventId(sequence - 1) + "\n");
+        assertThat(body).doesNotContain("id:" + wigChangeFeed.eventId(sequence - 2) + "\n");
+    }
+
+    @Test
+    void stream_idFromAnotherEpochGetsReset() throws Exception {
+        wigService.createWig(new WigRequestDto("운동", null));
+
+        // 재시작 전 서버(또는 다른 인스턴스)의 id. 순번은 지금 버퍼 안에 있어도 이어받지 않는다
+        MockHttpServletResponse response = subscribe("0000000000000000-1");
+
+        String body = awaitBody(response, content -> content.contains("event:reset"));
+        assertThat(body).contains("event:reset");
+        assertThat(body).doesNotContain("event:CREATED");
+    }
+
+    @Test
+    void stream_futureSequenceGetsReset() throws Exception {
+        String last = wigChangeFeed.lastEventId();
+        long sequence = Long.parseLong(last.substring(last.lastIndexOf('-') + 1));
+
+        MockHttpServletResponse response = subscribe(wigChangeFeed.eventId(sequence + 100));
+
+        assertThat(awaitBody(response, content -> content.contains("event:reset"))).contains("event:reset");
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var builder = get("/api/wigs/stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private String awaitBody(MockHttpServletResponse response, Predicate<String> done) throws Exception {
+        long deadline = System.nanoTime() + AWAIT.toNanos();
+        String content = response.getContentAsString(StandardCharsets.UTF_8);
+        while (!done.test(content) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        return content;
+    }
+}
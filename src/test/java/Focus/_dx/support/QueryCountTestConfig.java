@@ -0,0 +1,48 @@
+package Focus._dx.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * 테스트용 SQL 실행 횟수 측정 설정
+ * DataSource를 datasource-proxy로 감싸서 JDBC 실행 단위로 센다.
+ * JDBC 배치(executeBatch)는 묶인 행 수와 상관없이 1번으로 세어진다.
+ * 운영용 SqlAccountingConfig 프록시와 겹쳐 감싸도 각자 따로 센다.
+ *
+ * 사용: @Import(QueryCountTestConfig.class) 후 QueryCountTestConfig.reset() → 실행 → QueryCountTestConfig.count()
+ */
+@TestConfiguration
+public class QueryCountTestConfig {
+
+    private static final String NAME = "wig-test";
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(NAME)
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount count() {
+        return QueryCountHolder.get(NAME);
+    }
+}